@@ -1,6 +1,10 @@
 package com.softserve.config;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatcherServletInitializer;
 
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+
 
 public class MyWebAppInitializer  extends AbstractAnnotationConfigDispatcherServletInitializer {
     @Override
@@ -17,4 +21,14 @@ public class MyWebAppInitializer  extends AbstractAnnotationConfigDispatcherServ
     protected String[] getServletMappings() {
         return new String[] { "/" };
     }
+
+    @Override
+    public void onStartup(ServletContext servletContext) throws ServletException {
+        super.onStartup(servletContext);
+        //public lists are small and cheap to load, so their strong ETag is calculated from the response body
+        ShallowEtagHeaderFilter publicEtagFilter = new ShallowEtagHeaderFilter();
+        publicEtagFilter.setWriteWeakETag(false);
+        servletContext.addFilter("publicEtagFilter", publicEtagFilter)
+                .addMappingForUrlPatterns(null, true, "/public/*");
+    }
 }
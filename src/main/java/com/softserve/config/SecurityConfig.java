@@ -64,11 +64,13 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private static final String TEACHERS_ENDPOINT = "/teachers/**";
     private static final String AUTH_ENDPOINT = "/auth/**";
     private static final String SCHEDULE_ENDPOINT = "/schedules/*";
+    private static final String SCHEDULE_GENERATION_ENDPOINT = "/schedules/generation/**";
     private static final String SEMESTERS_ENDPOINT = "/semesters/**";
     private static final String USERS_ENDPOINT = "/users/**";
     private static final String ROOM_TYPES_ENDPOINT = "/room-types/**";
     //PUBLIC
     private static final String SCHEDULE_FOR_USERS_ENDPOINT = "/schedules/full/*";
+    private static final String SCHEDULE_CALENDAR_ENDPOINT = "/schedules/calendar/*";
     private static final String ALL_GROUPS_PUBLIC_ENDPOINT = "/public/groups";
     private static final String ALL_TEACHERS_PUBLIC_ENDPOINT = "/public/teachers";
     private static final String ALL_CLASSES_PUBLIC_ENDPOINT = "/public/classes";
@@ -98,10 +100,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
                 .authorizeRequests()
-                .antMatchers(AUTH_ENDPOINT, SCHEDULE_FOR_USERS_ENDPOINT, ALL_GROUPS_PUBLIC_ENDPOINT, ALL_TEACHERS_PUBLIC_ENDPOINT,
+                .antMatchers(AUTH_ENDPOINT, SCHEDULE_FOR_USERS_ENDPOINT, SCHEDULE_CALENDAR_ENDPOINT, ALL_GROUPS_PUBLIC_ENDPOINT, ALL_TEACHERS_PUBLIC_ENDPOINT,
                         ALL_GROUPS_PUBLIC_ENDPOINT, ALL_CLASSES_PUBLIC_ENDPOINT, ALL_SEMESTERS_PUBLIC_ENDPOINT).permitAll()
                 .antMatchers(MANAGER_ENDPOINT, CLASSES_ENDPOINT, GROUPS_ENDPOINT, LESSONS_ENDPOINT,
-                        ROOMS_ENDPOINT, SUBJECTS_ENDPOINT, TEACHERS_ENDPOINT, SCHEDULE_ENDPOINT, SEMESTERS_ENDPOINT, USERS_ENDPOINT, ROOM_TYPES_ENDPOINT).hasRole("MANAGER")
+                        ROOMS_ENDPOINT, SUBJECTS_ENDPOINT, TEACHERS_ENDPOINT, SCHEDULE_ENDPOINT, SCHEDULE_GENERATION_ENDPOINT, SEMESTERS_ENDPOINT, USERS_ENDPOINT, ROOM_TYPES_ENDPOINT).hasRole("MANAGER")
                 .anyRequest().authenticated()
                 .and()
                 .oauth2Login()
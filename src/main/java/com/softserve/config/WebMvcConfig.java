@@ -1,15 +1,44 @@
 package com.softserve.config;
 
+import com.softserve.util.AsyncTimeoutInterceptor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.servlet.config.annotation.*;
 
+import java.util.concurrent.TimeUnit;
+
 
 @Configuration
 @EnableWebMvc
 @ComponentScan(basePackages = {"com.softserve.*"})
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private static final int STREAMING_THREADS = 8;
+    private static final int STREAMING_QUEUE_CAPACITY = 100;
+    private static final long STREAMING_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+    //exports of whole semesters or of all of them are written for much longer than one pdf
+    public static final long EXPORT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    //streamed responses (e.g. pdf downloads) are written by bounded pool instead of new thread per response
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+        configurer.setDefaultTimeout(STREAMING_TIMEOUT_MILLIS);
+        configurer.registerCallableInterceptors(new AsyncTimeoutInterceptor());
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor streamingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(STREAMING_THREADS);
+        executor.setMaxPoolSize(STREAMING_THREADS);
+        executor.setQueueCapacity(STREAMING_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("response-stream-");
+        return executor;
+    }
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         registry.addRedirectViewController("/", "index.html");
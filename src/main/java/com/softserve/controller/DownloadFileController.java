@@ -1,13 +1,21 @@
 package com.softserve.controller;
 
+import com.itextpdf.text.DocumentException;
+import com.softserve.config.WebMvcConfig;
 import com.softserve.dto.ScheduleForGroupDTO;
 import com.softserve.dto.ScheduleForTeacherDTO;
+import com.softserve.service.ScheduleCacheService;
+import com.softserve.service.ScheduleExportService;
+import com.softserve.service.SchedulePdfCacheService;
 import com.softserve.service.ScheduleService;
+import com.softserve.service.ScheduleSpreadsheetService;
+import com.softserve.util.AsyncTimeoutInterceptor;
+import com.softserve.util.CsvTableWriter;
 import com.softserve.util.PdfReportGenerator;
+import com.softserve.util.XlsxTableWriter;
 import io.swagger.annotations.Api;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,9 +23,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 @AllArgsConstructor
@@ -27,32 +40,94 @@ import java.util.List;
 @Slf4j
 public class DownloadFileController {
 
+    private static final String CSV_TYPE = "text/csv";
+    private static final String XLSX_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
     private final ScheduleService scheduleService;
+    private final ScheduleExportService scheduleExportService;
+    private final ScheduleCacheService scheduleCacheService;
+    private final SchedulePdfCacheService schedulePdfCacheService;
+    private final ScheduleSpreadsheetService scheduleSpreadsheetService;
 
     @GetMapping(value = "/schedule-for-teacher-in-pdf", produces = MediaType.APPLICATION_PDF_VALUE)
-    public ResponseEntity<InputStreamResource> teacherSchedulesReport(@RequestParam Long teacherId, @RequestParam Long semesterId) {
-        ScheduleForTeacherDTO schedule = scheduleService.getScheduleForTeacher(semesterId, teacherId);
+    public ResponseEntity<StreamingResponseBody> teacherSchedulesReport(@RequestParam Long teacherId, @RequestParam Long semesterId) throws IOException {
+        //version is read before the schedule, so pdf of the schedule changed meanwhile is not served for the new version
+        long version = scheduleCacheService.getVersion(semesterId);
+        FileChannel pdf = schedulePdfCacheService.getOrRender(semesterId, "teachers:" + teacherId, version, outputStream -> {
+            ScheduleForTeacherDTO schedule = scheduleService.getScheduleForTeacher(semesterId, teacherId);
+            try {
+                new PdfReportGenerator().teacherScheduleReport(schedule, outputStream);
+            } catch (DocumentException e) {
+                log.error("Error in teacherSchedulesReport method {}", e.getMessage());
+                throw new IOException("Pdf for teacher schedule can't be created", e);
+            }
+        });
+        return pdfResponse(pdf);
+    }
+
+    @GetMapping(value = "/schedule-for-group-in-pdf", produces = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<StreamingResponseBody> groupSchedulesReport(@RequestParam Long groupId, @RequestParam Long semesterId) throws IOException {
+        long version = scheduleCacheService.getVersion(semesterId);
+        FileChannel pdf = schedulePdfCacheService.getOrRender(semesterId, "groups:" + groupId, version, outputStream -> {
+            List<ScheduleForGroupDTO> schedules = scheduleService.getFullScheduleForGroup(semesterId, groupId);
+            ScheduleForGroupDTO schedule = schedules.get(0);
+            try {
+                new PdfReportGenerator().groupScheduleReport(schedule, outputStream);
+            } catch (DocumentException e) {
+                log.error("Error in groupSchedulesReport method {}", e.getMessage());
+                throw new IOException("Pdf for group schedule can't be created", e);
+            }
+        });
+        return pdfResponse(pdf);
+    }
+
+    @GetMapping(value = "/schedules-for-groups-in-zip", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> groupSchedulesZip(@RequestParam Long semesterId, HttpServletRequest request) {
+        //schedules of all groups are read by one semester-wide query before streaming starts
+        List<ScheduleForGroupDTO> schedules = scheduleService.getFullScheduleForGroup(semesterId, null);
+        AsyncTimeoutInterceptor.setTimeout(request, WebMvcConfig.EXPORT_TIMEOUT_MILLIS);
+        return zipResponse("group-schedules.zip", outputStream -> scheduleExportService.writeGroupSchedulesZip(schedules, outputStream));
+    }
+
+    @GetMapping(value = "/schedules-for-teachers-in-zip", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> teacherSchedulesZip(@RequestParam Long semesterId, HttpServletRequest request) {
+        List<ScheduleForTeacherDTO> schedules = scheduleService.getSchedulesForTeachers(semesterId);
+        AsyncTimeoutInterceptor.setTimeout(request, WebMvcConfig.EXPORT_TIMEOUT_MILLIS);
+        return zipResponse("teacher-schedules.zip", outputStream -> scheduleExportService.writeTeacherSchedulesZip(schedules, outputStream));
+    }
+
+    //schedules are read from database cursor while the response is written, semesterId is optional to export all semesters
+    @GetMapping(value = "/schedules-in-csv", produces = CSV_TYPE)
+    public ResponseEntity<StreamingResponseBody> schedulesCsv(@RequestParam(required = false) Long semesterId, HttpServletRequest request) {
+        AsyncTimeoutInterceptor.setTimeout(request, WebMvcConfig.EXPORT_TIMEOUT_MILLIS);
+        return attachmentResponse("schedules.csv", CSV_TYPE,
+                outputStream -> scheduleSpreadsheetService.writeSchedules(semesterId, new CsvTableWriter(outputStream)));
+    }
 
-        PdfReportGenerator generatePdfReport = new PdfReportGenerator();
-        ByteArrayOutputStream bis = generatePdfReport.teacherScheduleReport(schedule);
+    @GetMapping(value = "/schedules-in-xlsx", produces = XLSX_TYPE)
+    public ResponseEntity<StreamingResponseBody> schedulesXlsx(@RequestParam(required = false) Long semesterId, HttpServletRequest request) {
+        AsyncTimeoutInterceptor.setTimeout(request, WebMvcConfig.EXPORT_TIMEOUT_MILLIS);
+        return attachmentResponse("schedules.xlsx", XLSX_TYPE,
+                outputStream -> scheduleSpreadsheetService.writeSchedules(semesterId, new XlsxTableWriter(outputStream, "Schedules")));
+    }
 
+    private ResponseEntity<StreamingResponseBody> zipResponse(String fileName, StreamingResponseBody body) {
+        return attachmentResponse(fileName, "application/zip", body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachmentResponse(String fileName, String contentType, StreamingResponseBody body) {
         HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=schedule.pdf");
+        headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName);
 
         return ResponseEntity
                 .ok()
                 .headers(headers)
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(new InputStreamResource(new ByteArrayInputStream(bis.toByteArray())));
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(body);
     }
 
-    @GetMapping(value = "/schedule-for-group-in-pdf", produces = MediaType.APPLICATION_PDF_VALUE)
-    public ResponseEntity<InputStreamResource> groupSchedulesReport(@RequestParam Long groupId, @RequestParam Long semesterId) {
-        List<ScheduleForGroupDTO> schedules = scheduleService.getFullScheduleForGroup(semesterId, groupId);
-        ScheduleForGroupDTO schedule = schedules.get(0);
-        PdfReportGenerator generatePdfReport = new PdfReportGenerator();
-        ByteArrayOutputStream bis = generatePdfReport.groupScheduleReport(schedule);
-
+    //cached pdf file is transferred into the response channel, so it is never kept in memory as a whole
+    private ResponseEntity<StreamingResponseBody> pdfResponse(FileChannel pdf) throws IOException {
         HttpHeaders headers = new HttpHeaders();
         headers.add(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=schedule.pdf");
 
@@ -60,6 +135,17 @@ public class DownloadFileController {
                 .ok()
                 .headers(headers)
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(new InputStreamResource(new ByteArrayInputStream(bis.toByteArray())));
+                .contentLength(pdf.size())
+                .body(outputStream -> transfer(pdf, outputStream));
+    }
+
+    private static void transfer(FileChannel pdf, OutputStream outputStream) throws IOException {
+        try (FileChannel channel = pdf) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long size = channel.size();
+            for (long position = 0; position < size; ) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,23 +1,45 @@
 package com.softserve.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.softserve.dto.*;
 import com.softserve.entity.Schedule;
 import com.softserve.entity.enums.EvenOdd;
 import com.softserve.mapper.ScheduleWithoutSemesterMapper;
 import com.softserve.mapper.SemesterMapper;
+import com.softserve.service.GroupService;
+import com.softserve.service.ScheduleCacheService;
+import com.softserve.service.ScheduleCalendarService;
 import com.softserve.service.ScheduleService;
 import com.softserve.mapper.ScheduleMapper;
 import com.softserve.mapper.ScheduleSaveMapper;
 import com.softserve.service.SemesterService;
+import com.softserve.service.TeacherService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @Api(tags = "Schedule API")
@@ -25,36 +47,84 @@ import java.util.List;
 @RequestMapping("/schedules")
 public class ScheduleController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ScheduleService scheduleService;
+    private final ScheduleCacheService scheduleCacheService;
+    private final ScheduleCalendarService scheduleCalendarService;
     private final SemesterService semesterService;
+    private final GroupService groupService;
+    private final TeacherService teacherService;
     private final SemesterMapper semesterMapper;
     private final ScheduleMapper scheduleMapper;
     private final ScheduleSaveMapper scheduleSaveMapper;
     private final ScheduleWithoutSemesterMapper scheduleWithoutSemesterMapper;
+    private final ObjectMapper objectMapper;
 
-    public ScheduleController(ScheduleService scheduleService, SemesterService semesterService, SemesterMapper semesterMapper, ScheduleMapper scheduleMapper, ScheduleSaveMapper scheduleSaveMapper, ScheduleWithoutSemesterMapper scheduleWithoutSemesterMapper) {
+    public ScheduleController(ScheduleService scheduleService, ScheduleCacheService scheduleCacheService, ScheduleCalendarService scheduleCalendarService, SemesterService semesterService, GroupService groupService, TeacherService teacherService, SemesterMapper semesterMapper, ScheduleMapper scheduleMapper, ScheduleSaveMapper scheduleSaveMapper, ScheduleWithoutSemesterMapper scheduleWithoutSemesterMapper, RequestMappingHandlerAdapter handlerAdapter) {
         this.scheduleService = scheduleService;
+        this.scheduleCacheService = scheduleCacheService;
+        this.scheduleCalendarService = scheduleCalendarService;
         this.semesterService = semesterService;
+        this.groupService = groupService;
+        this.teacherService = teacherService;
         this.semesterMapper = semesterMapper;
         this.scheduleMapper = scheduleMapper;
         this.scheduleSaveMapper = scheduleSaveMapper;
         this.scheduleWithoutSemesterMapper = scheduleWithoutSemesterMapper;
+        //streamed lists are written by the mapper of MVC json converter, so they are serialized like other responses
+        this.objectMapper = handlerAdapter.getMessageConverters().stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(converter -> ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("JSON message converter is not configured"));
     }
 
     @GetMapping
     @ApiOperation(value = "Get the list of all schedules")
-    public ResponseEntity<List<ScheduleDTO>> list() {
+    public void list(WebRequest webRequest, HttpServletResponse response) throws IOException {
         log.info("In list()");
-        List<Schedule> schedules = scheduleService.getAll();
-        return ResponseEntity.status(HttpStatus.OK).body(scheduleMapper.scheduleToScheduleDTOs(schedules));
+        String eTag = "\"all-" + scheduleCacheService.getLatestVersion() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return;
+        }
+        //semester is the same for many schedules, so every semester is mapped once
+        Map<Long, SemesterDTO> semesters = new HashMap<>();
+        writeSchedules(response, eTag, null, schedule -> {
+            ScheduleDTO scheduleDTO = scheduleMapper.scheduleToScheduleDTOWithoutSemester(schedule);
+            scheduleDTO.setSemester(semesters.computeIfAbsent(schedule.getSemester().getId(),
+                    id -> semesterMapper.semesterToSemesterDTO(schedule.getSemester())));
+            return scheduleDTO;
+        });
     }
 
     @GetMapping("/semester")
     @ApiOperation(value = "Get the list of all schedules")
-    public ResponseEntity<List<ScheduleWithoutSemesterDTO>> listForSemester(@RequestParam Long semesterId) {
+    public void listForSemester(@RequestParam Long semesterId, WebRequest webRequest, HttpServletResponse response) throws IOException {
         log.info("In listForSemester()");
-        List<Schedule> schedules = scheduleService.getSchedulesBySemester(semesterId);
-        return ResponseEntity.status(HttpStatus.OK).body(scheduleWithoutSemesterMapper.scheduleToScheduleWithoutSemesterDTOs(schedules));
+        String eTag = getScheduleETag(semesterId, "list");
+        if (webRequest.checkNotModified(eTag)) {
+            return;
+        }
+        writeSchedules(response, eTag, semesterId, scheduleWithoutSemesterMapper::scheduleToScheduleWithoutSemesterDTO);
+    }
+
+    @GetMapping("/page")
+    @ApiOperation(value = "Get the page of schedules filtered by semester, group, teacher, room, day and evenOdd")
+    public ResponseEntity<SchedulePageDTO> getSchedulesPage(ScheduleFilterDTO filter,
+                                                            @RequestParam(required = false) Long cursor,
+                                                            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        log.info("In getSchedulesPage(filter = [{}], cursor = [{}], limit = [{}])", filter, cursor, limit);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        //one extra schedule is requested only to know if there is a next page
+        List<Schedule> schedules = scheduleService.getSchedulesPage(filter, cursor, pageSize + 1);
+        Long nextCursor = null;
+        if (schedules.size() > pageSize) {
+            schedules = schedules.subList(0, pageSize);
+            nextCursor = schedules.get(pageSize - 1).getId();
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(new SchedulePageDTO(scheduleMapper.scheduleToScheduleDTOs(schedules), nextCursor));
     }
 
     @GetMapping("/data-before")
@@ -68,37 +138,112 @@ public class ScheduleController {
         return ResponseEntity.status(HttpStatus.OK).body(scheduleService.getInfoForCreatingSchedule(semesterId, dayOfWeek,evenOdd, classId, lessonId));
     }
 
+    @GetMapping("/availability")
+    @ApiOperation(value = "Get availability of group, teacher and rooms and teacher wishes for the lesson in every cell of the semester")
+    public ResponseEntity<LessonAvailabilityDTO> getLessonAvailability(@RequestParam Long semesterId, @RequestParam Long lessonId) {
+        log.info("In getLessonAvailability(semesterId = [{}], lessonId = [{}])", semesterId, lessonId);
+        return ResponseEntity.status(HttpStatus.OK).body(scheduleService.getLessonAvailability(semesterId, lessonId));
+    }
+
     @GetMapping("/full/groups")
     @ApiOperation(value = "Get full schedule for groupId in some semester")
     public ResponseEntity<ScheduleFullDTO> getFullScheduleForGroup(@RequestParam Long semesterId,
-                                                                     @RequestParam Long groupId) {
+                                                                     @RequestParam Long groupId,
+                                                                     WebRequest webRequest) {
         log.info("In, getFullScheduleForGroup (semesterId = [{}], groupId = [{}]) ", semesterId, groupId);
-        ScheduleFullDTO scheduleFullDTO = new ScheduleFullDTO();
-        scheduleFullDTO.setSemester(semesterMapper.semesterToSemesterDTO(semesterService.getById(semesterId)));
-        scheduleFullDTO.setSchedule(scheduleService.getFullScheduleForGroup(semesterId, groupId));
-        return ResponseEntity.status(HttpStatus.OK).body(scheduleFullDTO);
+        String scope = "groups:" + groupId;
+        String eTag = getScheduleETag(semesterId, scope);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        ScheduleFullDTO scheduleFullDTO = scheduleCacheService.get(semesterId, scope, () -> {
+            ScheduleFullDTO fullDTO = new ScheduleFullDTO();
+            fullDTO.setSemester(semesterMapper.semesterToSemesterDTO(semesterService.getById(semesterId)));
+            fullDTO.setSchedule(scheduleService.getFullScheduleForGroup(semesterId, groupId));
+            return fullDTO;
+        });
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(scheduleFullDTO);
     }
 
     @GetMapping("/full/semester")
     @ApiOperation(value = "Get full schedule for semester")
-    public ResponseEntity<ScheduleFullDTO> getFullScheduleForSemester(@RequestParam Long semesterId) {
+    public ResponseEntity<ScheduleFullDTO> getFullScheduleForSemester(@RequestParam Long semesterId, WebRequest webRequest) {
         log.info("In, getFullScheduleForGroup (semesterId = [{}]) ", semesterId);
-        return ResponseEntity.status(HttpStatus.OK).body(scheduleService.getFullScheduleForSemester(semesterId));
+        String eTag = getScheduleETag(semesterId, "semester");
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(scheduleCacheService.get(semesterId, "semester",
+                () -> scheduleService.getFullScheduleForSemester(semesterId)));
     }
 
     @GetMapping("/full/teachers")
     @ApiOperation(value = "Get full schedule for teacher by semester")
     public ResponseEntity<ScheduleForTeacherDTO> getFullScheduleForTeacher(@RequestParam Long semesterId,
-                                                                             @RequestParam Long teacherId) {
+                                                                             @RequestParam Long teacherId,
+                                                                             WebRequest webRequest) {
         log.info("In, getFullScheduleForTeacher (semesterId = [{}], teacherId = [{}]) ", semesterId, teacherId);
-        return ResponseEntity.status(HttpStatus.OK).body(scheduleService.getScheduleForTeacher(semesterId, teacherId));
+        String scope = "teachers:" + teacherId;
+        String eTag = getScheduleETag(semesterId, scope);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(scheduleCacheService.get(semesterId, scope,
+                () -> scheduleService.getScheduleForTeacher(semesterId, teacherId)));
     }
 
     @GetMapping("/full/rooms")
     @ApiOperation(value = "Get full schedule for semester. Returns schedule for  rooms")
-    public ResponseEntity<List<ScheduleForRoomDTO>> getFullScheduleForRoom(@RequestParam Long semesterId) {
-        log.info("In, getFullScheduleForRoom (semesterId = [{}]) ", semesterId);
-        return ResponseEntity.status(HttpStatus.OK).body(scheduleService.getScheduleForRooms(semesterId));
+    public ResponseEntity<List<ScheduleForRoomDTO>> getFullScheduleForRoom(@RequestParam Long semesterId,
+                                                                           @RequestParam(defaultValue = "false") boolean skipEmptyDays,
+                                                                           WebRequest webRequest) {
+        log.info("In, getFullScheduleForRoom (semesterId = [{}], skipEmptyDays = [{}]) ", semesterId, skipEmptyDays);
+        String scope = "rooms:" + skipEmptyDays;
+        String eTag = getScheduleETag(semesterId, scope);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(scheduleCacheService.get(semesterId, scope,
+                () -> scheduleService.getScheduleForRooms(semesterId, skipEmptyDays)));
+    }
+
+    @GetMapping("/calendar/groups")
+    @ApiOperation(value = "Get iCalendar feed of the group schedule in some semester")
+    public void getGroupCalendar(@RequestParam Long semesterId, @RequestParam Long groupId,
+                                 WebRequest webRequest, HttpServletResponse response) throws IOException {
+        log.info("In getGroupCalendar(semesterId = [{}], groupId = [{}])", semesterId, groupId);
+        //not found semester or group is reported before any header of the calendar is set
+        semesterService.getById(semesterId);
+        groupService.getById(groupId);
+        String eTag = getScheduleETag(semesterId, "calendar-groups:" + groupId);
+        long lastModified = scheduleCacheService.getLastModified(semesterId);
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return;
+        }
+        scheduleCalendarService.writeGroupCalendar(semesterId, groupId, getCalendarWriter(response, eTag, lastModified, "group-" + groupId + ".ics"));
+    }
+
+    @GetMapping("/calendar/teachers")
+    @ApiOperation(value = "Get iCalendar feed of the teacher schedule in some semester")
+    public void getTeacherCalendar(@RequestParam Long semesterId, @RequestParam Long teacherId,
+                                   WebRequest webRequest, HttpServletResponse response) throws IOException {
+        log.info("In getTeacherCalendar(semesterId = [{}], teacherId = [{}])", semesterId, teacherId);
+        //not found semester or teacher is reported before any header of the calendar is set
+        semesterService.getById(semesterId);
+        teacherService.getById(teacherId);
+        String eTag = getScheduleETag(semesterId, "calendar-teachers:" + teacherId);
+        long lastModified = scheduleCacheService.getLastModified(semesterId);
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return;
+        }
+        scheduleCalendarService.writeTeacherCalendar(semesterId, teacherId, getCalendarWriter(response, eTag, lastModified, "teacher-" + teacherId + ".ics"));
+    }
+
+    @GetMapping("/cache-statistics")
+    @ApiOperation(value = "Get hit/miss and rebuild time statistics of the schedule cache")
+    public ResponseEntity<ScheduleCacheStatisticsDTO> getCacheStatistics() {
+        log.info("In getCacheStatistics()");
+        return ResponseEntity.status(HttpStatus.OK).body(scheduleCacheService.getStatistics());
     }
 
 
@@ -110,6 +255,38 @@ public class ScheduleController {
         return ResponseEntity.status(HttpStatus.CREATED).body(scheduleSaveMapper.scheduleToScheduleSaveDTO(schedule));
     }
 
+    @PostMapping("/bulk")
+    @ApiOperation(value = "Create the list of schedules, skipping the ones with conflicts")
+    public ResponseEntity<List<ScheduleBulkResultDTO>> saveAll(@RequestBody List<ScheduleSaveDTO> scheduleSaveDTOs) {
+        log.info("In saveAll(scheduleSaveDTOs size = [{}])", scheduleSaveDTOs.size());
+        List<Schedule> schedules = scheduleSaveDTOs.stream().map(scheduleSaveMapper::scheduleSaveDTOToSchedule).collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.OK).body(scheduleService.saveAll(schedules));
+    }
+
+    @PutMapping("/bulk")
+    @ApiOperation(value = "Move the list of existing schedules, nothing is changed if any of them has conflict")
+    public ResponseEntity<List<ScheduleSaveDTO>> updateAll(@RequestBody List<ScheduleSaveDTO> scheduleSaveDTOs) {
+        log.info("In updateAll(scheduleSaveDTOs size = [{}])", scheduleSaveDTOs.size());
+        List<Schedule> schedules = scheduleSaveDTOs.stream().map(scheduleSaveMapper::scheduleSaveDTOToSchedule).collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.OK).body(scheduleService.updateAll(schedules).stream()
+                .map(scheduleSaveMapper::scheduleToScheduleSaveDTO).collect(Collectors.toList()));
+    }
+
+    @PostMapping("/copy")
+    @ApiOperation(value = "Copy all schedules of one semester to another, moving them to days and periods the target semester has")
+    public ResponseEntity<ScheduleCopyResultDTO> copySchedule(@RequestParam Long fromSemesterId, @RequestParam Long toSemesterId) {
+        log.info("In copySchedule(fromSemesterId = [{}], toSemesterId = [{}])", fromSemesterId, toSemesterId);
+        return ResponseEntity.status(HttpStatus.OK).body(scheduleService.copySchedule(fromSemesterId, toSemesterId));
+    }
+
+    @PostMapping("/validate")
+    @ApiOperation(value = "Check the list of schedules for conflicts and teacher wishes without saving them")
+    public ResponseEntity<List<ScheduleValidationIssueDTO>> validate(@RequestBody List<ScheduleSaveDTO> scheduleSaveDTOs) {
+        log.info("In validate(scheduleSaveDTOs size = [{}])", scheduleSaveDTOs.size());
+        List<Schedule> schedules = scheduleSaveDTOs.stream().map(scheduleSaveMapper::scheduleSaveDTOToSchedule).collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.OK).body(scheduleService.validate(schedules));
+    }
+
     @DeleteMapping("/{id}")
     @ApiOperation(value = "Delete schedule by id")
     public ResponseEntity delete(@PathVariable("id") long id){
@@ -119,4 +296,36 @@ public class ScheduleController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
+    //strong ETag of the scope (group, teacher etc.) of the semester, it changes together with the schedule version of the semester
+    private String getScheduleETag(Long semesterId, String scope) {
+        return "\"" + semesterId + "-" + scope.replace(':', '-') + "-" + scheduleCacheService.getVersion(semesterId) + "\"";
+    }
+
+    //writer of the calendar into the response, events are sent to the client while they are generated
+    private Writer getCalendarWriter(HttpServletResponse response, String eTag, long lastModified, String fileName) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("text/calendar;charset=UTF-8");
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=" + fileName);
+        return new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    //writes schedules to the response as JSON array one by one while they are read from database, so the whole list is never kept in memory
+    private void writeSchedules(HttpServletResponse response, String eTag, Long semesterId, Function<Schedule, Object> toDTO) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            scheduleService.scrollSchedules(semesterId, schedule -> {
+                try {
+                    generator.writeObject(toDTO.apply(schedule));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        }
+    }
 }
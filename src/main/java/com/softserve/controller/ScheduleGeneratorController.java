@@ -0,0 +1,67 @@
+package com.softserve.controller;
+
+import com.softserve.dto.ScheduleBulkResultDTO;
+import com.softserve.dto.ScheduleGenerationJobDTO;
+import com.softserve.dto.ScheduleGenerationRequestDTO;
+import com.softserve.dto.SchedulePlacementResultDTO;
+import com.softserve.dto.ScheduleRepairRequestDTO;
+import com.softserve.dto.ScheduleRepairResultDTO;
+import com.softserve.service.ScheduleGeneratorService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@Api(tags = "Schedule Generation API")
+@RequestMapping("/schedules/generation")
+@Slf4j
+public class ScheduleGeneratorController {
+
+    private final ScheduleGeneratorService scheduleGeneratorService;
+
+    @Autowired
+    public ScheduleGeneratorController(ScheduleGeneratorService scheduleGeneratorService) {
+        this.scheduleGeneratorService = scheduleGeneratorService;
+    }
+
+    @PostMapping
+    @ApiOperation(value = "Start generation of schedule for the semester in background")
+    public ResponseEntity<ScheduleGenerationJobDTO> start(@RequestBody ScheduleGenerationRequestDTO request) {
+        log.info("In start(request = [{}])", request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(scheduleGeneratorService.startGeneration(request));
+    }
+
+    @PostMapping("/remaining")
+    @ApiOperation(value = "Search places for not placed classes of the semester on all cores within time limit")
+    public ResponseEntity<SchedulePlacementResultDTO> placeRemaining(@RequestBody ScheduleGenerationRequestDTO request) {
+        log.info("In placeRemaining(request = [{}])", request);
+        return ResponseEntity.status(HttpStatus.OK).body(scheduleGeneratorService.placeRemaining(request));
+    }
+
+    @PostMapping("/repair")
+    @ApiOperation(value = "Search new places for classes of unavailable teacher or closed room moving as few other classes as possible")
+    public ResponseEntity<ScheduleRepairResultDTO> repair(@RequestBody ScheduleRepairRequestDTO request) {
+        log.info("In repair(request = [{}])", request);
+        return ResponseEntity.status(HttpStatus.OK).body(scheduleGeneratorService.repair(request));
+    }
+
+    @GetMapping("/{jobId}")
+    @ApiOperation(value = "Get progress of schedule generation and generated schedules when it is finished")
+    public ResponseEntity<ScheduleGenerationJobDTO> get(@PathVariable("jobId") String jobId) {
+        log.info("In get(jobId = [{}])", jobId);
+        return ResponseEntity.status(HttpStatus.OK).body(scheduleGeneratorService.getJob(jobId));
+    }
+
+    @PostMapping("/{jobId}/apply")
+    @ApiOperation(value = "Save schedules of finished generation")
+    public ResponseEntity<List<ScheduleBulkResultDTO>> apply(@PathVariable("jobId") String jobId) {
+        log.info("In apply(jobId = [{}])", jobId);
+        return ResponseEntity.status(HttpStatus.OK).body(scheduleGeneratorService.applyGeneration(jobId));
+    }
+}
@@ -3,6 +3,8 @@ package com.softserve.controller;
 import com.softserve.dto.AddWishesDTO;
 import com.softserve.dto.MessageDTO;
 import com.softserve.dto.TeacherWishesDTO;
+import com.softserve.dto.WishComplianceReportDTO;
+import com.softserve.dto.WishValidationResultDTO;
 import com.softserve.dto.WishesWithTeacherDTO;
 import com.softserve.entity.CurrentUser;
 import com.softserve.entity.Teacher;
@@ -14,6 +16,7 @@ import com.softserve.service.TeacherService;
 import com.softserve.service.TeacherWishesService;
 import com.softserve.mapper.TeacherWishesMapper;
 import com.softserve.service.UserService;
+import com.softserve.service.WishComplianceService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +27,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @Api(tags = "Teacher Wishes API")
@@ -34,13 +38,15 @@ public class TeacherWishesController {
     private final TeacherWishesMapper teacherWishesMapper;
     private final UserService userService;
     private final TeacherService teacherService;
+    private final WishComplianceService wishComplianceService;
 
     @Autowired
-    public TeacherWishesController(TeacherWishesService teacherWishesService, TeacherWishesMapper teacherWishesMapper, UserService userService, TeacherService teacherService) {
+    public TeacherWishesController(TeacherWishesService teacherWishesService, TeacherWishesMapper teacherWishesMapper, UserService userService, TeacherService teacherService, WishComplianceService wishComplianceService) {
         this.teacherWishesService = teacherWishesService;
         this.teacherWishesMapper = teacherWishesMapper;
         this.userService = userService;
         this.teacherService = teacherService;
+        this.wishComplianceService = wishComplianceService;
     }
 
     @GetMapping
@@ -74,6 +80,24 @@ public class TeacherWishesController {
         return ResponseEntity.status(HttpStatus.CREATED).body(teacherWishesMapper.teacherWishesToTeacherWishesDTO(teacherWishes));
     }
 
+    @GetMapping("/compliance")
+    @ApiOperation(value = "Get the report of scheduled classes that fall on BAD wishes of teachers in the semester")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<WishComplianceReportDTO> getComplianceReport(@RequestParam Long semesterId) {
+        log.info("Enter into getComplianceReport method with semesterId: {}", semesterId);
+        return ResponseEntity.status(HttpStatus.OK).body(wishComplianceService.getReport(semesterId));
+    }
+
+    @PostMapping("/validate")
+    @ApiOperation(value = "Check wishes of many teachers without saving them")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<List<WishValidationResultDTO>> validateAll(@RequestBody List<AddWishesDTO> addWishesDTOs) {
+        log.info("Enter into validateAll method with addWishesDTOs size: {}", addWishesDTOs.size());
+        List<TeacherWishes> teacherWishes = addWishesDTOs.stream()
+                .map(teacherWishesMapper::addTeacherWishesDTOToTeacherWishes).collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.OK).body(teacherWishesService.validateAll(teacherWishes));
+    }
+
     @PutMapping
     @ApiOperation(value = "Update existing wish by id")
     @PreAuthorize("hasRole('TEACHER') or hasRole('MANAGER')")
@@ -0,0 +1,25 @@
+package com.softserve.dto;
+
+import com.softserve.entity.Period;
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.LessonType;
+import lombok.*;
+
+import java.time.DayOfWeek;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class GroupScheduleItemDTO {
+    private Long groupId;
+    private DayOfWeek dayOfWeek;
+    private EvenOdd evenOdd;
+    private Period period;
+    private String teacherForSite;
+    private String subjectForSite;
+    private LessonType lessonType;
+    private Long roomId;
+    private String roomName;
+}
@@ -0,0 +1,18 @@
+package com.softserve.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = "cells")
+public class LessonAvailabilityDTO {
+    private Long semesterId;
+    private Long lessonId;
+    private List<ScheduleCellAvailabilityDTO> cells;
+}
@@ -0,0 +1,14 @@
+package com.softserve.dto;
+
+import com.softserve.entity.Lesson;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class LessonScheduleInfoDTO {
+    private Lesson lesson;
+    private String className;
+}
@@ -0,0 +1,33 @@
+package com.softserve.dto;
+
+import com.softserve.entity.enums.EvenOdd;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Occupied slots of one group, one teacher and several rooms in a semester. Bit (period index * 7 + day) * 2 belongs
+ * to the even week and the next one to the odd week, where period index is the index in the list of periods of the request
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyGridDTO {
+    private BitSet group;
+    private BitSet teacher;
+    private Map<Long, BitSet> rooms;
+
+    public static boolean isOccupied(BitSet bits, int periodIndex, DayOfWeek dayOfWeek, EvenOdd evenOdd) {
+        if (bits == null) {
+            return false;
+        }
+        int bit = (periodIndex * DayOfWeek.values().length + dayOfWeek.ordinal()) * 2;
+        return (evenOdd != EvenOdd.ODD && bits.get(bit)) || (evenOdd != EvenOdd.EVEN && bits.get(bit + 1));
+    }
+}
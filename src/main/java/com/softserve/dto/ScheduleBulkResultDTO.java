@@ -0,0 +1,15 @@
+package com.softserve.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ScheduleBulkResultDTO {
+    private int index;
+    private Long id;
+    private boolean saved;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.softserve.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ScheduleCacheStatisticsDTO {
+    private long hits;
+    private long misses;
+    private long entries;
+    private long totalRebuildTimeMillis;
+    private double averageRebuildTimeMillis;
+    private long maxRebuildTimeMillis;
+}
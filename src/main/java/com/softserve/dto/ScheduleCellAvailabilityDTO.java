@@ -0,0 +1,26 @@
+package com.softserve.dto;
+
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.WishStatuses;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.DayOfWeek;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ScheduleCellAvailabilityDTO {
+    private DayOfWeek dayOfWeek;
+    private Long periodId;
+    private EvenOdd evenOdd;
+    private boolean groupAvailable;
+    private boolean teacherAvailable;
+    private int freeRooms;
+    private Map<Long, Integer> freeRoomsByType;
+    private WishStatuses wishStatus;
+}
@@ -0,0 +1,22 @@
+package com.softserve.dto;
+
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ScheduleCopyResultDTO {
+    private Long fromSemesterId;
+    private Long toSemesterId;
+    private int copied;
+    private Map<DayOfWeek, DayOfWeek> days;
+    private Map<Long, Long> periods;
+    private List<DayOfWeek> skippedDays;
+    private List<Long> skippedPeriodIds;
+    private long elapsedMillis;
+}
@@ -0,0 +1,31 @@
+package com.softserve.dto;
+
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.LessonType;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ScheduleExportRowDTO {
+    private Long scheduleId;
+    private String semester;
+    private Integer year;
+    private DayOfWeek dayOfWeek;
+    private EvenOdd evenOdd;
+    private String period;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String group;
+    private String teacherSurname;
+    private String teacherName;
+    private String teacherPatronymic;
+    private String subject;
+    private LessonType lessonType;
+    private String room;
+}
@@ -0,0 +1,22 @@
+package com.softserve.dto;
+
+import com.softserve.entity.enums.EvenOdd;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.DayOfWeek;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ScheduleFilterDTO {
+    private Long semesterId;
+    private Long groupId;
+    private Long teacherId;
+    private Long roomId;
+    private DayOfWeek dayOfWeek;
+    private EvenOdd evenOdd;
+}
@@ -0,0 +1,25 @@
+package com.softserve.dto;
+
+import com.softserve.entity.enums.ScheduleGenerationStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = "schedules")
+public class ScheduleGenerationJobDTO {
+    private String id;
+    private Long semesterId;
+    private ScheduleGenerationStatus status;
+    private int progress;
+    private int unplacedClasses;
+    private Integer hardConflicts;
+    private Integer wishViolations;
+    private String message;
+    private List<ScheduleSaveDTO> schedules;
+}
@@ -0,0 +1,21 @@
+package com.softserve.dto;
+
+import com.softserve.entity.enums.LessonType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ScheduleGenerationRequestDTO {
+    private Long semesterId;
+    private Map<LessonType, Long> roomTypes;
+    private Integer iterations;
+    private Long timeLimitMillis;
+    private Integer targetWishViolations;
+}
@@ -0,0 +1,15 @@
+package com.softserve.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class SchedulePageDTO {
+    private List<ScheduleDTO> schedules;
+    private Long nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.softserve.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = "schedules")
+public class SchedulePlacementResultDTO {
+    private Long semesterId;
+    private int unplacedClasses;
+    private int hardConflicts;
+    private int wishViolations;
+    private long elapsedMillis;
+    private List<ScheduleSaveDTO> schedules;
+    private List<SearchWorkerReportDTO> workers;
+}
@@ -0,0 +1,23 @@
+package com.softserve.dto;
+
+import com.softserve.entity.enums.LessonType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ScheduleRepairRequestDTO {
+    private Long semesterId;
+    private Long teacherId;
+    private List<ScheduleTimeDTO> unavailableTimes;
+    private Long roomId;
+    private Map<LessonType, Long> roomTypes;
+    private Long timeLimitMillis;
+}
@@ -0,0 +1,22 @@
+package com.softserve.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = "changes")
+public class ScheduleRepairResultDTO {
+    private Long semesterId;
+    private int freedClasses;
+    private int neighbourhoodSize;
+    private int hardConflicts;
+    private int wishViolations;
+    private long elapsedMillis;
+    private List<ScheduleSaveDTO> changes;
+}
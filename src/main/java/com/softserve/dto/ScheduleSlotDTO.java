@@ -0,0 +1,23 @@
+package com.softserve.dto;
+
+import com.softserve.entity.enums.EvenOdd;
+import lombok.*;
+
+import java.time.DayOfWeek;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ScheduleSlotDTO {
+    private Long scheduleId;
+    private Long semesterId;
+    private DayOfWeek dayOfWeek;
+    private EvenOdd evenOdd;
+    private Long periodId;
+    private Long groupId;
+    private Long teacherId;
+    private Long roomId;
+}
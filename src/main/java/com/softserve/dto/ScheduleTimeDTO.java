@@ -0,0 +1,15 @@
+package com.softserve.dto;
+
+import lombok.*;
+
+import java.time.DayOfWeek;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ScheduleTimeDTO {
+    private DayOfWeek dayOfWeek;
+    private Long periodId;
+}
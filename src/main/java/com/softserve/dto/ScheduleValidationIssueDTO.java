@@ -0,0 +1,18 @@
+package com.softserve.dto;
+
+import com.softserve.entity.enums.ScheduleIssueType;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ScheduleValidationIssueDTO {
+    private int index;
+    private ScheduleIssueType type;
+    private Long conflictingScheduleId;
+    private Integer conflictingIndex;
+    private String message;
+}
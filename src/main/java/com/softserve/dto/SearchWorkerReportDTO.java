@@ -0,0 +1,21 @@
+package com.softserve.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class SearchWorkerReportDTO {
+    private int worker;
+    private String thread;
+    private int starts;
+    private long iterations;
+    private long busyMillis;
+    private Long bestCost;
+    private Integer hardConflicts;
+    private Integer wishViolations;
+}
@@ -0,0 +1,17 @@
+package com.softserve.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TeacherWishComplianceDTO {
+    private Long teacherId;
+    private int classes;
+    private int violations;
+    private List<WishViolationDTO> violatedClasses;
+}
@@ -0,0 +1,18 @@
+package com.softserve.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class WishComplianceReportDTO {
+    private Long semesterId;
+    private int classes;
+    private int violations;
+    private int teachersWithViolations;
+    private List<TeacherWishComplianceDTO> teachers;
+}
@@ -0,0 +1,15 @@
+package com.softserve.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class WishValidationResultDTO {
+    private int index;
+    private Long teacherId;
+    private boolean valid;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.softserve.dto;
+
+import com.softserve.entity.enums.EvenOdd;
+import lombok.*;
+
+import java.time.DayOfWeek;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class WishViolationDTO {
+    private Long scheduleId;
+    private DayOfWeek dayOfWeek;
+    private EvenOdd evenOdd;
+    private Long periodId;
+    private Long groupId;
+    private Long roomId;
+}
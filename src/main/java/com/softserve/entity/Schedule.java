@@ -14,7 +14,11 @@ import java.time.DayOfWeek;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = {
+        @Index(name = "schedules_semester_id_id_idx", columnList = "semester_id, id"),
+        @Index(name = "schedules_room_id_id_idx", columnList = "room_id, id"),
+        @Index(name = "schedules_lesson_id_idx", columnList = "lesson_id")
+})
 public class Schedule implements Serializable {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,7 @@
+package com.softserve.entity.enums;
+
+public enum ScheduleGenerationStatus {
+    RUNNING,
+    FINISHED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.softserve.entity.enums;
+
+public enum ScheduleIssueType {
+    INVALID,
+    GROUP_CONFLICT,
+    TEACHER_CONFLICT,
+    ROOM_CONFLICT,
+    WISH_VIOLATION
+}
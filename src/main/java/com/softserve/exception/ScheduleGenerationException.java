@@ -0,0 +1,7 @@
+package com.softserve.exception;
+
+public class ScheduleGenerationException extends RuntimeException {
+    public ScheduleGenerationException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.softserve.mapper;
 
+import com.softserve.dto.GroupScheduleItemDTO;
 import com.softserve.dto.LessonsInRoomScheduleDTO;
 import com.softserve.dto.LessonsInScheduleDTO;
 import com.softserve.entity.Lesson;
@@ -13,4 +14,8 @@ public interface LessonsInScheduleMapper {
     LessonsInScheduleDTO lessonToLessonsInScheduleDTO(Lesson lesson);
 
     LessonsInRoomScheduleDTO lessonToLessonsInRoomScheduleDTO(Lesson lesson);
+
+    @Mapping(source = "roomId", target = "room.id")
+    @Mapping(source = "roomName", target = "room.name")
+    LessonsInScheduleDTO groupScheduleItemToLessonsInScheduleDTO(GroupScheduleItemDTO groupScheduleItemDTO);
 }
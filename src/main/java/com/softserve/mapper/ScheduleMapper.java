@@ -3,6 +3,8 @@ package com.softserve.mapper;
 import com.softserve.dto.ScheduleDTO;
 import com.softserve.entity.Schedule;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.List;
 
@@ -12,4 +14,8 @@ public interface ScheduleMapper {
     Schedule scheduleDTOToSchedule(ScheduleDTO scheduleDTO);
 
     List<ScheduleDTO> scheduleToScheduleDTOs(List<Schedule> schedules);
+
+    @Named("withoutSemester")
+    @Mapping(target = "semester", ignore = true)
+    ScheduleDTO scheduleToScheduleDTOWithoutSemester(Schedule schedule);
 }
@@ -1,9 +1,14 @@
 package com.softserve.repository;
 
+import com.softserve.dto.LessonScheduleInfoDTO;
 import com.softserve.entity.Lesson;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface LessonRepository extends BasicRepository <Lesson, Long>  {
     List <Lesson> getAllForGroup(Long groupId);
     Long countLessonDuplicates(Lesson lesson);
+    List<Lesson> getLessonsByIds(Collection<Long> ids);
+    Optional<LessonScheduleInfoDTO> getLessonScheduleInfo(Long lessonId, Long classId);
 }
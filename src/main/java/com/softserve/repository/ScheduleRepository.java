@@ -1,11 +1,17 @@
 package com.softserve.repository;
 
+import com.softserve.dto.GroupScheduleItemDTO;
+import com.softserve.dto.ScheduleExportRowDTO;
+import com.softserve.dto.ScheduleFilterDTO;
+import com.softserve.dto.ScheduleSlotDTO;
 import com.softserve.entity.*;
 import com.softserve.entity.enums.EvenOdd;
 
 import java.time.DayOfWeek;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ScheduleRepository extends BasicRepository<Schedule, Long> {
     Long conflictForGroupInSchedule(Long semesterId, java.time.DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long groupId);
@@ -46,4 +52,26 @@ public interface ScheduleRepository extends BasicRepository<Schedule, Long> {
     List<Lesson> lessonForRoomByDayBySemesterByPeriodByWeek(Long semesterId, Long roomId, Long periodId, DayOfWeek day, EvenOdd evenOdd);
 
     List<Schedule> getScheduleBySemester(Long semesterId);
+
+    List<Schedule> getSchedulesWithRelationsBySemester(Long semesterId);
+
+    List<Schedule> getSchedulesForTeachersBySemester(Long semesterId);
+
+    List<GroupScheduleItemDTO> getScheduleItemsForGroupBySemester(Long semesterId, Long groupId);
+
+    List<GroupScheduleItemDTO> getScheduleItemsForGroupsBySemester(Long semesterId);
+
+    List<ScheduleSlotDTO> getScheduleSlotsBySemester(Long semesterId);
+
+    void scrollSchedulesWithRelations(Long semesterId, Consumer<Schedule> action);
+
+    void scrollScheduleExportRows(Long semesterId, Consumer<ScheduleExportRowDTO> action);
+
+    List<Schedule> getSchedulesPage(ScheduleFilterDTO filter, Long afterId, int limit);
+
+    void saveAllInBatch(List<Schedule> schedules);
+
+    int copySchedules(Long fromSemesterId, Long toSemesterId, Map<DayOfWeek, DayOfWeek> days, Map<Long, Long> periods);
+
+    long countConflictsOfCopiedSchedules(Long fromSemesterId, Long toSemesterId, Map<DayOfWeek, DayOfWeek> days, Map<Long, Long> periods);
 }
@@ -10,6 +10,7 @@ public interface SemesterRepository extends BasicRepository<Semester, Long> {
     Optional<Semester> getCurrentSemester();
     Optional<Semester> getSemesterByDescriptionAndYear(String description, int year);
     List<Semester> getDisabled();
+    List<Long> getAllIds();
     int setCurrentSemesterToFalse();
     int setCurrentSemester(Long semesterId);
 }
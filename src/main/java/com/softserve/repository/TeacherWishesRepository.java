@@ -2,10 +2,12 @@ package com.softserve.repository;
 
 import com.softserve.entity.TeacherWishes;
 import com.softserve.entity.Wishes;
+import java.util.Collection;
 import java.util.List;
 
 public interface TeacherWishesRepository extends BasicRepository<TeacherWishes, Long> {
     List<Wishes> getWishByTeacherId(Long teacherId);
     long countWishesByTeacherId(Long teacherId);
     List<TeacherWishes> getAllCurrentTeacherWishes(Long teacherId);
+    List<TeacherWishes> getWishesByTeacherIds(Collection<Long> teacherIds);
 }
\ No newline at end of file
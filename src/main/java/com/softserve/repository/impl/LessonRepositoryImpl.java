@@ -1,11 +1,14 @@
 package com.softserve.repository.impl;
 
+import com.softserve.dto.LessonScheduleInfoDTO;
 import com.softserve.entity.Lesson;
 import com.softserve.repository.LessonRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 @Slf4j
@@ -47,6 +50,41 @@ public class LessonRepositoryImpl extends BasicRepositoryImpl<Lesson, Long> impl
                 .getSingleResult();
     }
 
+    /**
+     * Method gets lessons with their groups and teachers by the list of ids from the DB
+     *
+     * @param ids identity numbers of lessons
+     * @return List of found lessons
+     */
+    @Override
+    public List<Lesson> getLessonsByIds(Collection<Long> ids) {
+        log.info("In getLessonsByIds(ids = [{}])", ids);
+        return sessionFactory.getCurrentSession().createQuery
+                ("select l from Lesson l join fetch l.group join fetch l.teacher where l.id in (:ids)", Lesson.class)
+                .setParameterList("ids", ids).getResultList();
+    }
+
+    /**
+     * Method gets lesson with its teacher, group and subject and name of the period by one query from the DB
+     *
+     * @param lessonId identity number of the lesson
+     * @param classId  identity number of the period
+     * @return lesson with name of the period, the name is null if there is no such period
+     */
+    @Override
+    public Optional<LessonScheduleInfoDTO> getLessonScheduleInfo(Long lessonId, Long classId) {
+        log.info("In getLessonScheduleInfo(lessonId = [{}], classId = [{}])", lessonId, classId);
+        List<Object[]> rows = sessionFactory.getCurrentSession().createQuery
+                ("select l, (select p.name from Period p where p.id = :classId) " +
+                        "from Lesson l join fetch l.teacher join fetch l.group join fetch l.subject " +
+                        "where l.id = :lessonId", Object[].class)
+                .setParameter("lessonId", lessonId)
+                .setParameter("classId", classId)
+                .setMaxResults(1)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> new LessonScheduleInfoDTO((Lesson) row[0], (String) row[1]));
+    }
+
     // Checking if lesson is used in Schedule table
     @Override
     protected boolean checkReference(Lesson lesson) {
@@ -32,7 +32,8 @@ public class RoomRepositoryImpl extends BasicRepositoryImpl<Room, Long> implemen
     public List<Room> getAll() {
         log.info("In getAll()");
         Session session = getSession();
-       return session.createQuery("from Room" )
+        //type is fetched by the same query, otherwise every type of rooms is read by its own query
+        return session.createQuery("select r from Room r left join fetch r.type")
                 .getResultList();
     }
 
@@ -1,19 +1,47 @@
 package com.softserve.repository.impl;
 
+import com.softserve.dto.GroupScheduleItemDTO;
+import com.softserve.dto.ScheduleExportRowDTO;
+import com.softserve.dto.ScheduleFilterDTO;
+import com.softserve.dto.ScheduleSlotDTO;
 import com.softserve.entity.*;
 import com.softserve.entity.enums.EvenOdd;
 import com.softserve.repository.ScheduleRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.DayOfWeek;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 @Repository
 @Slf4j
 public class ScheduleRepositoryImpl extends BasicRepositoryImpl<Schedule, Long> implements ScheduleRepository {
 
+    private static final String SELECT_GROUP_SCHEDULE_ITEMS = "select new com.softserve.dto.GroupScheduleItemDTO(" +
+            "l.group.id, s.dayOfWeek, s.evenOdd, p, l.teacherForSite, l.subjectForSite, l.lessonType, r.id, r.name) " +
+            "from Schedule s join s.lesson l join s.period p join s.room r " +
+            "where s.semester.id = :semesterId ";
+
+    private static final int SCROLL_BATCH_SIZE = 500;
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private static final String INSERT_SCHEDULE = "insert into schedules " +
+            "(day_of_week, evenodd, lesson_id, period_id, room_id, semester_id) values (?, ?, ?, ?, ?, ?)";
+
     private static final String SELECT_COUNT = "select count (s.id) " +
             "from Schedule s where s.semester.id = :semesterId " +
             "and s.dayOfWeek = :dayOfWeek " +
@@ -250,12 +278,27 @@ public class ScheduleRepositoryImpl extends BasicRepositoryImpl<Schedule, Long>
                 .getResultList();
     }
 
+    /**
+     * Method gets all schedules of the teacher in the semester together with lesson, group, subject, room and period
+     *
+     * @param teacherId  id of the teacher
+     * @param semesterId id of the semester
+     * @return list of schedules ordered by period start time
+     */
     @Override
     public List<Schedule> getAllSchedulesByTeacherIdAndSemesterId(Long teacherId, Long semesterId) {
-        log.info("Enter into getAll of TeacherRepositoryImpl");
+        log.info("In getAllSchedulesByTeacherIdAndSemesterId(teacherId = [{}], semesterId = [{}])", teacherId, semesterId);
         return sessionFactory.getCurrentSession().
-                createQuery("from Schedule s where s.semester.id = :semesterId " +
-                        "and s.lesson.teacher.id = :teacherId ")
+                createQuery("select s from Schedule s" +
+                        " join fetch s.lesson l" +
+                        " join fetch l.teacher t" +
+                        " join fetch l.subject" +
+                        " join fetch l.group" +
+                        " join fetch s.room" +
+                        " join fetch s.period p" +
+                        " where s.semester.id = :semesterId" +
+                        " and t.id = :teacherId" +
+                        " order by p.startTime")
                 .setParameter("semesterId", semesterId)
                 .setParameter("teacherId", teacherId)
                 .getResultList();
@@ -352,4 +395,345 @@ public class ScheduleRepositoryImpl extends BasicRepositoryImpl<Schedule, Long>
                 .setParameter("semesterId", semesterId)
                 .getResultList();
     }
+
+    /**
+     * Method gets all schedules of the semester together with lesson, teacher, subject, group, room and period
+     * in one fetch-joined query, so the caller can build the whole timetable without further selects
+     *
+     * @param semesterId id of the semester
+     * @return list of schedules ordered by group title and period start time
+     */
+    @Override
+    public List<Schedule> getSchedulesWithRelationsBySemester(Long semesterId) {
+        log.info("In getSchedulesWithRelationsBySemester(semesterId = [{}])", semesterId);
+        return sessionFactory.getCurrentSession().createQuery("select s from Schedule s" +
+                " join fetch s.lesson l" +
+                " join fetch l.teacher" +
+                " join fetch l.subject" +
+                " join fetch l.group g" +
+                " join fetch s.room r" +
+                " left join fetch r.type" +
+                " join fetch s.period p" +
+                " where s.semester.id = :semesterId" +
+                " order by g.title, p.startTime")
+                .setParameter("semesterId", semesterId)
+                .getResultList();
+    }
+
+    /**
+     * Method gets all schedules of the semester with lesson, teacher, subject, group, room and period fetched,
+     * ordered by teacher and then by period start time
+     *
+     * @param semesterId id of the semester
+     * @return list of schedules
+     */
+    @Override
+    public List<Schedule> getSchedulesForTeachersBySemester(Long semesterId) {
+        log.info("In getSchedulesForTeachersBySemester(semesterId = [{}])", semesterId);
+        return sessionFactory.getCurrentSession().createQuery("select s from Schedule s" +
+                " join fetch s.lesson l" +
+                " join fetch l.teacher t" +
+                " join fetch l.subject" +
+                " join fetch l.group" +
+                " join fetch s.room r" +
+                " left join fetch r.type" +
+                " join fetch s.period p" +
+                " where s.semester.id = :semesterId" +
+                " order by t.surname, t.name, t.id, p.startTime", Schedule.class)
+                .setParameter("semesterId", semesterId)
+                .getResultList();
+    }
+
+    /**
+     * Method gets every (day, period, evenOdd, lesson, room) item of the group in the semester by one projection query
+     *
+     * @param semesterId id of the semester
+     * @param groupId    id of the group
+     * @return list of schedule items ordered by period start time
+     */
+    @Override
+    public List<GroupScheduleItemDTO> getScheduleItemsForGroupBySemester(Long semesterId, Long groupId) {
+        log.info("In getScheduleItemsForGroupBySemester(semesterId = [{}], groupId = [{}])", semesterId, groupId);
+        return sessionFactory.getCurrentSession().createQuery(SELECT_GROUP_SCHEDULE_ITEMS +
+                "and l.group.id = :groupId " +
+                "order by p.startTime", GroupScheduleItemDTO.class)
+                .setParameter("semesterId", semesterId)
+                .setParameter("groupId", groupId)
+                .getResultList();
+    }
+
+    /**
+     * Method gets every (group, day, period, evenOdd, lesson, room) item in the semester by one projection query
+     *
+     * @param semesterId id of the semester
+     * @return list of schedule items ordered by period start time
+     */
+    @Override
+    public List<GroupScheduleItemDTO> getScheduleItemsForGroupsBySemester(Long semesterId) {
+        log.info("In getScheduleItemsForGroupsBySemester(semesterId = [{}])", semesterId);
+        return sessionFactory.getCurrentSession().createQuery(SELECT_GROUP_SCHEDULE_ITEMS +
+                "order by p.startTime", GroupScheduleItemDTO.class)
+                .setParameter("semesterId", semesterId)
+                .getResultList();
+    }
+
+    /**
+     * Method gets the occupied slot (day, period, evenOdd) of every schedule in the semester together with its group, teacher and room
+     *
+     * @param semesterId id of the semester
+     * @return list of schedule slots
+     */
+    @Override
+    public List<ScheduleSlotDTO> getScheduleSlotsBySemester(Long semesterId) {
+        log.info("In getScheduleSlotsBySemester(semesterId = [{}])", semesterId);
+        return sessionFactory.getCurrentSession().createQuery("select new com.softserve.dto.ScheduleSlotDTO(" +
+                "s.id, s.semester.id, s.dayOfWeek, s.evenOdd, s.period.id, l.group.id, l.teacher.id, s.room.id) " +
+                "from Schedule s join s.lesson l " +
+                "where s.semester.id = :semesterId", ScheduleSlotDTO.class)
+                .setParameter("semesterId", semesterId)
+                .getResultList();
+    }
+
+    /**
+     * Method walks through all schedules (or schedules of the semester) ordered by id with lesson, teacher, subject, group, room,
+     * period and semester fetched, and passes every schedule to the action.
+     * Rows are read by forward-only cursor and the session is cleared after every batch, so memory use does not depend on the number of schedules
+     *
+     * @param semesterId id of the semester, or null for schedules of all semesters
+     * @param action     action that is performed for every schedule while it is still attached to the session
+     */
+    @Override
+    public void scrollSchedulesWithRelations(Long semesterId, Consumer<Schedule> action) {
+        log.info("In scrollSchedulesWithRelations(semesterId = [{}])", semesterId);
+        Session session = sessionFactory.getCurrentSession();
+        Query<Schedule> query = session.createQuery("select s from Schedule s " +
+                "join fetch s.lesson l join fetch l.teacher join fetch l.subject join fetch l.group " +
+                "join fetch s.room r left join fetch r.type join fetch s.period join fetch s.semester " +
+                (semesterId != null ? "where s.semester.id = :semesterId " : "") +
+                "order by s.id", Schedule.class)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .setFetchSize(SCROLL_BATCH_SIZE);
+        if (semesterId != null) {
+            query.setParameter("semesterId", semesterId);
+        }
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            int count = 0;
+            while (results.next()) {
+                action.accept((Schedule) results.get(0));
+                if (++count % SCROLL_BATCH_SIZE == 0) {
+                    session.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Method walks through flat rows of all schedules (or schedules of the semester) ordered by id and passes every row to the action.
+     * Rows are built by one projection query over schedules joined with semesters, lessons, groups, teachers, periods and rooms
+     * and read by forward-only cursor, no entity is loaded into the session, so memory use does not depend on the number of schedules
+     *
+     * @param semesterId id of the semester, or null for schedules of all semesters
+     * @param action     action that is performed for every row
+     */
+    @Override
+    public void scrollScheduleExportRows(Long semesterId, Consumer<ScheduleExportRowDTO> action) {
+        log.info("In scrollScheduleExportRows(semesterId = [{}])", semesterId);
+        Query<ScheduleExportRowDTO> query = sessionFactory.getCurrentSession().createQuery(
+                "select new com.softserve.dto.ScheduleExportRowDTO(s.id, sem.description, sem.year, s.dayOfWeek, s.evenOdd, " +
+                "p.name, p.startTime, p.endTime, g.title, t.surname, t.name, t.patronymic, l.subjectForSite, l.lessonType, r.name) " +
+                "from Schedule s join s.semester sem join s.lesson l join l.group g join l.teacher t join s.period p join s.room r " +
+                (semesterId != null ? "where sem.id = :semesterId " : "") +
+                "order by s.id", ScheduleExportRowDTO.class)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .setFetchSize(SCROLL_BATCH_SIZE);
+        if (semesterId != null) {
+            query.setParameter("semesterId", semesterId);
+        }
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                action.accept((ScheduleExportRowDTO) results.get(0));
+            }
+        }
+    }
+
+    /**
+     * Method gets the page of schedules after the cursor using keyset on schedule id, so each page costs the same regardless of its position
+     *
+     * @param filter  filter with optional semester, group, teacher, room, day and evenOdd
+     * @param afterId id of the last schedule of previous page, or null for the first page
+     * @param limit   max number of schedules in the page
+     * @return list of schedules ordered by id
+     */
+    @Override
+    public List<Schedule> getSchedulesPage(ScheduleFilterDTO filter, Long afterId, int limit) {
+        log.info("In getSchedulesPage(filter = [{}], afterId = [{}], limit = [{}])", filter, afterId, limit);
+        StringBuilder where = new StringBuilder("where 1 = 1 ");
+        Map<String, Object> parameters = new HashMap<>();
+        //only plain equality predicates on schedule columns and id range, so database can use (column, id) indexes
+        if (afterId != null) {
+            where.append("and s.id > :afterId ");
+            parameters.put("afterId", afterId);
+        }
+        if (filter.getSemesterId() != null) {
+            where.append("and s.semester.id = :semesterId ");
+            parameters.put("semesterId", filter.getSemesterId());
+        }
+        if (filter.getGroupId() != null) {
+            where.append("and l.group.id = :groupId ");
+            parameters.put("groupId", filter.getGroupId());
+        }
+        if (filter.getTeacherId() != null) {
+            where.append("and l.teacher.id = :teacherId ");
+            parameters.put("teacherId", filter.getTeacherId());
+        }
+        if (filter.getRoomId() != null) {
+            where.append("and s.room.id = :roomId ");
+            parameters.put("roomId", filter.getRoomId());
+        }
+        if (filter.getDayOfWeek() != null) {
+            where.append("and s.dayOfWeek = :dayOfWeek ");
+            parameters.put("dayOfWeek", filter.getDayOfWeek());
+        }
+        if (filter.getEvenOdd() != null) {
+            where.append("and s.evenOdd = :evenOdd ");
+            parameters.put("evenOdd", filter.getEvenOdd());
+        }
+        Query<Schedule> query = sessionFactory.getCurrentSession().createQuery("select s from Schedule s " +
+                "join fetch s.lesson l join fetch l.teacher join fetch l.subject join fetch l.group " +
+                "join fetch s.room r left join fetch r.type join fetch s.period join fetch s.semester " +
+                where + "order by s.id", Schedule.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Method inserts schedules with JDBC batches instead of one statement per schedule and sets generated ids to them
+     *
+     * @param schedules schedules to be inserted
+     */
+    @Override
+    public void saveAllInBatch(List<Schedule> schedules) {
+        log.info("In saveAllInBatch(schedules size = [{}])", schedules.size());
+        Session session = sessionFactory.getCurrentSession();
+        //identity ids disable hibernate insert batching, so rows are inserted by plain JDBC in the same transaction
+        session.flush();
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SCHEDULE, new String[]{"id"})) {
+                int batchStart = 0;
+                for (int i = 0; i < schedules.size(); i++) {
+                    Schedule schedule = schedules.get(i);
+                    statement.setString(1, schedule.getDayOfWeek().name());
+                    statement.setString(2, schedule.getEvenOdd().name());
+                    statement.setLong(3, schedule.getLesson().getId());
+                    statement.setLong(4, schedule.getPeriod().getId());
+                    statement.setLong(5, schedule.getRoom().getId());
+                    statement.setLong(6, schedule.getSemester().getId());
+                    statement.addBatch();
+                    if ((i + 1) % INSERT_BATCH_SIZE == 0 || i == schedules.size() - 1) {
+                        statement.executeBatch();
+                        try (ResultSet keys = statement.getGeneratedKeys()) {
+                            for (int j = batchStart; keys.next(); j++) {
+                                schedules.get(j).setId(keys.getLong(1));
+                            }
+                        }
+                        batchStart = i + 1;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Method copies all schedules of one semester to another by one INSERT ... SELECT statement,
+     * moving every schedule to the mapped day and period. Schedules at days or periods that have no mapping are not copied
+     *
+     * @param fromSemesterId id of the semester to copy from
+     * @param toSemesterId   id of the semester to copy to
+     * @param days           day of source semester to day of target semester
+     * @param periods        id of period of source semester to id of period of target semester
+     * @return number of copied schedules
+     */
+    @Override
+    public int copySchedules(Long fromSemesterId, Long toSemesterId, Map<DayOfWeek, DayOfWeek> days, Map<Long, Long> periods) {
+        log.info("In copySchedules(fromSemesterId = [{}], toSemesterId = [{}], days = [{}], periods = [{}])", fromSemesterId, toSemesterId, days, periods);
+        if (days.isEmpty() || periods.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("toSemesterId", toSemesterId);
+        String copiedSchedules = getCopiedSchedules(fromSemesterId, days, periods, parameters);
+        Session session = sessionFactory.getCurrentSession();
+        session.flush();
+        NativeQuery<?> query = session.createNativeQuery("insert into schedules " +
+                "(day_of_week, evenodd, lesson_id, period_id, room_id, semester_id) " +
+                "select dm.target_day, s.evenodd, s.lesson_id, pm.target_period, s.room_id, :toSemesterId " +
+                copiedSchedules +
+                "where s.semester_id = :fromSemesterId " +
+                "order by s.id");
+        parameters.forEach(query::setParameter);
+        return query.executeUpdate();
+    }
+
+    /**
+     * Method counts schedules of one semester that, moved to the mapped day and period, would take the same day, period
+     * and half of the week as schedule of another semester with the same group, teacher or room. Schedules are checked
+     * before they are copied, so copied schedules are never checked against each other
+     *
+     * @param fromSemesterId id of the semester to copy from
+     * @param toSemesterId   id of the semester to copy to
+     * @param days           day of source semester to day of target semester
+     * @param periods        id of period of source semester to id of period of target semester
+     * @return number of schedules that would conflict after copying
+     */
+    @Override
+    public long countConflictsOfCopiedSchedules(Long fromSemesterId, Long toSemesterId, Map<DayOfWeek, DayOfWeek> days, Map<Long, Long> periods) {
+        log.info("In countConflictsOfCopiedSchedules(fromSemesterId = [{}], toSemesterId = [{}], days = [{}], periods = [{}])", fromSemesterId, toSemesterId, days, periods);
+        if (days.isEmpty() || periods.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("toSemesterId", toSemesterId);
+        String copiedSchedules = getCopiedSchedules(fromSemesterId, days, periods, parameters);
+        Session session = sessionFactory.getCurrentSession();
+        session.flush();
+        NativeQuery<?> query = session.createNativeQuery("select count(distinct s.id) " +
+                copiedSchedules +
+                "join lessons sl on sl.id = s.lesson_id " +
+                "join schedules t on t.semester_id = :toSemesterId and t.day_of_week = dm.target_day " +
+                "and t.period_id = pm.target_period " +
+                "and (t.evenodd = s.evenodd or t.evenodd = 'WEEKLY' or s.evenodd = 'WEEKLY') " +
+                "join lessons tl on tl.id = t.lesson_id " +
+                "where s.semester_id = :fromSemesterId " +
+                "and (sl.group_id = tl.group_id or sl.teacher_id = tl.teacher_id or s.room_id = t.room_id)");
+        parameters.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    //schedules joined with day and period mappings as inline tables,
+    //so rows are remapped by the database without reading them
+    private static String getCopiedSchedules(Long fromSemesterId, Map<DayOfWeek, DayOfWeek> days, Map<Long, Long> periods,
+                                             Map<String, Object> parameters) {
+        parameters.put("fromSemesterId", fromSemesterId);
+        StringJoiner dayValues = new StringJoiner(", ");
+        int index = 0;
+        for (Map.Entry<DayOfWeek, DayOfWeek> day : days.entrySet()) {
+            dayValues.add("(:sourceDay" + index + ", :targetDay" + index + ")");
+            parameters.put("sourceDay" + index, day.getKey().name());
+            parameters.put("targetDay" + index, day.getValue().name());
+            index++;
+        }
+        StringJoiner periodValues = new StringJoiner(", ");
+        index = 0;
+        for (Map.Entry<Long, Long> period : periods.entrySet()) {
+            periodValues.add("(:sourcePeriod" + index + ", :targetPeriod" + index + ")");
+            parameters.put("sourcePeriod" + index, period.getKey());
+            parameters.put("targetPeriod" + index, period.getValue());
+            index++;
+        }
+        return "from schedules s " +
+                "join (values " + dayValues + ") as dm(source_day, target_day) on dm.source_day = s.day_of_week " +
+                "join (values " + periodValues + ") as pm(source_period, target_period) on pm.source_period = s.period_id ";
+    }
 }
@@ -103,6 +103,18 @@ public class SemesterRepositoryImpl extends BasicRepositoryImpl<Semester, Long>
                 .getResultList();
     }
 
+    /**
+     * The method used for getting ids of all semesters that are not disabled, without loading the semesters
+     *
+     * @return list of ids of semesters
+     */
+    @Override
+    public List<Long> getAllIds() {
+        log.info("In getAllIds()");
+        return getSession().createQuery("select s.id from Semester s", Long.class)
+                .getResultList();
+    }
+
     @Override
     public int setCurrentSemesterToFalse() {
         log.info("In setCurrentSemesterToFalse()");
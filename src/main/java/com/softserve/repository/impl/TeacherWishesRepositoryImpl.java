@@ -69,4 +69,20 @@ public class TeacherWishesRepositoryImpl extends BasicRepositoryImpl<TeacherWish
                 .getSingleResult();
        return  Arrays.asList(teacherWishes);
     }
+
+    /**
+     * The method used for getting wishes of several teachers by one query
+     *
+     * @param teacherIds Identity teacher ids
+     * @return list of entities TeacherWishes with teachers
+     */
+    @Override
+    public List<TeacherWishes> getWishesByTeacherIds(Collection<Long> teacherIds) {
+        log.info("Enter into getWishesByTeacherIds method with teacherIds: {}", teacherIds);
+        return sessionFactory.getCurrentSession().createQuery(
+                "select t from TeacherWishes t join fetch t.teacher " +
+                        "where t.teacher.id in (:teacherIds)")
+                .setParameterList("teacherIds", teacherIds)
+                .getResultList();
+    }
 }
@@ -1,12 +1,16 @@
 package com.softserve.service;
 
+import com.softserve.dto.LessonScheduleInfoDTO;
 import com.softserve.entity.Lesson;
 import com.softserve.entity.enums.LessonType;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface LessonService extends BasicService <Lesson, Long> {
     List<Lesson> getAllForGroup(Long groupId);
+    List<Lesson> getLessonsByIds(Collection<Long> ids);
+    LessonScheduleInfoDTO getLessonScheduleInfo(Long lessonId, Long classId);
     List<LessonType> getAllLessonTypes();
     boolean isLessonForGroupExists(Lesson lesson);
 }
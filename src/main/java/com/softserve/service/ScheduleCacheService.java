@@ -0,0 +1,21 @@
+package com.softserve.service;
+
+import com.softserve.dto.ScheduleCacheStatisticsDTO;
+
+import java.util.function.Supplier;
+
+public interface ScheduleCacheService {
+    long getVersion(Long semesterId);
+
+    long getLatestVersion();
+
+    long getLastModified(Long semesterId);
+
+    <T> T get(Long semesterId, String scope, Supplier<T> builder);
+
+    void invalidate(Long semesterId);
+
+    void invalidateAll();
+
+    ScheduleCacheStatisticsDTO getStatistics();
+}
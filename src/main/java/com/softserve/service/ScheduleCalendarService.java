@@ -0,0 +1,10 @@
+package com.softserve.service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public interface ScheduleCalendarService {
+    void writeGroupCalendar(Long semesterId, Long groupId, Writer writer) throws IOException;
+
+    void writeTeacherCalendar(Long semesterId, Long teacherId, Writer writer) throws IOException;
+}
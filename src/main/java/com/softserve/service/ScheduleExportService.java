@@ -0,0 +1,14 @@
+package com.softserve.service;
+
+import com.softserve.dto.ScheduleForGroupDTO;
+import com.softserve.dto.ScheduleForTeacherDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface ScheduleExportService {
+    void writeGroupSchedulesZip(List<ScheduleForGroupDTO> schedules, OutputStream outputStream) throws IOException;
+
+    void writeTeacherSchedulesZip(List<ScheduleForTeacherDTO> schedules, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.softserve.service;
+
+import com.softserve.dto.ScheduleBulkResultDTO;
+import com.softserve.dto.ScheduleGenerationJobDTO;
+import com.softserve.dto.ScheduleGenerationRequestDTO;
+import com.softserve.dto.SchedulePlacementResultDTO;
+import com.softserve.dto.ScheduleRepairRequestDTO;
+import com.softserve.dto.ScheduleRepairResultDTO;
+
+import java.util.List;
+
+public interface ScheduleGeneratorService {
+    ScheduleGenerationJobDTO startGeneration(ScheduleGenerationRequestDTO request);
+
+    ScheduleGenerationJobDTO getJob(String jobId);
+
+    List<ScheduleBulkResultDTO> applyGeneration(String jobId);
+
+    SchedulePlacementResultDTO placeRemaining(ScheduleGenerationRequestDTO request);
+
+    ScheduleRepairResultDTO repair(ScheduleRepairRequestDTO request);
+}
@@ -0,0 +1,27 @@
+package com.softserve.service;
+
+import com.softserve.dto.OccupancyGridDTO;
+import com.softserve.dto.ScheduleSlotDTO;
+import com.softserve.entity.enums.EvenOdd;
+
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.List;
+
+public interface ScheduleOccupancyService {
+    boolean isGroupOccupied(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long groupId);
+
+    boolean isTeacherOccupied(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long teacherId);
+
+    boolean isRoomOccupied(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long roomId);
+
+    OccupancyGridDTO getOccupancyGrid(Long semesterId, List<Long> periodIds, Long groupId, Long teacherId, Collection<Long> roomIds);
+
+    void addSchedule(ScheduleSlotDTO slot);
+
+    void removeSchedule(Long scheduleId);
+
+    void invalidate(Long semesterId);
+
+    void invalidateAll();
+}
@@ -0,0 +1,14 @@
+package com.softserve.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+
+public interface SchedulePdfCacheService {
+    FileChannel getOrRender(Long semesterId, String scope, long version, PdfContentWriter writer) throws IOException;
+
+    @FunctionalInterface
+    interface PdfContentWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+}
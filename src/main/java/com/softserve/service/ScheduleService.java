@@ -1,16 +1,21 @@
 package com.softserve.service;
 
 import com.softserve.dto.CreateScheduleInfoDTO;
+import com.softserve.dto.LessonAvailabilityDTO;
+import com.softserve.dto.ScheduleBulkResultDTO;
+import com.softserve.dto.ScheduleFilterDTO;
 import com.softserve.dto.ScheduleForRoomDTO;
 import com.softserve.dto.ScheduleForGroupDTO;
 import com.softserve.dto.ScheduleForTeacherDTO;
 import com.softserve.dto.ScheduleFullDTO;
+import com.softserve.dto.ScheduleValidationIssueDTO;
 import com.softserve.entity.Schedule;
 import com.softserve.entity.enums.EvenOdd;
 
 import java.time.DayOfWeek;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ScheduleService extends BasicService<Schedule, Long> {
     CreateScheduleInfoDTO getInfoForCreatingSchedule(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long lessonId);
@@ -21,10 +26,26 @@ public interface ScheduleService extends BasicService<Schedule, Long> {
 
     ScheduleForTeacherDTO getScheduleForTeacher(Long semesterId, Long teacherId);
 
+    List<ScheduleForTeacherDTO> getSchedulesForTeachers(Long semesterId);
+
     List<Schedule> getAllSchedulesByTeacherIdAndSemesterId(Long teacherId, Long semesterId);
 
-    List<ScheduleForRoomDTO> getScheduleForRooms(Long semesterId);
+    List<ScheduleForRoomDTO> getScheduleForRooms(Long semesterId, boolean skipEmptyDays);
 
     List<Schedule> getSchedulesBySemester(Long semesterId);
+
+    void scrollSchedules(Long semesterId, Consumer<Schedule> action);
+
+    List<Schedule> getSchedulesPage(ScheduleFilterDTO filter, Long cursor, int limit);
+
+    List<ScheduleBulkResultDTO> saveAll(List<Schedule> schedules);
+
+    List<ScheduleValidationIssueDTO> validate(List<Schedule> schedules);
+
+    List<Schedule> updateAll(List<Schedule> schedules);
+
+    LessonAvailabilityDTO getLessonAvailability(Long semesterId, Long lessonId);
+
+    ScheduleCopyResultDTO copySchedule(Long fromSemesterId, Long toSemesterId);
 }
 
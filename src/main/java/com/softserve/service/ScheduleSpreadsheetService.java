@@ -0,0 +1,9 @@
+package com.softserve.service;
+
+import com.softserve.util.TableWriter;
+
+import java.io.IOException;
+
+public interface ScheduleSpreadsheetService {
+    void writeSchedules(Long semesterId, TableWriter tableWriter) throws IOException;
+}
@@ -6,6 +6,7 @@ import java.util.List;
 public interface SemesterService extends BasicService<Semester, Long> {
     Semester getCurrentSemester();
     List<Semester> getDisabled();
+    List<Long> getAllIds();
     Semester changeCurrentSemester(Long semesterId);
 
 }
@@ -1,14 +1,23 @@
 package com.softserve.service;
 
+import com.softserve.dto.WishValidationResultDTO;
 import com.softserve.entity.TeacherWishes;
 import com.softserve.entity.Wishes;
 import com.softserve.entity.enums.EvenOdd;
+import com.softserve.util.TeacherWishMask;
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface TeacherWishesService extends BasicService<TeacherWishes, Long> {
     boolean isClassSuits(Long teacherId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId);
     void validateTeacherWish(Wishes[] teacherWishesList);
     void isTeacherSchemaValid(Wishes[] teacherWish);
+    List<WishValidationResultDTO> validateAll(List<TeacherWishes> teacherWishes);
     List<TeacherWishes> getAllCurrentTeacherWishes(Long teacherId);
+    List<TeacherWishes> getWishesByTeacherIds(Collection<Long> teacherIds);
+    TeacherWishMask getWishMask(Long teacherId);
+    Map<Long, TeacherWishMask> getWishMasks(Collection<Long> teacherIds);
+    long getWishesVersion();
 }
@@ -0,0 +1,7 @@
+package com.softserve.service;
+
+import com.softserve.dto.WishComplianceReportDTO;
+
+public interface WishComplianceService {
+    WishComplianceReportDTO getReport(Long semesterId);
+}
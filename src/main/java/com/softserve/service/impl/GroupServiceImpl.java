@@ -6,6 +6,7 @@ import com.softserve.exception.EntityNotFoundException;
 import com.softserve.exception.FieldAlreadyExistsException;
 import com.softserve.repository.GroupRepository;
 import com.softserve.service.GroupService;
+import com.softserve.service.ScheduleCacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -19,10 +20,12 @@ import java.util.List;
 public class GroupServiceImpl  implements GroupService {
 
     private final GroupRepository groupRepository;
+    private final ScheduleCacheService scheduleCacheService;
 
     @Autowired
-    public GroupServiceImpl(GroupRepository groupRepository) {
+    public GroupServiceImpl(GroupRepository groupRepository, ScheduleCacheService scheduleCacheService) {
         this.groupRepository = groupRepository;
+        this.scheduleCacheService = scheduleCacheService;
     }
 
     /**
@@ -74,7 +77,9 @@ public class GroupServiceImpl  implements GroupService {
                 log.error("Group with title [{}] already exists", object.getTitle());
                 throw new FieldAlreadyExistsException(Group.class, "title", object.getTitle());
             }
-            return groupRepository.update(object);
+            Group updated = groupRepository.update(object);
+            scheduleCacheService.invalidateAll();
+            return updated;
         }
         else {
             throw new EntityNotFoundException(Group.class, "id", object.getId().toString());
@@ -1,6 +1,8 @@
 package com.softserve.service.impl;
 
+import com.softserve.dto.LessonScheduleInfoDTO;
 import com.softserve.entity.Lesson;
+import com.softserve.entity.Period;
 import com.softserve.entity.Subject;
 import com.softserve.entity.Teacher;
 import com.softserve.entity.enums.LessonType;
@@ -8,14 +10,17 @@ import com.softserve.exception.EntityAlreadyExistsException;
 import com.softserve.exception.EntityNotFoundException;
 import com.softserve.repository.LessonRepository;
 import com.softserve.service.LessonService;
+import com.softserve.service.ScheduleOccupancyService;
 import com.softserve.service.SubjectService;
 import com.softserve.service.TeacherService;
+import com.softserve.service.ScheduleCacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 @Slf4j
@@ -26,12 +31,16 @@ public class LessonServiceImpl implements LessonService {
     private final LessonRepository lessonRepository;
     private final TeacherService teacherService;
     private final SubjectService subjectService;
+    private final ScheduleOccupancyService scheduleOccupancyService;
+    private final ScheduleCacheService scheduleCacheService;
 
     @Autowired
-    public LessonServiceImpl(LessonRepository lessonRepository, TeacherService teacherService, SubjectService subjectService) {
+    public LessonServiceImpl(LessonRepository lessonRepository, TeacherService teacherService, SubjectService subjectService, ScheduleOccupancyService scheduleOccupancyService, ScheduleCacheService scheduleCacheService) {
         this.lessonRepository = lessonRepository;
         this.teacherService = teacherService;
         this.subjectService = subjectService;
+        this.scheduleOccupancyService = scheduleOccupancyService;
+        this.scheduleCacheService = scheduleCacheService;
     }
 
     /**
@@ -99,7 +108,11 @@ public class LessonServiceImpl implements LessonService {
             throw new EntityAlreadyExistsException("Lesson with this parameters already exists");
         }
         else {
-            return lessonRepository.update(object);
+            Lesson lesson = lessonRepository.update(object);
+            //lesson may change its group or teacher, so slots of its schedules are loaded again
+            scheduleOccupancyService.invalidateAll();
+            scheduleCacheService.invalidateAll();
+            return lesson;
         }
     }
 
@@ -111,7 +124,11 @@ public class LessonServiceImpl implements LessonService {
     @Override
     public Lesson delete(Lesson object) {
         log.info("In delete(object = [{}])",  object);
-        return lessonRepository.delete(object);
+        Lesson lesson = lessonRepository.delete(object);
+        //schedules of the lesson are deleted by cascade, so their slots must not stay occupied
+        scheduleOccupancyService.invalidateAll();
+        scheduleCacheService.invalidateAll();
+        return lesson;
     }
 
     /**
@@ -125,6 +142,35 @@ public class LessonServiceImpl implements LessonService {
         return lessonRepository.getAllForGroup(groupId);
     }
 
+    /**
+     *  Method gets lessons with their groups and teachers by the list of ids from Repository
+     * @param ids Identity numbers of the lessons
+     * @return List of found lessons
+     */
+    @Override
+    public List<Lesson> getLessonsByIds(Collection<Long> ids) {
+        log.info("In getLessonsByIds(ids = [{}])",  ids);
+        return lessonRepository.getLessonsByIds(ids);
+    }
+
+    /**
+     *  Method gets lesson with its relations and name of the period by one query from Repository
+     * @param lessonId Identity number of the lesson
+     * @param classId Identity number of the period
+     * @return lesson with name of the period
+     * @throws EntityNotFoundException if lesson or period not found
+     */
+    @Override
+    public LessonScheduleInfoDTO getLessonScheduleInfo(Long lessonId, Long classId) {
+        log.info("In getLessonScheduleInfo(lessonId = [{}], classId = [{}])", lessonId, classId);
+        LessonScheduleInfoDTO lessonScheduleInfo = lessonRepository.getLessonScheduleInfo(lessonId, classId).orElseThrow(
+                () -> new EntityNotFoundException(Lesson.class, "id", lessonId.toString()));
+        if (lessonScheduleInfo.getClassName() == null) {
+            throw new EntityNotFoundException(Period.class, "id", classId.toString());
+        }
+        return lessonScheduleInfo;
+    }
+
     /**
      * Method creates a list from Lesson type enum
      * @return Lesson type enum in the List
@@ -6,6 +6,7 @@ import com.softserve.exception.IncorrectTimeException;
 import com.softserve.exception.PeriodConflictException;
 import com.softserve.repository.PeriodRepository;
 import com.softserve.service.PeriodService;
+import com.softserve.service.ScheduleCacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -20,10 +21,12 @@ import java.util.stream.Collectors;
 public class PeriodServiceImpl implements PeriodService {
 
     private final PeriodRepository periodRepository;
+    private final ScheduleCacheService scheduleCacheService;
 
     @Autowired
-    public PeriodServiceImpl(PeriodRepository periodRepository) {
+    public PeriodServiceImpl(PeriodRepository periodRepository, ScheduleCacheService scheduleCacheService) {
         this.periodRepository = periodRepository;
+        this.scheduleCacheService = scheduleCacheService;
     }
 
     /**
@@ -118,7 +121,9 @@ public class PeriodServiceImpl implements PeriodService {
                     periodRepository.findByName(object.getName()).get().getId() != object.getId()) {
                 throw new FieldAlreadyExistsException(Period.class, "name", object.getName());
             }
-            return periodRepository.update(object);
+            Period updated = periodRepository.update(object);
+            scheduleCacheService.invalidateAll();
+            return updated;
         } else {
             throw new PeriodConflictException("your period has conflict with already existed periods");
         }
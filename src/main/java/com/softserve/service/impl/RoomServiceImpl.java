@@ -6,6 +6,8 @@ import com.softserve.exception.EntityAlreadyExistsException;
 import com.softserve.exception.EntityNotFoundException;
 import com.softserve.repository.RoomRepository;
 import com.softserve.service.RoomService;
+import com.softserve.service.ScheduleOccupancyService;
+import com.softserve.service.ScheduleCacheService;
 import com.softserve.mapper.RoomForScheduleInfoMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.DayOfWeek;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Transactional
 @Service
@@ -23,11 +27,15 @@ public class RoomServiceImpl implements RoomService {
 
     private final RoomRepository roomRepository;
     private final RoomForScheduleInfoMapper roomForScheduleInfoMapper;
+    private final ScheduleOccupancyService scheduleOccupancyService;
+    private final ScheduleCacheService scheduleCacheService;
 
     @Autowired
-    public RoomServiceImpl(RoomRepository roomRepository, RoomForScheduleInfoMapper roomForScheduleInfoMapper) {
+    public RoomServiceImpl(RoomRepository roomRepository, RoomForScheduleInfoMapper roomForScheduleInfoMapper, ScheduleOccupancyService scheduleOccupancyService, ScheduleCacheService scheduleCacheService) {
         this.roomRepository = roomRepository;
         this.roomForScheduleInfoMapper = roomForScheduleInfoMapper;
+        this.scheduleOccupancyService = scheduleOccupancyService;
+        this.scheduleCacheService = scheduleCacheService;
     }
 
     /**
@@ -98,7 +106,9 @@ public class RoomServiceImpl implements RoomService {
             throw new EntityAlreadyExistsException("Room with this parameters already exists");
         }
         else {
-            return roomRepository.update(object);
+            Room updated = roomRepository.update(object);
+            scheduleCacheService.invalidateAll();
+            return updated;
         }
     }
 
@@ -129,24 +139,62 @@ public class RoomServiceImpl implements RoomService {
         return roomRepository.freeRoomBySpecificPeriod(idOfPeriod, dayOfWeek, evenOdd);
     }
 
+    /**
+     * The method used for getting list of rooms that are already used in schedule at some semester at some day (by even/odd week) for some period
+     *
+     * @param semesterId id of semester
+     * @param dayOfWeek  day of the week
+     * @param evenOdd    even/odd/weekly
+     * @param classId    id of period
+     * @return list of rooms
+     */
     @Override
     public List<Room> getNotAvailableRoomsForSchedule(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId) {
-        return roomRepository.getNotAvailableRoomsForSchedule(semesterId, dayOfWeek, evenOdd, classId);
+        log.info("Enter into getNotAvailableRoomsForSchedule with semesterId = {}, dayOfWeek = {}, evenOdd = {}, classId = {}", semesterId, dayOfWeek, evenOdd, classId);
+        return getRoomsByOccupancy(semesterId, dayOfWeek, evenOdd, classId).get(true);
     }
 
+    /**
+     * The method used for getting list of rooms that are free in schedule at some semester at some day (by even/odd week) for some period
+     *
+     * @param semesterId id of semester
+     * @param dayOfWeek  day of the week
+     * @param evenOdd    even/odd/weekly
+     * @param classId    id of period
+     * @return list of rooms
+     */
     @Override
     public List<Room> getAvailableRoomsForSchedule(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId) {
-        return roomRepository.getAvailableRoomsForSchedule(semesterId, dayOfWeek, evenOdd, classId);
+        log.info("Enter into getAvailableRoomsForSchedule with semesterId = {}, dayOfWeek = {}, evenOdd = {}, classId = {}", semesterId, dayOfWeek, evenOdd, classId);
+        return getRoomsByOccupancy(semesterId, dayOfWeek, evenOdd, classId).get(false);
     }
 
+    /**
+     * The method used for getting all rooms with availability for schedule at some semester at some day (by even/odd week) for some period.
+     * Free rooms go first
+     *
+     * @param semesterId id of semester
+     * @param dayOfWeek  day of the week
+     * @param evenOdd    even/odd/weekly
+     * @param classId    id of period
+     * @return list of rooms with availability
+     */
     @Override
     public List<RoomForScheduleInfoDTO> getAllRoomsForCreatingSchedule(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId) {
-        List<RoomForScheduleInfoDTO> rooms = roomForScheduleInfoMapper.toRoomForScheduleDTOList(getAvailableRoomsForSchedule(semesterId, dayOfWeek, evenOdd, classId));
+        log.info("Enter into getAllRoomsForCreatingSchedule with semesterId = {}, dayOfWeek = {}, evenOdd = {}, classId = {}", semesterId, dayOfWeek, evenOdd, classId);
+        Map<Boolean, List<Room>> roomsByOccupancy = getRoomsByOccupancy(semesterId, dayOfWeek, evenOdd, classId);
+        List<RoomForScheduleInfoDTO> rooms = roomForScheduleInfoMapper.toRoomForScheduleDTOList(roomsByOccupancy.get(false));
         rooms.forEach(roomForScheduleDTO -> roomForScheduleDTO.setAvailable(true));
-        rooms.addAll(roomForScheduleInfoMapper.toRoomForScheduleDTOList(getNotAvailableRoomsForSchedule(semesterId, dayOfWeek, evenOdd, classId)));
+        rooms.addAll(roomForScheduleInfoMapper.toRoomForScheduleDTOList(roomsByOccupancy.get(true)));
         return rooms;
     }
 
+    //splits enabled rooms into occupied (true) and free (false) ones by the schedule occupancy index
+    private Map<Boolean, List<Room>> getRoomsByOccupancy(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId) {
+        return roomRepository.getAll().stream()
+                .collect(Collectors.partitioningBy(room -> scheduleOccupancyService.isRoomOccupied(semesterId, dayOfWeek, evenOdd, classId, room.getId())));
+    }
+
     @Override
     public boolean isRoomExists(Room room) {
         return roomRepository.countRoomDuplicates(room) != 0;
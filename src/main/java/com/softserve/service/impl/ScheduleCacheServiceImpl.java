@@ -0,0 +1,166 @@
+package com.softserve.service.impl;
+
+import com.softserve.dto.ScheduleCacheStatisticsDTO;
+import com.softserve.service.ScheduleCacheService;
+import com.softserve.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of built schedule DTOs. Every semester has a schedule version that only grows,
+ * an entry is served while it was built for the current version of its semester.
+ * Versions start from the application start time, so they are not repeated after restart.
+ */
+@Service
+@Slf4j
+public class ScheduleCacheServiceImpl implements ScheduleCacheService {
+
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private volatile long initialVersion = versionSequence.get();
+    private final Map<Long, Long> modifiedTimes = new ConcurrentHashMap<>();
+    private volatile long initialModifiedTime = System.currentTimeMillis();
+
+    private final Map<Long, Map<String, CachedValue>> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rebuildTimeNanos = new LongAdder();
+    private final LongAccumulator maxRebuildTimeNanos = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Method gets current version of the schedule of the semester
+     *
+     * @param semesterId id of semester
+     * @return version that changes every time the schedule of the semester changes
+     */
+    @Override
+    public long getVersion(Long semesterId) {
+        return versions.getOrDefault(semesterId, initialVersion);
+    }
+
+    /**
+     * Method gets the latest version given to any semester, it changes every time any schedule changes
+     *
+     * @return latest schedule version
+     */
+    @Override
+    public long getLatestVersion() {
+        return versionSequence.get();
+    }
+
+    /**
+     * Method gets time when the schedule of the semester last changed. Changes made before the application
+     * started are not known, so the start time is used for them
+     *
+     * @param semesterId id of semester
+     * @return time of the last change in milliseconds since the epoch
+     */
+    @Override
+    public long getLastModified(Long semesterId) {
+        return modifiedTimes.getOrDefault(semesterId, initialModifiedTime);
+    }
+
+    /**
+     * Method gets built value for scope (e.g. group or teacher) of the semester from cache,
+     * or builds and puts it into cache if there is no value for current version of the semester
+     *
+     * @param semesterId id of semester
+     * @param scope      key of the value inside the semester
+     * @param builder    builds the value on cache miss
+     * @return cached or built value
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long semesterId, String scope, Supplier<T> builder) {
+        long version = getVersion(semesterId);
+        Map<String, CachedValue> semesterEntries = entries.computeIfAbsent(semesterId, id -> new ConcurrentHashMap<>());
+        CachedValue cachedValue = semesterEntries.get(scope);
+        if (cachedValue != null && cachedValue.version == version) {
+            hits.increment();
+            return (T) cachedValue.value;
+        }
+        misses.increment();
+        log.debug("Building {} of semester [{}] for version [{}]", scope, semesterId, version);
+        long start = System.nanoTime();
+        T value = builder.get();
+        long rebuildTime = System.nanoTime() - start;
+        rebuildTimeNanos.add(rebuildTime);
+        maxRebuildTimeNanos.accumulate(rebuildTime);
+        //value is stored with the version read before building, so it is not served if the schedule changed meanwhile
+        semesterEntries.put(scope, new CachedValue(version, value));
+        return value;
+    }
+
+    /**
+     * Method moves the semester to the new version and drops its cached values after current transaction commits
+     *
+     * @param semesterId id of semester
+     */
+    @Override
+    public void invalidate(Long semesterId) {
+        log.info("In invalidate(semesterId = [{}])", semesterId);
+        TransactionUtils.runAfterCommit(() -> {
+            synchronized (versions) {
+                versions.put(semesterId, versionSequence.incrementAndGet());
+                modifiedTimes.put(semesterId, System.currentTimeMillis());
+                entries.remove(semesterId);
+            }
+        });
+    }
+
+    /**
+     * Method moves all semesters to the new version and drops all cached values after current transaction commits.
+     * Used when data shown in every schedule (names of groups, teachers, rooms etc.) changes
+     */
+    @Override
+    public void invalidateAll() {
+        log.info("In invalidateAll()");
+        TransactionUtils.runAfterCommit(() -> {
+            synchronized (versions) {
+                initialVersion = versionSequence.incrementAndGet();
+                initialModifiedTime = System.currentTimeMillis();
+                versions.clear();
+                modifiedTimes.clear();
+                entries.clear();
+            }
+        });
+    }
+
+    /**
+     * Method gets hit/miss counters and rebuild time of the cache
+     *
+     * @return statistics of the cache
+     */
+    @Override
+    public ScheduleCacheStatisticsDTO getStatistics() {
+        ScheduleCacheStatisticsDTO statistics = new ScheduleCacheStatisticsDTO();
+        long missCount = misses.sum();
+        long totalRebuildTime = rebuildTimeNanos.sum();
+        statistics.setHits(hits.sum());
+        statistics.setMisses(missCount);
+        statistics.setEntries(entries.values().stream().mapToLong(Map::size).sum());
+        statistics.setTotalRebuildTimeMillis(TimeUnit.NANOSECONDS.toMillis(totalRebuildTime));
+        statistics.setAverageRebuildTimeMillis(missCount == 0 ? 0 : totalRebuildTime / 1_000_000.0 / missCount);
+        statistics.setMaxRebuildTimeMillis(TimeUnit.NANOSECONDS.toMillis(maxRebuildTimeNanos.get()));
+        return statistics;
+    }
+
+    private static class CachedValue {
+        private final long version;
+        private final Object value;
+
+        CachedValue(long version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.softserve.service.impl;
+
+import com.softserve.dto.GroupScheduleItemDTO;
+import com.softserve.entity.Group;
+import com.softserve.entity.Period;
+import com.softserve.entity.Schedule;
+import com.softserve.entity.Semester;
+import com.softserve.entity.Teacher;
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.LessonType;
+import com.softserve.repository.ScheduleRepository;
+import com.softserve.service.GroupService;
+import com.softserve.service.ScheduleCacheService;
+import com.softserve.service.ScheduleCalendarService;
+import com.softserve.service.SemesterService;
+import com.softserve.service.TeacherService;
+import com.softserve.util.IcsWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * iCalendar feeds of group and teacher schedules. Weekly schedule is expanded into dated events for every day
+ * from the start to the end day of the semester. Weeks are counted from the week that contains the start day
+ * of the semester: it is the first (odd) week, so ODD classes are held in weeks 1, 3, 5... and EVEN classes
+ * in weeks 2, 4, 6... Events are written while they are generated, the feed is never built as a whole.
+ */
+@Transactional(readOnly = true)
+@Service
+@Slf4j
+public class ScheduleCalendarServiceImpl implements ScheduleCalendarService {
+
+    private static final String UID_DOMAIN = "@class-schedule";
+
+    private final ScheduleRepository scheduleRepository;
+    private final SemesterService semesterService;
+    private final GroupService groupService;
+    private final TeacherService teacherService;
+    private final ScheduleCacheService scheduleCacheService;
+
+    @Autowired
+    public ScheduleCalendarServiceImpl(ScheduleRepository scheduleRepository, SemesterService semesterService,
+                                       GroupService groupService, TeacherService teacherService,
+                                       ScheduleCacheService scheduleCacheService) {
+        this.scheduleRepository = scheduleRepository;
+        this.semesterService = semesterService;
+        this.groupService = groupService;
+        this.teacherService = teacherService;
+        this.scheduleCacheService = scheduleCacheService;
+    }
+
+    /**
+     * Method writes iCalendar feed of the group schedule in the semester
+     *
+     * @param semesterId id of semester
+     * @param groupId    id of group
+     * @param writer     writer of the feed, it is flushed but not closed
+     * @throws IOException if writing fails
+     * @throws com.softserve.exception.EntityNotFoundException if semester or group doesn't exist
+     */
+    @Override
+    public void writeGroupCalendar(Long semesterId, Long groupId, Writer writer) throws IOException {
+        log.info("In writeGroupCalendar(semesterId = [{}], groupId = [{}])", semesterId, groupId);
+        Semester semester = semesterService.getById(semesterId);
+        Group group = groupService.getById(groupId);
+        Instant stamp = Instant.ofEpochMilli(scheduleCacheService.getLastModified(semesterId));
+        //items come ordered by period start time, so events of every day are written in time order
+        Map<DayOfWeek, List<GroupScheduleItemDTO>> itemsByDay = new EnumMap<>(DayOfWeek.class);
+        for (GroupScheduleItemDTO item : scheduleRepository.getScheduleItemsForGroupBySemester(semesterId, groupId)) {
+            itemsByDay.computeIfAbsent(item.getDayOfWeek(), day -> new ArrayList<>()).add(item);
+        }
+
+        IcsWriter icsWriter = new IcsWriter(writer);
+        icsWriter.beginCalendar(group.getTitle());
+        for (LocalDate date = semester.getStartDay(); !date.isAfter(semester.getEndDay()); date = date.plusDays(1)) {
+            EvenOdd week = getWeek(semester.getStartDay(), date);
+            for (GroupScheduleItemDTO item : itemsByDay.getOrDefault(date.getDayOfWeek(), Collections.emptyList())) {
+                if (isHeldInWeek(item.getEvenOdd(), week)) {
+                    Period period = item.getPeriod();
+                    icsWriter.writeEvent("group-" + groupId + "-" + period.getId() + "-" + date + UID_DOMAIN, stamp,
+                            date.atTime(period.getStartTime()), date.atTime(period.getEndTime()),
+                            getSummary(item.getSubjectForSite(), item.getLessonType()),
+                            item.getRoomName(), item.getTeacherForSite());
+                }
+            }
+        }
+        icsWriter.endCalendar();
+    }
+
+    /**
+     * Method writes iCalendar feed of the teacher schedule in the semester. Class held by the teacher
+     * for several groups at once is written as one event that names all of the groups
+     *
+     * @param semesterId id of semester
+     * @param teacherId  id of teacher
+     * @param writer     writer of the feed, it is flushed but not closed
+     * @throws IOException if writing fails
+     * @throws com.softserve.exception.EntityNotFoundException if semester or teacher doesn't exist
+     */
+    @Override
+    public void writeTeacherCalendar(Long semesterId, Long teacherId, Writer writer) throws IOException {
+        log.info("In writeTeacherCalendar(semesterId = [{}], teacherId = [{}])", semesterId, teacherId);
+        Semester semester = semesterService.getById(semesterId);
+        Teacher teacher = teacherService.getById(teacherId);
+        Instant stamp = Instant.ofEpochMilli(scheduleCacheService.getLastModified(semesterId));
+        Map<DayOfWeek, Map<String, TeacherClass>> classesByDay = new EnumMap<>(DayOfWeek.class);
+        for (Schedule schedule : scheduleRepository.getAllSchedulesByTeacherIdAndSemesterId(teacherId, semesterId)) {
+            String key = schedule.getEvenOdd() + "-" + schedule.getPeriod().getId() + "-" + schedule.getRoom().getId()
+                    + "-" + schedule.getLesson().getSubject().getId() + "-" + schedule.getLesson().getLessonType();
+            classesByDay.computeIfAbsent(schedule.getDayOfWeek(), day -> new LinkedHashMap<>())
+                    .computeIfAbsent(key, k -> new TeacherClass(schedule))
+                    .groups.add(schedule.getLesson().getGroup().getTitle());
+        }
+
+        IcsWriter icsWriter = new IcsWriter(writer);
+        icsWriter.beginCalendar(getTeacherName(teacher));
+        for (LocalDate date = semester.getStartDay(); !date.isAfter(semester.getEndDay()); date = date.plusDays(1)) {
+            EvenOdd week = getWeek(semester.getStartDay(), date);
+            Map<String, TeacherClass> classes = classesByDay.getOrDefault(date.getDayOfWeek(), Collections.emptyMap());
+            for (TeacherClass teacherClass : classes.values()) {
+                Schedule schedule = teacherClass.schedule;
+                if (isHeldInWeek(schedule.getEvenOdd(), week)) {
+                    Period period = schedule.getPeriod();
+                    icsWriter.writeEvent("teacher-" + teacherId + "-" + schedule.getId() + "-" + date + UID_DOMAIN, stamp,
+                            date.atTime(period.getStartTime()), date.atTime(period.getEndTime()),
+                            getSummary(schedule.getLesson().getSubjectForSite(), schedule.getLesson().getLessonType()),
+                            schedule.getRoom().getName(), String.join(", ", teacherClass.groups));
+                }
+            }
+        }
+        icsWriter.endCalendar();
+    }
+
+    //parity of the week of the date, the week that contains the start day of the semester is the first one
+    private static EvenOdd getWeek(LocalDate startDay, LocalDate date) {
+        LocalDate firstMonday = startDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate monday = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return ChronoUnit.WEEKS.between(firstMonday, monday) % 2 == 0 ? EvenOdd.ODD : EvenOdd.EVEN;
+    }
+
+    private static boolean isHeldInWeek(EvenOdd evenOdd, EvenOdd week) {
+        return evenOdd == EvenOdd.WEEKLY || evenOdd == week;
+    }
+
+    //teacher may have no patronymic, missing parts are skipped
+    private static String getTeacherName(Teacher teacher) {
+        return Stream.of(teacher.getSurname(), teacher.getName(), teacher.getPatronymic())
+                .filter(part -> part != null && !part.isEmpty())
+                .collect(Collectors.joining(" "));
+    }
+
+    private static String getSummary(String subject, LessonType lessonType) {
+        return lessonType == null ? subject : subject + " (" + lessonType.name().toLowerCase() + ")";
+    }
+
+    private static class TeacherClass {
+        private final Schedule schedule;
+        private final Set<String> groups = new TreeSet<>();
+
+        TeacherClass(Schedule schedule) {
+            this.schedule = schedule;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.softserve.service.impl;
+
+import com.itextpdf.text.DocumentException;
+import com.softserve.dto.ScheduleForGroupDTO;
+import com.softserve.dto.ScheduleForTeacherDTO;
+import com.softserve.dto.TeacherDTO;
+import com.softserve.service.ScheduleExportService;
+import com.softserve.util.PdfReportGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Export of many schedules as one zip of pdf files. Documents are rendered on a pool shared by all exports
+ * and every document is written into the zip as soon as it is rendered, in the order they finish.
+ * Each export keeps only a few rendered documents in memory at a time.
+ */
+@Service
+@Slf4j
+public class ScheduleExportServiceImpl implements ScheduleExportService {
+
+    private static final int RENDER_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int MAX_DOCUMENTS_IN_FLIGHT = RENDER_THREADS * 2;
+
+    private final ExecutorService renderExecutor = Executors.newFixedThreadPool(RENDER_THREADS);
+
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdownNow();
+    }
+
+    /**
+     * Method renders pdf of every group schedule in parallel and writes them into zip, the stream is not closed
+     *
+     * @param schedules    schedules of groups
+     * @param outputStream stream the zip is written to
+     * @throws IOException when any pdf can't be rendered or writing into the stream failed
+     */
+    @Override
+    public void writeGroupSchedulesZip(List<ScheduleForGroupDTO> schedules, OutputStream outputStream) throws IOException {
+        log.info("In writeGroupSchedulesZip(schedules size = [{}])", schedules.size());
+        writeZip(schedules.stream().map(schedule -> new PdfTask(schedule.getGroup().getTitle(),
+                pdf -> new PdfReportGenerator().groupScheduleReport(schedule, pdf))).collect(Collectors.toList()), outputStream);
+    }
+
+    /**
+     * Method renders pdf of every teacher schedule in parallel and writes them into zip, the stream is not closed
+     *
+     * @param schedules    schedules of teachers
+     * @param outputStream stream the zip is written to
+     * @throws IOException when any pdf can't be rendered or writing into the stream failed
+     */
+    @Override
+    public void writeTeacherSchedulesZip(List<ScheduleForTeacherDTO> schedules, OutputStream outputStream) throws IOException {
+        log.info("In writeTeacherSchedulesZip(schedules size = [{}])", schedules.size());
+        writeZip(schedules.stream().map(schedule -> new PdfTask(getTeacherName(schedule.getTeacher()),
+                pdf -> new PdfReportGenerator().teacherScheduleReport(schedule, pdf))).collect(Collectors.toList()), outputStream);
+    }
+
+    //keeps up to MAX_DOCUMENTS_IN_FLIGHT documents submitted, and writes each finished one before submitting the next
+    private void writeZip(List<PdfTask> tasks, OutputStream outputStream) throws IOException {
+        CompletionService<RenderedPdf> completionService = new ExecutorCompletionService<>(renderExecutor);
+        Set<Future<RenderedPdf>> pending = new HashSet<>();
+        Set<String> entryNames = new HashSet<>();
+        int submitted = 0;
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        try {
+            while (submitted < tasks.size() || !pending.isEmpty()) {
+                while (submitted < tasks.size() && pending.size() < MAX_DOCUMENTS_IN_FLIGHT) {
+                    PdfTask task = tasks.get(submitted++);
+                    pending.add(completionService.submit(task::render));
+                }
+                Future<RenderedPdf> finished = completionService.take();
+                pending.remove(finished);
+                RenderedPdf pdf = finished.get();
+                zip.putNextEntry(new ZipEntry(getEntryName(pdf.name, entryNames)));
+                pdf.content.writeTo(zip);
+                zip.closeEntry();
+            }
+            //zip is finished, but the stream belongs to the caller
+            zip.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export of schedules was interrupted", e);
+        } catch (ExecutionException e) {
+            log.error("Error in method writeZip {}", e.getCause().toString());
+            throw new IOException("Pdf of schedule can't be created", e.getCause());
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    //makes file name safe for archives and unique inside the archive
+    private static String getEntryName(String name, Set<String> entryNames) {
+        String baseName = name == null || name.trim().isEmpty() ? "schedule" : name.trim().replaceAll("[\\\\/:*?\"<>|\\s]+", "_");
+        String entryName = baseName + ".pdf";
+        for (int i = 2; !entryNames.add(entryName); i++) {
+            entryName = baseName + "_" + i + ".pdf";
+        }
+        return entryName;
+    }
+
+    private static String getTeacherName(TeacherDTO teacher) {
+        return Stream.of(teacher.getSurname(), teacher.getName(), teacher.getPatronymic())
+                .filter(part -> part != null && !part.isEmpty())
+                .collect(Collectors.joining(" "));
+    }
+
+    @FunctionalInterface
+    private interface PdfRenderer {
+        void write(OutputStream outputStream) throws DocumentException, IOException;
+    }
+
+    private static class PdfTask {
+        private final String name;
+        private final PdfRenderer writer;
+
+        PdfTask(String name, PdfRenderer writer) {
+            this.name = name;
+            this.writer = writer;
+        }
+
+        RenderedPdf render() throws DocumentException, IOException {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            writer.write(content);
+            return new RenderedPdf(name, content);
+        }
+    }
+
+    private static class RenderedPdf {
+        private final String name;
+        private final ByteArrayOutputStream content;
+
+        RenderedPdf(String name, ByteArrayOutputStream content) {
+            this.name = name;
+            this.content = content;
+        }
+    }
+}
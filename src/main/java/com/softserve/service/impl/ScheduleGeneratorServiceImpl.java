@@ -0,0 +1,822 @@
+package com.softserve.service.impl;
+
+import com.softserve.dto.ScheduleBulkResultDTO;
+import com.softserve.dto.ScheduleGenerationJobDTO;
+import com.softserve.dto.ScheduleGenerationRequestDTO;
+import com.softserve.dto.SchedulePlacementResultDTO;
+import com.softserve.dto.ScheduleRepairRequestDTO;
+import com.softserve.dto.ScheduleRepairResultDTO;
+import com.softserve.dto.ScheduleSaveDTO;
+import com.softserve.dto.ScheduleTimeDTO;
+import com.softserve.dto.SearchWorkerReportDTO;
+import com.softserve.entity.*;
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.LessonType;
+import com.softserve.entity.enums.ScheduleGenerationStatus;
+import com.softserve.exception.EntityNotFoundException;
+import com.softserve.exception.ScheduleGenerationException;
+import com.softserve.service.*;
+import com.softserve.util.ScheduleSolver;
+import com.softserve.util.TeacherWishMask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PreDestroy;
+import java.time.DayOfWeek;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Transactional
+@Service
+@Slf4j
+public class ScheduleGeneratorServiceImpl implements ScheduleGeneratorService {
+
+    private static final int DEFAULT_ITERATIONS = 2_000_000;
+    private static final int SEARCH_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final long FINISHED_JOB_TTL_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int ITERATIONS_PER_START = 200_000;
+    private static final long DEFAULT_TIME_LIMIT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long MAX_TIME_LIMIT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long DEFAULT_REPAIR_TIME_LIMIT_MILLIS = TimeUnit.SECONDS.toMillis(3);
+    //repair tries freed classes alone, then with classes of the same groups, teachers and rooms, then with their neighbours
+    private static final int MAX_REPAIR_LEVEL = 2;
+    //wishes never stop repair early, it keeps the placement with the least moves found within the time limit
+    private static final int NO_TARGET_WISH_VIOLATIONS = -1;
+
+    private final ScheduleService scheduleService;
+    private final SemesterService semesterService;
+    private final LessonService lessonService;
+    private final RoomService roomService;
+    private final TeacherWishesService teacherWishesService;
+
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    //jobs run one by one, every job uses all search threads for its independent searches
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService searchExecutor = Executors.newFixedThreadPool(SEARCH_THREADS);
+    private final ForkJoinPool placementPool = new ForkJoinPool(SEARCH_THREADS);
+
+    @Autowired
+    public ScheduleGeneratorServiceImpl(ScheduleService scheduleService, SemesterService semesterService, LessonService lessonService, RoomService roomService, TeacherWishesService teacherWishesService) {
+        this.scheduleService = scheduleService;
+        this.semesterService = semesterService;
+        this.lessonService = lessonService;
+        this.roomService = roomService;
+        this.teacherWishesService = teacherWishesService;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        searchExecutor.shutdownNow();
+        placementPool.shutdownNow();
+    }
+
+    /**
+     * Method reads lessons, rooms, teacher wishes and already saved schedules of the semester and starts
+     * background generation of weekly schedules for classes that are not placed yet.
+     * Every lesson needs as many weekly classes as its hours
+     *
+     * @param request semester, optional room type for every lesson type and optional number of search iterations
+     * @return started job
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ScheduleGenerationJobDTO startGeneration(ScheduleGenerationRequestDTO request) {
+        log.info("In startGeneration(request = [{}])", request);
+        Semester semester = semesterService.getById(request.getSemesterId());
+        GenerationProblem problem = buildProblem(semester, request.getRoomTypes());
+        int iterations = request.getIterations() != null ? request.getIterations() : DEFAULT_ITERATIONS;
+
+        //results of old jobs are dropped, so map of jobs doesn't grow forever
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(oldJob -> oldJob.status != ScheduleGenerationStatus.RUNNING && now - oldJob.finishedAt > FINISHED_JOB_TTL_MILLIS);
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), semester.getId(), (long) iterations * SEARCH_THREADS, problem.unplacedClasses);
+        jobs.put(job.id, job);
+        jobExecutor.submit(() -> runSearch(job, problem, iterations));
+        return job.toDTO(false);
+    }
+
+    /**
+     * Method gets the state of generation job, and generated schedules when it is finished
+     *
+     * @param jobId id of the job
+     * @return job
+     */
+    @Override
+    public ScheduleGenerationJobDTO getJob(String jobId) {
+        log.info("In getJob(jobId = [{}])", jobId);
+        return getGenerationJob(jobId).toDTO(true);
+    }
+
+    /**
+     * Method saves schedules of finished generation job, schedules that have conflicts are skipped
+     *
+     * @param jobId id of the job
+     * @return result for every generated schedule
+     */
+    @Override
+    public List<ScheduleBulkResultDTO> applyGeneration(String jobId) {
+        log.info("In applyGeneration(jobId = [{}])", jobId);
+        GenerationJob job = getGenerationJob(jobId);
+        if (job.status != ScheduleGenerationStatus.FINISHED) {
+            throw new ScheduleGenerationException("Generation " + jobId + " is not finished");
+        }
+        List<Schedule> schedules = job.schedules.stream().map(this::toSchedule).collect(Collectors.toList());
+        return scheduleService.saveAll(schedules);
+    }
+
+    /**
+     * Method searches places for classes of the semester that are not placed yet, while time limit is not over and
+     * placement without conflicts and with not more BAD wishes than target is not found.
+     * Searches run on all cores and share the best placement, so every search may continue from it.
+     * Nothing is saved, the result can be saved by bulk import
+     *
+     * @param request semester, optional room types for lesson types, iterations of one search, time limit and target BAD wishes
+     * @return the best placement found with report of every worker
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SchedulePlacementResultDTO placeRemaining(ScheduleGenerationRequestDTO request) {
+        log.info("In placeRemaining(request = [{}])", request);
+        long startedAt = System.currentTimeMillis();
+        //every reading service call has its own transaction, so no connection is held while the search runs
+        Semester semester = semesterService.getById(request.getSemesterId());
+        GenerationProblem problem = buildProblem(semester, request.getRoomTypes());
+        long timeLimit = Math.min(request.getTimeLimitMillis() != null ? request.getTimeLimitMillis() : DEFAULT_TIME_LIMIT_MILLIS, MAX_TIME_LIMIT_MILLIS);
+        PlacementSearch search = new PlacementSearch(problem.solver, null, startedAt + timeLimit,
+                request.getTargetWishViolations() != null ? request.getTargetWishViolations() : 0,
+                request.getIterations() != null ? request.getIterations() : ITERATIONS_PER_START, SEARCH_THREADS);
+        placementPool.invoke(search.new Workers(0, SEARCH_THREADS));
+
+        ScheduleSolver.Solution best = search.best.get();
+        SchedulePlacementResultDTO result = new SchedulePlacementResultDTO();
+        result.setSemesterId(semester.getId());
+        result.setUnplacedClasses(problem.unplacedClasses);
+        result.setHardConflicts(best.getHardConflicts());
+        result.setWishViolations(best.getWishViolations());
+        result.setSchedules(problem.toSchedules(best));
+        result.setWorkers(Arrays.asList(search.reports));
+        result.setElapsedMillis(System.currentTimeMillis() - startedAt);
+        return result;
+    }
+
+    /**
+     * Method frees saved classes of the teacher at the times when the teacher becomes unavailable and saved classes
+     * in disabled rooms or in the given room, and searches new places for them moving as few other classes as possible.
+     * Other classes of the same groups, teachers and rooms may move only if freed classes can't be placed without them.
+     * Nothing is saved, the changes can be applied by bulk update of schedules
+     *
+     * @param request semester, teacher with unavailable times (times of BAD wishes if they are not given), room to close,
+     *                optional room types for lesson types and time limit
+     * @return new places of moved schedules
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ScheduleRepairResultDTO repair(ScheduleRepairRequestDTO request) {
+        log.info("In repair(request = [{}])", request);
+        long startedAt = System.currentTimeMillis();
+        Semester semester = semesterService.getById(request.getSemesterId());
+        TimeSlots timeSlots = new TimeSlots(semester);
+        int slots = timeSlots.size();
+        List<SavedClass> savedClasses = new ArrayList<>();
+        scheduleService.scrollSchedules(semester.getId(), schedule -> {
+            Integer slot = timeSlots.getSlot(schedule.getDayOfWeek(), schedule.getPeriod().getId());
+            if (slot != null) {
+                savedClasses.add(new SavedClass(schedule, slot));
+            }
+        });
+
+        //disabled rooms keep their indexes, so classes can be moved out of them, but nothing can be moved in
+        List<Room> rooms = new ArrayList<>(roomService.getAll());
+        rooms.addAll(roomService.getDisabled());
+        Map<Long, Integer> roomIndexes = new HashMap<>();
+        rooms.forEach(room -> roomIndexes.put(room.getId(), roomIndexes.size()));
+        boolean[] closedRooms = new boolean[rooms.size()];
+        int[] closedRoomLoad = ScheduleSolver.newLoad(rooms.size() * slots);
+        for (int room = 0; room < rooms.size(); room++) {
+            closedRooms[room] = rooms.get(room).isDisable() || (request.getRoomId() != null && request.getRoomId() == rooms.get(room).getId());
+            for (int slot = 0; closedRooms[room] && slot < slots; slot++) {
+                ScheduleSolver.addLoad(closedRoomLoad, room * slots + slot, EvenOdd.WEEKLY);
+            }
+        }
+        Map<Long, Integer> groupIndexes = new HashMap<>();
+        Map<Long, Integer> teacherIndexes = new HashMap<>();
+        for (SavedClass savedClass : savedClasses) {
+            groupIndexes.putIfAbsent(savedClass.groupId, groupIndexes.size());
+            teacherIndexes.putIfAbsent(savedClass.teacherId, teacherIndexes.size());
+        }
+        boolean[] badWishes = getBadWishes(teacherIndexes, timeSlots);
+        boolean[] unavailableSlots = getUnavailableSlots(request, timeSlots, teacherIndexes, badWishes);
+        int[] unavailableTeacherLoad = ScheduleSolver.newLoad(teacherIndexes.size() * slots);
+        Set<Integer> freed = new LinkedHashSet<>();
+        for (int i = 0; i < savedClasses.size(); i++) {
+            SavedClass savedClass = savedClasses.get(i);
+            boolean teacherUnavailable = request.getTeacherId() != null && request.getTeacherId() == savedClass.teacherId && unavailableSlots[savedClass.slot];
+            if (teacherUnavailable || closedRooms[roomIndexes.get(savedClass.roomId)]) {
+                freed.add(i);
+            }
+        }
+        Integer teacher = request.getTeacherId() == null ? null : teacherIndexes.get(request.getTeacherId());
+        for (int slot = 0; teacher != null && slot < slots; slot++) {
+            if (unavailableSlots[slot]) {
+                ScheduleSolver.addLoad(unavailableTeacherLoad, teacher * slots + slot, EvenOdd.WEEKLY);
+            }
+        }
+
+        RepairProblem problem = new RepairProblem(semester.getId(), timeSlots, savedClasses, freed, rooms, roomIndexes, closedRooms,
+                closedRoomLoad, groupIndexes, teacherIndexes, unavailableTeacherLoad, badWishes, request.getRoomTypes());
+        long deadline = startedAt + Math.min(request.getTimeLimitMillis() != null ? request.getTimeLimitMillis() : DEFAULT_REPAIR_TIME_LIMIT_MILLIS, MAX_TIME_LIMIT_MILLIS);
+        List<Integer> neighbourhood = new ArrayList<>(freed);
+        ScheduleSolver.Solution best = null;
+        for (int level = 0; !neighbourhood.isEmpty(); level++) {
+            //every level gets its part of the time that is left, so wider neighbourhoods still have time to run
+            long now = System.currentTimeMillis();
+            long levelDeadline = now + Math.max(deadline - now, 0) / (MAX_REPAIR_LEVEL + 1 - level);
+            ScheduleSolver solver = problem.buildSolver(neighbourhood);
+            PlacementSearch search = new PlacementSearch(solver, problem.getCurrentPlacement(solver, neighbourhood), levelDeadline,
+                    NO_TARGET_WISH_VIOLATIONS, ITERATIONS_PER_START, SEARCH_THREADS);
+            placementPool.invoke(search.new Workers(0, SEARCH_THREADS));
+            best = search.best.get();
+            log.info("Repair of semester {} on level {} with {} classes has {} conflicts", semester.getId(), level, neighbourhood.size(), best.getHardConflicts());
+            List<Integer> wider = problem.widen(neighbourhood);
+            if (best.getHardConflicts() == 0 || level == MAX_REPAIR_LEVEL || wider.size() == neighbourhood.size()) {
+                break;
+            }
+            neighbourhood = wider;
+        }
+
+        ScheduleRepairResultDTO result = new ScheduleRepairResultDTO();
+        result.setSemesterId(semester.getId());
+        result.setFreedClasses(freed.size());
+        result.setNeighbourhoodSize(neighbourhood.size());
+        result.setHardConflicts(best == null ? 0 : best.getHardConflicts());
+        result.setWishViolations(best == null ? 0 : best.getWishViolations());
+        result.setChanges(best == null ? Collections.emptyList() : problem.getChanges(neighbourhood, best));
+        result.setElapsedMillis(System.currentTimeMillis() - startedAt);
+        return result;
+    }
+
+    //gets slots when the teacher of the request can't have classes, they are given or they are the teacher's BAD wishes
+    private boolean[] getUnavailableSlots(ScheduleRepairRequestDTO request, TimeSlots timeSlots, Map<Long, Integer> teacherIndexes, boolean[] badWishes) {
+        boolean[] unavailableSlots = new boolean[timeSlots.size()];
+        Integer teacher = request.getTeacherId() == null ? null : teacherIndexes.get(request.getTeacherId());
+        if (teacher == null) {
+            return unavailableSlots;
+        }
+        if (request.getUnavailableTimes() == null || request.getUnavailableTimes().isEmpty()) {
+            System.arraycopy(badWishes, teacher * timeSlots.size(), unavailableSlots, 0, timeSlots.size());
+            return unavailableSlots;
+        }
+        for (ScheduleTimeDTO time : request.getUnavailableTimes()) {
+            Integer slot = timeSlots.getSlot(time.getDayOfWeek(), time.getPeriodId());
+            if (slot == null) {
+                throw new ScheduleGenerationException("Semester has no " + time.getDayOfWeek() + " or period with id " + time.getPeriodId());
+            }
+            unavailableSlots[slot] = true;
+        }
+        return unavailableSlots;
+    }
+
+    private GenerationJob getGenerationJob(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException(ScheduleGenerationJobDTO.class, "id", jobId);
+        }
+        return job;
+    }
+
+    //runs independent searches with different seeds on all search threads and keeps the best result
+    private void runSearch(GenerationJob job, GenerationProblem problem, int iterations) {
+        try {
+            List<Future<ScheduleSolver.Solution>> searches = new ArrayList<>();
+            for (int i = 0; i < SEARCH_THREADS; i++) {
+                long seed = job.id.hashCode() * 31L + i;
+                searches.add(searchExecutor.submit(() -> problem.solver.solve(seed, iterations, job.doneIterations::add)));
+            }
+            ScheduleSolver.Solution best = null;
+            for (Future<ScheduleSolver.Solution> search : searches) {
+                ScheduleSolver.Solution solution = search.get();
+                if (best == null || solution.getCost() < best.getCost()) {
+                    best = solution;
+                }
+            }
+            job.finish(best, problem.toSchedules(best));
+            log.info("Generation {} finished with {} conflicts and {} wish violations", job.id, best.getHardConflicts(), best.getWishViolations());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Generation was interrupted");
+        } catch (Exception e) {
+            log.error("Generation {} failed", job.id, e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    //converts entities to indexes of the solver, saved schedules of the semester become fixed loads
+    private GenerationProblem buildProblem(Semester semester, Map<LessonType, Long> roomTypes) {
+        TimeSlots timeSlots = new TimeSlots(semester);
+        int slots = timeSlots.size();
+
+        //saved schedules are read first, because scrolling clears the session
+        List<SavedSlot> savedSlots = new ArrayList<>();
+        //hours of lesson are weekly classes, even or odd class is half of weekly one, so placed classes are counted in halves
+        Map<Long, Integer> placedHalves = new HashMap<>();
+        scheduleService.scrollSchedules(semester.getId(), schedule -> {
+            placedHalves.merge(schedule.getLesson().getId(), schedule.getEvenOdd() == EvenOdd.WEEKLY ? 2 : 1, Integer::sum);
+            Integer slot = timeSlots.getSlot(schedule.getDayOfWeek(), schedule.getPeriod().getId());
+            if (slot != null) {
+                savedSlots.add(new SavedSlot(slot, schedule.getLesson().getGroup().getId(), schedule.getLesson().getTeacher().getId(),
+                        schedule.getRoom().getId(), schedule.getEvenOdd()));
+            }
+        });
+
+        List<Room> rooms = roomService.getAll().stream().filter(room -> !room.isDisable()).collect(Collectors.toList());
+        Map<Long, Integer> roomIndexes = new HashMap<>();
+        rooms.forEach(room -> roomIndexes.put(room.getId(), roomIndexes.size()));
+        Map<Long, Integer> groupIndexes = new HashMap<>();
+        Map<Long, Integer> teacherIndexes = new HashMap<>();
+
+        List<Lesson> lessons = new ArrayList<>();
+        int unplacedClasses = 0;
+        for (Lesson lesson : lessonService.getAll()) {
+            //classes are generated as weekly, so half of the week that is left without its pair is not generated
+            int classes = (lesson.getHours() * 2 - placedHalves.getOrDefault(lesson.getId(), 0)) / 2;
+            int[] lessonRooms = getRoomsForLesson(lesson.getLessonType(), rooms, roomTypes);
+            if (lessonRooms.length == 0) {
+                unplacedClasses += Math.max(classes, 0);
+                continue;
+            }
+            for (int i = 0; i < classes; i++) {
+                lessons.add(lesson);
+                groupIndexes.putIfAbsent(lesson.getGroup().getId(), groupIndexes.size());
+                teacherIndexes.putIfAbsent(lesson.getTeacher().getId(), teacherIndexes.size());
+            }
+        }
+        savedSlots.forEach(slot -> {
+            groupIndexes.putIfAbsent(slot.groupId, groupIndexes.size());
+            teacherIndexes.putIfAbsent(slot.teacherId, teacherIndexes.size());
+        });
+
+        int items = lessons.size();
+        int[] itemGroups = new int[items];
+        int[] itemTeachers = new int[items];
+        int[][] itemRooms = new int[items][];
+        Map<Lesson, int[]> roomsByLesson = new IdentityHashMap<>();
+        for (int i = 0; i < items; i++) {
+            Lesson lesson = lessons.get(i);
+            itemGroups[i] = groupIndexes.get(lesson.getGroup().getId());
+            itemTeachers[i] = teacherIndexes.get(lesson.getTeacher().getId());
+            itemRooms[i] = roomsByLesson.computeIfAbsent(lesson, key -> getRoomsForLesson(key.getLessonType(), rooms, roomTypes));
+        }
+
+        int[] fixedGroupLoad = ScheduleSolver.newLoad(groupIndexes.size() * slots);
+        int[] fixedTeacherLoad = ScheduleSolver.newLoad(teacherIndexes.size() * slots);
+        int[] fixedRoomLoad = ScheduleSolver.newLoad(rooms.size() * slots);
+        for (SavedSlot slot : savedSlots) {
+            ScheduleSolver.addLoad(fixedGroupLoad, groupIndexes.get(slot.groupId) * slots + slot.slot, slot.evenOdd);
+            ScheduleSolver.addLoad(fixedTeacherLoad, teacherIndexes.get(slot.teacherId) * slots + slot.slot, slot.evenOdd);
+            Integer room = roomIndexes.get(slot.roomId);
+            if (room != null) {
+                ScheduleSolver.addLoad(fixedRoomLoad, room * slots + slot.slot, slot.evenOdd);
+            }
+        }
+
+        ScheduleSolver solver = new ScheduleSolver(slots, itemGroups, itemTeachers, itemRooms,
+                fixedGroupLoad, fixedTeacherLoad, fixedRoomLoad, getBadWishes(teacherIndexes, timeSlots));
+        return new GenerationProblem(solver, semester.getId(), timeSlots, rooms, lessons, unplacedClasses);
+    }
+
+    //marks slots that teachers marked as BAD, indexed by teacher * slots + slot
+    private boolean[] getBadWishes(Map<Long, Integer> teacherIndexes, TimeSlots timeSlots) {
+        int slots = timeSlots.size();
+        boolean[] badWishes = new boolean[teacherIndexes.size() * slots];
+        if (teacherIndexes.isEmpty()) {
+            return badWishes;
+        }
+        for (Map.Entry<Long, TeacherWishMask> wishMask : teacherWishesService.getWishMasks(teacherIndexes.keySet()).entrySet()) {
+            int teacher = teacherIndexes.get(wishMask.getKey());
+            //classes are placed as weekly, so only BAD wishes for the whole week apply to them
+            for (int slot = 0; slot < slots; slot++) {
+                badWishes[teacher * slots + slot] = wishMask.getValue().isBad(timeSlots.getDay(slot), EvenOdd.WEEKLY,
+                        timeSlots.getPeriod(slot).getId());
+            }
+        }
+        return badWishes;
+    }
+
+    //gets indexes of rooms with the type that is chosen for the lesson type, or of all rooms when there is no such choice
+    private static int[] getRoomsForLesson(LessonType lessonType, List<Room> rooms, Map<LessonType, Long> roomTypes) {
+        Long roomTypeId = roomTypes == null ? null : roomTypes.get(lessonType);
+        return IntStream.range(0, rooms.size())
+                .filter(i -> roomTypeId == null || (rooms.get(i).getType() != null && roomTypeId.equals(rooms.get(i).getType().getId())))
+                .toArray();
+    }
+
+    private Schedule toSchedule(ScheduleSaveDTO scheduleSaveDTO) {
+        Schedule schedule = new Schedule();
+        Semester semester = new Semester();
+        semester.setId(scheduleSaveDTO.getSemesterId());
+        Period period = new Period();
+        period.setId(scheduleSaveDTO.getPeriodId());
+        Room room = new Room();
+        room.setId(scheduleSaveDTO.getRoomId());
+        Lesson lesson = new Lesson();
+        lesson.setId(scheduleSaveDTO.getLessonId());
+        schedule.setSemester(semester);
+        schedule.setPeriod(period);
+        schedule.setRoom(room);
+        schedule.setLesson(lesson);
+        schedule.setDayOfWeek(scheduleSaveDTO.getDayOfWeek());
+        schedule.setEvenOdd(scheduleSaveDTO.getEvenOdd());
+        return schedule;
+    }
+
+    //days and periods of the semester, slot of the day and period is day index * periods + period index
+    private static class TimeSlots {
+        private final List<DayOfWeek> days;
+        private final List<Period> periods;
+        private final Map<DayOfWeek, Integer> dayIndexes = new EnumMap<>(DayOfWeek.class);
+        private final Map<Long, Integer> periodIndexes = new HashMap<>();
+
+        private TimeSlots(Semester semester) {
+            this.days = semester.getDaysOfWeek().stream().sorted().collect(Collectors.toList());
+            this.periods = semester.getPeriods().stream().sorted(Comparator.comparing(Period::getStartTime)).collect(Collectors.toList());
+            if (days.isEmpty() || periods.isEmpty()) {
+                throw new ScheduleGenerationException("Semester has no days or periods to place classes to");
+            }
+            days.forEach(day -> dayIndexes.put(day, dayIndexes.size()));
+            periods.forEach(period -> periodIndexes.put(period.getId(), periodIndexes.size()));
+        }
+
+        private int size() {
+            return days.size() * periods.size();
+        }
+
+        //gets slot of the day and period, or null if the semester has no such day or period
+        private Integer getSlot(DayOfWeek day, Long periodId) {
+            Integer dayIndex = dayIndexes.get(day);
+            Integer periodIndex = periodIndexes.get(periodId);
+            return dayIndex == null || periodIndex == null ? null : dayIndex * periods.size() + periodIndex;
+        }
+
+        private DayOfWeek getDay(int slot) {
+            return days.get(slot / periods.size());
+        }
+
+        private Period getPeriod(int slot) {
+            return periods.get(slot % periods.size());
+        }
+    }
+
+    private static class GenerationProblem {
+        private final ScheduleSolver solver;
+        private final Long semesterId;
+        private final TimeSlots timeSlots;
+        private final List<Room> rooms;
+        private final List<Lesson> lessons;
+        private final int unplacedClasses;
+
+        private GenerationProblem(ScheduleSolver solver, Long semesterId, TimeSlots timeSlots,
+                                  List<Room> rooms, List<Lesson> lessons, int unplacedClasses) {
+            this.solver = solver;
+            this.semesterId = semesterId;
+            this.timeSlots = timeSlots;
+            this.rooms = rooms;
+            this.lessons = lessons;
+            this.unplacedClasses = unplacedClasses;
+        }
+
+        //converts indexes of the solution back to schedules
+        private List<ScheduleSaveDTO> toSchedules(ScheduleSolver.Solution solution) {
+            List<ScheduleSaveDTO> schedules = new ArrayList<>();
+            for (int item = 0; item < lessons.size(); item++) {
+                int slot = solution.getSlot(item);
+                ScheduleSaveDTO schedule = new ScheduleSaveDTO();
+                schedule.setSemesterId(semesterId);
+                schedule.setDayOfWeek(timeSlots.getDay(slot));
+                schedule.setPeriodId(timeSlots.getPeriod(slot).getId());
+                schedule.setEvenOdd(EvenOdd.WEEKLY);
+                schedule.setLessonId(lessons.get(item).getId());
+                schedule.setRoomId(rooms.get(solution.getRoom(item)).getId());
+                schedules.add(schedule);
+            }
+            return schedules;
+        }
+    }
+
+    //saved schedule reduced to its load for generation, entities are not kept because scrolling clears the session
+    private static class SavedSlot {
+        private final int slot;
+        private final long groupId;
+        private final long teacherId;
+        private final long roomId;
+        private final EvenOdd evenOdd;
+
+        private SavedSlot(int slot, long groupId, long teacherId, long roomId, EvenOdd evenOdd) {
+            this.slot = slot;
+            this.groupId = groupId;
+            this.teacherId = teacherId;
+            this.roomId = roomId;
+            this.evenOdd = evenOdd;
+        }
+    }
+
+    //saved schedule reduced to what repair needs, entities are not kept because scrolling clears the session
+    private static class SavedClass {
+        private final long scheduleId;
+        private final long lessonId;
+        private final LessonType lessonType;
+        private final long groupId;
+        private final long teacherId;
+        private final long roomId;
+        private final EvenOdd evenOdd;
+        private final int slot;
+
+        private SavedClass(Schedule schedule, int slot) {
+            this.scheduleId = schedule.getId();
+            this.lessonId = schedule.getLesson().getId();
+            this.lessonType = schedule.getLesson().getLessonType();
+            this.groupId = schedule.getLesson().getGroup().getId();
+            this.teacherId = schedule.getLesson().getTeacher().getId();
+            this.roomId = schedule.getRoom().getId();
+            this.evenOdd = schedule.getEvenOdd();
+            this.slot = slot;
+        }
+    }
+
+    //saved classes of the semester with loads that repair can't change: times when the teacher is unavailable and closed rooms
+    private static class RepairProblem {
+        private final Long semesterId;
+        private final TimeSlots timeSlots;
+        private final List<SavedClass> savedClasses;
+        private final Set<Integer> freed;
+        private final List<Room> rooms;
+        private final Map<Long, Integer> roomIndexes;
+        private final boolean[] closedRooms;
+        private final int[] closedRoomLoad;
+        private final Map<Long, Integer> groupIndexes;
+        private final Map<Long, Integer> teacherIndexes;
+        private final int[] unavailableTeacherLoad;
+        private final boolean[] badWishes;
+        private final Map<LessonType, Long> roomTypes;
+
+        private RepairProblem(Long semesterId, TimeSlots timeSlots, List<SavedClass> savedClasses, Set<Integer> freed, List<Room> rooms,
+                              Map<Long, Integer> roomIndexes, boolean[] closedRooms, int[] closedRoomLoad, Map<Long, Integer> groupIndexes,
+                              Map<Long, Integer> teacherIndexes, int[] unavailableTeacherLoad, boolean[] badWishes, Map<LessonType, Long> roomTypes) {
+            this.semesterId = semesterId;
+            this.timeSlots = timeSlots;
+            this.savedClasses = savedClasses;
+            this.freed = freed;
+            this.rooms = rooms;
+            this.roomIndexes = roomIndexes;
+            this.closedRooms = closedRooms;
+            this.closedRoomLoad = closedRoomLoad;
+            this.groupIndexes = groupIndexes;
+            this.teacherIndexes = teacherIndexes;
+            this.unavailableTeacherLoad = unavailableTeacherLoad;
+            this.badWishes = badWishes;
+            this.roomTypes = roomTypes;
+        }
+
+        //classes of the neighbourhood become items, all other saved classes stay as fixed loads
+        private ScheduleSolver buildSolver(List<Integer> neighbourhood) {
+            int slots = timeSlots.size();
+            int[] fixedGroupLoad = ScheduleSolver.newLoad(groupIndexes.size() * slots);
+            int[] fixedTeacherLoad = unavailableTeacherLoad.clone();
+            int[] fixedRoomLoad = closedRoomLoad.clone();
+            Set<Integer> moving = new HashSet<>(neighbourhood);
+            for (int i = 0; i < savedClasses.size(); i++) {
+                if (!moving.contains(i)) {
+                    SavedClass savedClass = savedClasses.get(i);
+                    ScheduleSolver.addLoad(fixedGroupLoad, groupIndexes.get(savedClass.groupId) * slots + savedClass.slot, savedClass.evenOdd);
+                    ScheduleSolver.addLoad(fixedTeacherLoad, teacherIndexes.get(savedClass.teacherId) * slots + savedClass.slot, savedClass.evenOdd);
+                    ScheduleSolver.addLoad(fixedRoomLoad, roomIndexes.get(savedClass.roomId) * slots + savedClass.slot, savedClass.evenOdd);
+                }
+            }
+
+            int items = neighbourhood.size();
+            int[] itemGroups = new int[items];
+            int[] itemTeachers = new int[items];
+            int[][] itemRooms = new int[items][];
+            int[] preferredSlots = new int[items];
+            int[] preferredRooms = new int[items];
+            EvenOdd[] itemEvenOdd = new EvenOdd[items];
+            for (int item = 0; item < items; item++) {
+                SavedClass savedClass = savedClasses.get(neighbourhood.get(item));
+                itemEvenOdd[item] = savedClass.evenOdd;
+                itemGroups[item] = groupIndexes.get(savedClass.groupId);
+                itemTeachers[item] = teacherIndexes.get(savedClass.teacherId);
+                itemRooms[item] = Arrays.stream(getRoomsForLesson(savedClass.lessonType, rooms, roomTypes)).filter(room -> !closedRooms[room]).toArray();
+                if (itemRooms[item].length == 0) {
+                    throw new ScheduleGenerationException("There is no open room for lesson with id " + savedClass.lessonId);
+                }
+                //freed classes can't stay where they are, so moving them costs nothing
+                preferredSlots[item] = freed.contains(neighbourhood.get(item)) ? -1 : savedClass.slot;
+                preferredRooms[item] = roomIndexes.get(savedClass.roomId);
+            }
+            return new ScheduleSolver(slots, itemGroups, itemTeachers, itemRooms, fixedGroupLoad, fixedTeacherLoad, fixedRoomLoad,
+                    badWishes, preferredSlots, preferredRooms, itemEvenOdd);
+        }
+
+        //current places of classes of the neighbourhood, search starts from them
+        private ScheduleSolver.Solution getCurrentPlacement(ScheduleSolver solver, List<Integer> neighbourhood) {
+            int[] itemSlots = new int[neighbourhood.size()];
+            int[] itemRooms = new int[neighbourhood.size()];
+            for (int item = 0; item < neighbourhood.size(); item++) {
+                SavedClass savedClass = savedClasses.get(neighbourhood.get(item));
+                itemSlots[item] = savedClass.slot;
+                itemRooms[item] = roomIndexes.get(savedClass.roomId);
+            }
+            return solver.evaluate(itemSlots, itemRooms);
+        }
+
+        //adds saved classes that share group, teacher or room with classes of the neighbourhood
+        private List<Integer> widen(List<Integer> neighbourhood) {
+            Set<Long> groupIds = new HashSet<>();
+            Set<Long> teacherIds = new HashSet<>();
+            Set<Long> roomIds = new HashSet<>();
+            for (Integer index : neighbourhood) {
+                SavedClass savedClass = savedClasses.get(index);
+                groupIds.add(savedClass.groupId);
+                teacherIds.add(savedClass.teacherId);
+                roomIds.add(savedClass.roomId);
+            }
+            Set<Integer> contained = new HashSet<>(neighbourhood);
+            List<Integer> wider = new ArrayList<>(neighbourhood);
+            for (int i = 0; i < savedClasses.size(); i++) {
+                SavedClass savedClass = savedClasses.get(i);
+                if (!contained.contains(i) && (groupIds.contains(savedClass.groupId)
+                        || teacherIds.contains(savedClass.teacherId) || roomIds.contains(savedClass.roomId))) {
+                    wider.add(i);
+                }
+            }
+            return wider;
+        }
+
+        //gets new places of the schedules that the solution moves, with their ids and halves of the week
+        private List<ScheduleSaveDTO> getChanges(List<Integer> neighbourhood, ScheduleSolver.Solution solution) {
+            List<ScheduleSaveDTO> changes = new ArrayList<>();
+            for (int item = 0; item < neighbourhood.size(); item++) {
+                SavedClass savedClass = savedClasses.get(neighbourhood.get(item));
+                int slot = solution.getSlot(item);
+                Room room = rooms.get(solution.getRoom(item));
+                if (slot == savedClass.slot && room.getId() == savedClass.roomId) {
+                    continue;
+                }
+                ScheduleSaveDTO schedule = new ScheduleSaveDTO();
+                schedule.setId(savedClass.scheduleId);
+                schedule.setSemesterId(semesterId);
+                schedule.setDayOfWeek(timeSlots.getDay(slot));
+                schedule.setPeriodId(timeSlots.getPeriod(slot).getId());
+                schedule.setEvenOdd(savedClass.evenOdd);
+                schedule.setLessonId(savedClass.lessonId);
+                schedule.setRoomId(room.getId());
+                changes.add(schedule);
+            }
+            return changes;
+        }
+    }
+
+    //multi-start search where workers share the best placement through lock-free holder
+    private static class PlacementSearch {
+        private final ScheduleSolver solver;
+        private final ScheduleSolver.Solution initial;
+        private final long deadline;
+        private final int targetWishViolations;
+        private final int iterations;
+        private final AtomicReference<ScheduleSolver.Solution> best = new AtomicReference<>();
+        private final SearchWorkerReportDTO[] reports;
+
+        private PlacementSearch(ScheduleSolver solver, ScheduleSolver.Solution initial, long deadline, int targetWishViolations,
+                                int iterations, int workers) {
+            this.solver = solver;
+            this.initial = initial;
+            this.deadline = deadline;
+            this.targetWishViolations = targetWishViolations;
+            this.iterations = iterations;
+            this.reports = new SearchWorkerReportDTO[workers];
+        }
+
+        private boolean isDone() {
+            ScheduleSolver.Solution solution = best.get();
+            return System.currentTimeMillis() >= deadline || (solution != null && solution.getHardConflicts() == 0
+                    && solution.getWishViolations() <= targetWishViolations);
+        }
+
+        //replaces the shared placement only by better one, compare-and-set is repeated if another worker changed it meanwhile
+        private void offer(ScheduleSolver.Solution solution) {
+            ScheduleSolver.Solution current = best.get();
+            while ((current == null || solution.getCost() < current.getCost()) && !best.compareAndSet(current, solution)) {
+                current = best.get();
+            }
+        }
+
+        private void runWorker(int worker) {
+            long begin = System.currentTimeMillis();
+            LongAdder done = new LongAdder();
+            ScheduleSolver.Solution workerBest = null;
+            int starts = 0;
+            do {
+                //even starts explore from the initial placement or new greedy one, odd ones continue from the shared best one
+                ScheduleSolver.Solution start = starts % 2 == 1 ? best.get() : initial;
+                ScheduleSolver.Solution solution = solver.solve((worker + 1) * 1_000_003L + starts, iterations, start, done::add, this::isDone);
+                starts++;
+                offer(solution);
+                if (workerBest == null || solution.getCost() < workerBest.getCost()) {
+                    workerBest = solution;
+                }
+            } while (!isDone());
+
+            SearchWorkerReportDTO report = new SearchWorkerReportDTO();
+            report.setWorker(worker);
+            report.setThread(Thread.currentThread().getName());
+            report.setStarts(starts);
+            report.setIterations(done.sum());
+            report.setBusyMillis(System.currentTimeMillis() - begin);
+            report.setBestCost(workerBest.getCost());
+            report.setHardConflicts(workerBest.getHardConflicts());
+            report.setWishViolations(workerBest.getWishViolations());
+            reports[worker] = report;
+        }
+
+        //splits workers in halves until every task runs one worker
+        private class Workers extends RecursiveAction {
+            private final int from;
+            private final int to;
+
+            private Workers(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from == 1) {
+                    runWorker(from);
+                } else {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new Workers(from, middle), new Workers(middle, to));
+                }
+            }
+        }
+    }
+
+    private static class GenerationJob {
+        private final String id;
+        private final Long semesterId;
+        private final long totalIterations;
+        private final int unplacedClasses;
+        private final LongAdder doneIterations = new LongAdder();
+        private volatile ScheduleGenerationStatus status = ScheduleGenerationStatus.RUNNING;
+        private volatile Integer hardConflicts;
+        private volatile Integer wishViolations;
+        private volatile String message;
+        private volatile List<ScheduleSaveDTO> schedules = Collections.emptyList();
+        private volatile long finishedAt;
+
+        private GenerationJob(String id, Long semesterId, long totalIterations, int unplacedClasses) {
+            this.id = id;
+            this.semesterId = semesterId;
+            this.totalIterations = totalIterations;
+            this.unplacedClasses = unplacedClasses;
+        }
+
+        private void finish(ScheduleSolver.Solution solution, List<ScheduleSaveDTO> schedules) {
+            this.hardConflicts = solution.getHardConflicts();
+            this.wishViolations = solution.getWishViolations();
+            this.schedules = schedules;
+            this.finishedAt = System.currentTimeMillis();
+            this.status = ScheduleGenerationStatus.FINISHED;
+        }
+
+        private void fail(String message) {
+            this.message = message;
+            this.finishedAt = System.currentTimeMillis();
+            this.status = ScheduleGenerationStatus.FAILED;
+        }
+
+        private ScheduleGenerationJobDTO toDTO(boolean withSchedules) {
+            ScheduleGenerationJobDTO jobDTO = new ScheduleGenerationJobDTO();
+            jobDTO.setId(id);
+            jobDTO.setSemesterId(semesterId);
+            jobDTO.setStatus(status);
+            //search stops early when it finds placement without any conflicts and BAD wishes
+            jobDTO.setProgress(status == ScheduleGenerationStatus.RUNNING
+                    ? (int) Math.min(99, doneIterations.sum() * 100 / Math.max(totalIterations, 1)) : 100);
+            jobDTO.setUnplacedClasses(unplacedClasses);
+            jobDTO.setHardConflicts(hardConflicts);
+            jobDTO.setWishViolations(wishViolations);
+            jobDTO.setMessage(message);
+            if (withSchedules) {
+                jobDTO.setSchedules(schedules);
+            }
+            return jobDTO;
+        }
+    }
+}
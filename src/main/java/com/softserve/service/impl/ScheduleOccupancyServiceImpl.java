@@ -0,0 +1,347 @@
+package com.softserve.service.impl;
+
+import com.softserve.dto.OccupancyGridDTO;
+import com.softserve.dto.ScheduleSlotDTO;
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.repository.ScheduleRepository;
+import com.softserve.service.ScheduleOccupancyService;
+import com.softserve.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory index of occupied schedule slots. For every semester it keeps one bitset per group, teacher and room,
+ * where each (day, period) pair owns two bits: one for the even and one for the odd half of the week.
+ * The index of a semester is loaded by one query on first use and changed only after the schedule transaction commits.
+ * The index is local to one JVM: it sees only changes made through this instance, so when the application runs
+ * as several instances, schedules changed by another instance are not seen until the index of the semester is dropped.
+ */
+@Transactional
+@Service
+@Slf4j
+public class ScheduleOccupancyServiceImpl implements ScheduleOccupancyService {
+
+    private final ScheduleRepository scheduleRepository;
+
+    private final TransactionTemplate loadTransaction;
+
+    private final Map<Long, SemesterOccupancy> occupancies = new ConcurrentHashMap<>();
+
+    //counts committed changes of the index, loaded index is kept only if nothing changed while it was loading
+    private final AtomicLong changes = new AtomicLong();
+
+    @Autowired
+    public ScheduleOccupancyServiceImpl(ScheduleRepository scheduleRepository, PlatformTransactionManager transactionManager) {
+        this.scheduleRepository = scheduleRepository;
+        //index is loaded in own read-only transaction, so uncommitted rows of the caller never get into it
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        loadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Method checks if group already has a class at some semester at some day (by even/odd week) for some period
+     *
+     * @param semesterId id of semester
+     * @param dayOfWeek  day of the week
+     * @param evenOdd    even/odd/weekly
+     * @param classId    id of period
+     * @param groupId    id of the group
+     * @return true if the slot is occupied for the group
+     */
+    @Override
+    public boolean isGroupOccupied(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long groupId) {
+        log.info("In isGroupOccupied(semesterId = [{}], dayOfWeek = [{}], evenOdd = [{}], classId = [{}], groupId = [{}])", semesterId, dayOfWeek, evenOdd, classId, groupId);
+        return getOccupancy(semesterId).isOccupied(SemesterOccupancy::getGroups, groupId, dayOfWeek, evenOdd, classId);
+    }
+
+    /**
+     * Method checks if teacher already has a class at some semester at some day (by even/odd week) for some period
+     *
+     * @param semesterId id of semester
+     * @param dayOfWeek  day of the week
+     * @param evenOdd    even/odd/weekly
+     * @param classId    id of period
+     * @param teacherId  id of the teacher
+     * @return true if the slot is occupied for the teacher
+     */
+    @Override
+    public boolean isTeacherOccupied(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long teacherId) {
+        log.info("In isTeacherOccupied(semesterId = [{}], dayOfWeek = [{}], evenOdd = [{}], classId = [{}], teacherId = [{}])", semesterId, dayOfWeek, evenOdd, classId, teacherId);
+        return getOccupancy(semesterId).isOccupied(SemesterOccupancy::getTeachers, teacherId, dayOfWeek, evenOdd, classId);
+    }
+
+    /**
+     * Method checks if room is already used at some semester at some day (by even/odd week) for some period
+     *
+     * @param semesterId id of semester
+     * @param dayOfWeek  day of the week
+     * @param evenOdd    even/odd/weekly
+     * @param classId    id of period
+     * @param roomId     id of the room
+     * @return true if the slot is occupied for the room
+     */
+    @Override
+    public boolean isRoomOccupied(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long roomId) {
+        log.debug("In isRoomOccupied(semesterId = [{}], dayOfWeek = [{}], evenOdd = [{}], classId = [{}], roomId = [{}])", semesterId, dayOfWeek, evenOdd, classId, roomId);
+        return getOccupancy(semesterId).isOccupied(SemesterOccupancy::getRooms, roomId, dayOfWeek, evenOdd, classId);
+    }
+
+    /**
+     * Method gets occupied slots of the group, the teacher and the rooms for all days and given periods at once
+     *
+     * @param semesterId id of semester
+     * @param periodIds  ids of periods, their order defines period indexes of the grid
+     * @param groupId    id of the group
+     * @param teacherId  id of the teacher
+     * @param roomIds    ids of the rooms
+     * @return occupied slots of the group, the teacher and every room
+     */
+    @Override
+    public OccupancyGridDTO getOccupancyGrid(Long semesterId, List<Long> periodIds, Long groupId, Long teacherId, Collection<Long> roomIds) {
+        log.info("In getOccupancyGrid(semesterId = [{}], periodIds = [{}], groupId = [{}], teacherId = [{}], roomIds size = [{}])", semesterId, periodIds, groupId, teacherId, roomIds.size());
+        return getOccupancy(semesterId).getGrid(periodIds, groupId, teacherId, roomIds);
+    }
+
+    /**
+     * Method puts saved or updated schedule into the index when the current transaction commits.
+     * The previous slot of the schedule (if any) is released first
+     *
+     * @param slot slot of the schedule
+     */
+    @Override
+    public void addSchedule(ScheduleSlotDTO slot) {
+        log.info("In addSchedule(slot = [{}])", slot);
+        TransactionUtils.runAfterCommit(() -> {
+            changes.incrementAndGet();
+            releaseSchedule(slot.getScheduleId());
+            //semester that is not loaded yet will read the schedule from database on first use
+            occupancies.computeIfPresent(slot.getSemesterId(), (id, occupancy) -> {
+                occupancy.add(slot);
+                return occupancy;
+            });
+        });
+    }
+
+    /**
+     * Method releases the slot of deleted schedule when the current transaction commits
+     *
+     * @param scheduleId id of deleted schedule
+     */
+    @Override
+    public void removeSchedule(Long scheduleId) {
+        log.info("In removeSchedule(scheduleId = [{}])", scheduleId);
+        TransactionUtils.runAfterCommit(() -> {
+            changes.incrementAndGet();
+            releaseSchedule(scheduleId);
+        });
+    }
+
+    /**
+     * Method drops the index of the semester, it is loaded again on next use
+     *
+     * @param semesterId id of semester
+     */
+    @Override
+    public void invalidate(Long semesterId) {
+        log.info("In invalidate(semesterId = [{}])", semesterId);
+        TransactionUtils.runAfterCommit(() -> {
+            changes.incrementAndGet();
+            occupancies.remove(semesterId);
+        });
+    }
+
+    /**
+     * Method drops the index of all semesters, e.g. when lessons change their group or teacher
+     */
+    @Override
+    public void invalidateAll() {
+        log.info("In invalidateAll()");
+        TransactionUtils.runAfterCommit(() -> {
+            changes.incrementAndGet();
+            occupancies.clear();
+        });
+    }
+
+    //index is loaded outside of the map, so the query doesn't hold the lock of the map bin
+    private SemesterOccupancy getOccupancy(Long semesterId) {
+        SemesterOccupancy occupancy = occupancies.get(semesterId);
+        if (occupancy != null) {
+            return occupancy;
+        }
+        log.debug("Loading occupancy index for semester [{}]", semesterId);
+        long loadedChanges = changes.get();
+        SemesterOccupancy loaded = new SemesterOccupancy();
+        loadTransaction.execute(status -> {
+            scheduleRepository.getScheduleSlotsBySemester(semesterId).forEach(loaded::add);
+            return null;
+        });
+        if (changes.get() != loadedChanges) {
+            //schedule changed while the index was loading, it answers this call but is not kept
+            return loaded;
+        }
+        SemesterOccupancy existing = occupancies.putIfAbsent(semesterId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        //change that committed right before the index was put may have missed it
+        if (changes.get() != loadedChanges) {
+            occupancies.remove(semesterId, loaded);
+        }
+        return loaded;
+    }
+
+    private void releaseSchedule(Long scheduleId) {
+        occupancies.values().forEach(occupancy -> occupancy.remove(scheduleId));
+    }
+
+    //bitsets of one semester, bit (period index * 7 + day) * 2 belongs to the even week and the next one to the odd week
+    private static class SemesterOccupancy {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Integer> periodIndexes = new HashMap<>();
+        private final Map<Long, ScheduleSlotDTO> slots = new HashMap<>();
+        private final Map<Long, BitSet> groups = new HashMap<>();
+        private final Map<Long, BitSet> teachers = new HashMap<>();
+        private final Map<Long, BitSet> rooms = new HashMap<>();
+
+        Map<Long, BitSet> getGroups() {
+            return groups;
+        }
+
+        Map<Long, BitSet> getTeachers() {
+            return teachers;
+        }
+
+        Map<Long, BitSet> getRooms() {
+            return rooms;
+        }
+
+        boolean isOccupied(Function<SemesterOccupancy, Map<Long, BitSet>> owners, Long ownerId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId) {
+            lock.readLock().lock();
+            try {
+                Integer periodIndex = periodIndexes.get(classId);
+                BitSet bits = owners.apply(this).get(ownerId);
+                if (periodIndex == null || bits == null) {
+                    return false;
+                }
+                int bit = firstBit(periodIndex, dayOfWeek);
+                return (evenOdd != EvenOdd.ODD && bits.get(bit)) || (evenOdd != EvenOdd.EVEN && bits.get(bit + 1));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        OccupancyGridDTO getGrid(List<Long> periodIds, Long groupId, Long teacherId, Collection<Long> roomIds) {
+            lock.readLock().lock();
+            try {
+                Map<Long, BitSet> roomBits = new HashMap<>();
+                for (Long roomId : roomIds) {
+                    roomBits.put(roomId, project(rooms, roomId, periodIds));
+                }
+                return new OccupancyGridDTO(project(groups, groupId, periodIds), project(teachers, teacherId, periodIds), roomBits);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        //copies bits of the owner to the layout where period index is the index in the given list of periods
+        private BitSet project(Map<Long, BitSet> owners, Long ownerId, List<Long> periodIds) {
+            BitSet projected = new BitSet();
+            BitSet bits = owners.get(ownerId);
+            if (bits == null) {
+                return projected;
+            }
+            for (int i = 0; i < periodIds.size(); i++) {
+                Integer periodIndex = periodIndexes.get(periodIds.get(i));
+                if (periodIndex == null) {
+                    continue;
+                }
+                for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                    int from = firstBit(periodIndex, dayOfWeek);
+                    int to = firstBit(i, dayOfWeek);
+                    projected.set(to, bits.get(from));
+                    projected.set(to + 1, bits.get(from + 1));
+                }
+            }
+            return projected;
+        }
+
+        void add(ScheduleSlotDTO slot) {
+            lock.writeLock().lock();
+            try {
+                slots.put(slot.getScheduleId(), slot);
+                setBits(groups, slot.getGroupId(), slot);
+                setBits(teachers, slot.getTeacherId(), slot);
+                setBits(rooms, slot.getRoomId(), slot);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long scheduleId) {
+            lock.writeLock().lock();
+            try {
+                ScheduleSlotDTO removed = slots.remove(scheduleId);
+                if (removed == null) {
+                    return;
+                }
+                int bit = firstBit(periodIndexes.get(removed.getPeriodId()), removed.getDayOfWeek());
+                clearBits(groups, removed.getGroupId(), bit);
+                clearBits(teachers, removed.getTeacherId(), bit);
+                clearBits(rooms, removed.getRoomId(), bit);
+                //other schedules in the same slot (e.g. two groups in one room) keep their bits
+                for (ScheduleSlotDTO slot : slots.values()) {
+                    if (slot.getPeriodId().equals(removed.getPeriodId()) && slot.getDayOfWeek() == removed.getDayOfWeek()) {
+                        if (slot.getGroupId().equals(removed.getGroupId())) {
+                            setBits(groups, slot.getGroupId(), slot);
+                        }
+                        if (slot.getTeacherId().equals(removed.getTeacherId())) {
+                            setBits(teachers, slot.getTeacherId(), slot);
+                        }
+                        if (slot.getRoomId().equals(removed.getRoomId())) {
+                            setBits(rooms, slot.getRoomId(), slot);
+                        }
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void setBits(Map<Long, BitSet> owners, Long ownerId, ScheduleSlotDTO slot) {
+            int periodIndex = periodIndexes.computeIfAbsent(slot.getPeriodId(), id -> periodIndexes.size());
+            int bit = firstBit(periodIndex, slot.getDayOfWeek());
+            BitSet bits = owners.computeIfAbsent(ownerId, id -> new BitSet());
+            if (slot.getEvenOdd() != EvenOdd.ODD) {
+                bits.set(bit);
+            }
+            if (slot.getEvenOdd() != EvenOdd.EVEN) {
+                bits.set(bit + 1);
+            }
+        }
+
+        private void clearBits(Map<Long, BitSet> owners, Long ownerId, int bit) {
+            BitSet bits = owners.get(ownerId);
+            if (bits != null) {
+                bits.clear(bit, bit + 2);
+            }
+        }
+
+        private static int firstBit(int periodIndex, DayOfWeek dayOfWeek) {
+            return (periodIndex * DayOfWeek.values().length + dayOfWeek.ordinal()) * 2;
+        }
+    }
+}
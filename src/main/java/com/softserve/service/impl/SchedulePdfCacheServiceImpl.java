@@ -0,0 +1,200 @@
+package com.softserve.service.impl;
+
+import com.softserve.service.SchedulePdfCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Disk cache of rendered schedule pdf files. Every (semester, scope) pair keeps one file built for a schedule version.
+ * Schedule version of the semester changes on every change of its schedule, so the first miss for the new version
+ * drops files of all scopes of the semester built for older versions. Files are evicted in least recently used order
+ * when their total size goes over the limit. Readers get an open channel, so a file evicted while it is being sent
+ * is still read to the end. Only one request renders the pdf of a scope for a version, other requests for it wait
+ * for that render and read its file.
+ */
+@Service
+@Slf4j
+public class SchedulePdfCacheServiceImpl implements SchedulePdfCacheService {
+
+    private static final long MAX_CACHE_BYTES = 256L * 1024 * 1024;
+
+    private final Path directory;
+    private final Map<String, CachedPdf> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<Void>> renders = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    public SchedulePdfCacheServiceImpl() throws IOException {
+        directory = Files.createTempDirectory("schedule-pdf-cache");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (entries) {
+            entries.values().forEach(entry -> deleteFile(entry.path));
+            entries.clear();
+            totalBytes = 0;
+        }
+        deleteFile(directory);
+    }
+
+    /**
+     * Method opens cached pdf of the scope of the semester, or renders it into the cache if there is no file
+     * for the version
+     *
+     * @param semesterId id of semester
+     * @param scope      key of the pdf inside the semester, e.g. group or teacher
+     * @param version    schedule version of the semester read before loading schedule for rendering
+     * @param writer     writes the pdf on cache miss
+     * @return channel of the pdf file opened for reading, caller closes it
+     * @throws IOException when the pdf can't be rendered or the file can't be opened
+     */
+    @Override
+    public FileChannel getOrRender(Long semesterId, String scope, long version, PdfContentWriter writer) throws IOException {
+        String key = semesterId + ":" + scope;
+        String renderKey = key + "@" + version;
+        while (true) {
+            synchronized (entries) {
+                CachedPdf cachedPdf = entries.get(key);
+                if (cachedPdf != null && cachedPdf.version == version) {
+                    return FileChannel.open(cachedPdf.path, StandardOpenOption.READ);
+                }
+            }
+            CompletableFuture<Void> render = new CompletableFuture<>();
+            CompletableFuture<Void> running = renders.putIfAbsent(renderKey, render);
+            if (running == null) {
+                //render is removed before it completes, so waiters that miss its file start a new one
+                try {
+                    FileChannel channel = render(semesterId, scope, key, version, writer);
+                    renders.remove(renderKey, render);
+                    render.complete(null);
+                    return channel;
+                } catch (IOException | RuntimeException | Error e) {
+                    renders.remove(renderKey, render);
+                    render.completeExceptionally(e);
+                    throw e;
+                }
+            }
+            //file of the finished render is read from the cache, or rendered again if it was already dropped
+            await(running);
+        }
+    }
+
+    private FileChannel render(Long semesterId, String scope, String key, long version, PdfContentWriter writer) throws IOException {
+        log.debug("Rendering pdf {} of semester [{}] for version [{}]", scope, semesterId, version);
+        dropOlderVersions(semesterId, version);
+        Path path = Files.createTempFile(directory, "schedule", ".pdf");
+        try (OutputStream outputStream = Files.newOutputStream(path)) {
+            writer.write(outputStream);
+        } catch (IOException | RuntimeException e) {
+            deleteFile(path);
+            throw e;
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        put(new CachedPdf(key, version, path, channel.size()));
+        return channel;
+    }
+
+    private static void await(CompletableFuture<Void> render) throws IOException {
+        try {
+            render.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Waiting for pdf render was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Pdf can't be rendered", e.getCause());
+        }
+    }
+
+    //drops files of all scopes of the semester that were built before the schedule changed
+    private void dropOlderVersions(Long semesterId, long version) {
+        String prefix = semesterId + ":";
+        List<Path> dropped = new ArrayList<>();
+        synchronized (entries) {
+            Iterator<CachedPdf> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                CachedPdf cachedPdf = iterator.next();
+                if (cachedPdf.key.startsWith(prefix) && cachedPdf.version < version) {
+                    iterator.remove();
+                    totalBytes -= cachedPdf.size;
+                    dropped.add(cachedPdf.path);
+                }
+            }
+        }
+        dropped.forEach(SchedulePdfCacheServiceImpl::deleteFile);
+    }
+
+    //replaces file of the key unless newer version is cached, and evicts least recently used files while cache is too big
+    private void put(CachedPdf cachedPdf) {
+        List<Path> dropped = new ArrayList<>();
+        synchronized (entries) {
+            CachedPdf previous = entries.get(cachedPdf.key);
+            if (previous != null && previous.version > cachedPdf.version) {
+                //pdf was rendered from schedule read before the newer one, so it is only sent once
+                dropped.add(cachedPdf.path);
+            } else {
+                entries.put(cachedPdf.key, cachedPdf);
+                totalBytes += cachedPdf.size;
+                if (previous != null) {
+                    totalBytes -= previous.size;
+                    dropped.add(previous.path);
+                }
+            }
+            Iterator<CachedPdf> eldest = entries.values().iterator();
+            while (totalBytes > MAX_CACHE_BYTES && eldest.hasNext()) {
+                CachedPdf evicted = eldest.next();
+                if (evicted == cachedPdf) {
+                    break;
+                }
+                eldest.remove();
+                totalBytes -= evicted.size;
+                dropped.add(evicted.path);
+            }
+        }
+        dropped.forEach(SchedulePdfCacheServiceImpl::deleteFile);
+    }
+
+    private static void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Cached pdf {} can't be deleted: {}", path, e.getMessage());
+        }
+    }
+
+    private static class CachedPdf {
+        private final String key;
+        private final long version;
+        private final Path path;
+        private final long size;
+
+        CachedPdf(String key, long version, Path path, long size) {
+            this.key = key;
+            this.version = version;
+            this.path = path;
+            this.size = size;
+        }
+    }
+}
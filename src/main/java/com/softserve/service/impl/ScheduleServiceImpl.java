@@ -4,11 +4,13 @@ package com.softserve.service.impl;
 import com.softserve.dto.*;
 import com.softserve.entity.*;
 import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.ScheduleIssueType;
 import com.softserve.exception.EntityNotFoundException;
 import com.softserve.exception.ScheduleConflictException;
 import com.softserve.mapper.*;
 import com.softserve.repository.ScheduleRepository;
 import com.softserve.service.*;
+import com.softserve.util.TeacherWishMask;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Transactional
 @Service
@@ -31,6 +35,9 @@ public class ScheduleServiceImpl implements ScheduleService {
     private final TeacherWishesService teacherWishesService;
     private final TeacherService teacherService;
     private final SemesterService semesterService;
+    private final ScheduleOccupancyService scheduleOccupancyService;
+    private final ScheduleCacheService scheduleCacheService;
+    private final PeriodService periodService;
 
     private final GroupMapper groupMapper;
     private final PeriodMapper periodMapper;
@@ -41,13 +48,16 @@ public class ScheduleServiceImpl implements ScheduleService {
 
 
     @Autowired
-    public ScheduleServiceImpl(ScheduleRepository scheduleRepository, LessonService lessonService, RoomService roomService, GroupService groupService, TeacherWishesService teacherWishesService, TeacherService teacherService, SemesterService semesterService, GroupMapper groupMapper, PeriodMapper periodMapper, LessonsInScheduleMapper lessonsInScheduleMapper, RoomForScheduleMapper roomForScheduleMapper, TeacherMapper teacherMapper, LessonForTeacherScheduleMapper lessonForTeacherScheduleMapper) {
+    public ScheduleServiceImpl(ScheduleRepository scheduleRepository, LessonService lessonService, RoomService roomService, GroupService groupService, TeacherWishesService teacherWishesService, TeacherService teacherService, SemesterService semesterService, ScheduleOccupancyService scheduleOccupancyService, ScheduleCacheService scheduleCacheService, PeriodService periodService, GroupMapper groupMapper, PeriodMapper periodMapper, LessonsInScheduleMapper lessonsInScheduleMapper, RoomForScheduleMapper roomForScheduleMapper, TeacherMapper teacherMapper, LessonForTeacherScheduleMapper lessonForTeacherScheduleMapper) {
         this.scheduleRepository = scheduleRepository;
         this.lessonService = lessonService;
         this.roomService = roomService;
         this.groupService = groupService;
         this.teacherService = teacherService;
         this.semesterService = semesterService;
+        this.scheduleOccupancyService = scheduleOccupancyService;
+        this.scheduleCacheService = scheduleCacheService;
+        this.periodService = periodService;
         this.groupMapper = groupMapper;
         this.teacherWishesService = teacherWishesService;
         this.periodMapper = periodMapper;
@@ -98,11 +108,15 @@ public class ScheduleServiceImpl implements ScheduleService {
     @Override
     public Schedule save(Schedule object) {
         log.info("In save(entity = [{}]", object);
-        if (isConflictForGroupInSchedule(object.getSemester().getId(), object.getDayOfWeek(), object.getEvenOdd(), object.getPeriod().getId(), object.getLesson().getId())) {
-            log.error("Schedule for group with id [{}] has conflict with already existing", object.getLesson().getGroup().getId());
+        Lesson lesson = lessonService.getById(object.getLesson().getId());
+        if (isConflictForGroupInSchedule(object.getSemester().getId(), object.getDayOfWeek(), object.getEvenOdd(), object.getPeriod().getId(), lesson)) {
+            log.error("Schedule for group with id [{}] has conflict with already existing", lesson.getGroup().getId());
             throw new ScheduleConflictException("You can't create schedule item for this group, because one already exists");
         } else {
-            return scheduleRepository.save(object);
+            Schedule schedule = scheduleRepository.save(object);
+            scheduleOccupancyService.addSchedule(getScheduleSlot(schedule, lesson));
+            scheduleCacheService.invalidate(schedule.getSemester().getId());
+            return schedule;
         }
     }
 
@@ -115,10 +129,14 @@ public class ScheduleServiceImpl implements ScheduleService {
     @Override
     public Schedule update(Schedule object) {
         log.info("In update(entity = [{}]", object);
-        if (isConflictForGroupInSchedule(object.getSemester().getId(), object.getDayOfWeek(), object.getEvenOdd(), object.getPeriod().getId(), object.getLesson().getId())) {
+        Lesson lesson = lessonService.getById(object.getLesson().getId());
+        if (isConflictForGroupInSchedule(object.getSemester().getId(), object.getDayOfWeek(), object.getEvenOdd(), object.getPeriod().getId(), lesson)) {
             throw new ScheduleConflictException("You can't update schedule item for this group, because it violates already existing");
         } else {
-            return scheduleRepository.update(object);
+            Schedule schedule = scheduleRepository.update(object);
+            scheduleOccupancyService.addSchedule(getScheduleSlot(schedule, lesson));
+            scheduleCacheService.invalidate(schedule.getSemester().getId());
+            return schedule;
         }
     }
 
@@ -130,7 +148,324 @@ public class ScheduleServiceImpl implements ScheduleService {
      */
     @Override
     public Schedule delete(Schedule object) {
-        return scheduleRepository.delete(object);
+        log.info("In delete(entity = [{}]", object);
+        Schedule schedule = scheduleRepository.delete(object);
+        scheduleOccupancyService.removeSchedule(object.getId());
+        scheduleCacheService.invalidate(object.getSemester().getId());
+        return schedule;
+    }
+
+    /**
+     * Method saves the list of schedules in one transaction, skipping those that are invalid or have conflicts
+     * for group, teacher or room with already existing schedules or with previous schedules of the same list
+     *
+     * @param schedules list of Schedule entities to be saved
+     * @return list of results with the same order as schedules
+     */
+    @Override
+    public List<ScheduleBulkResultDTO> saveAll(List<Schedule> schedules) {
+        log.info("In saveAll(schedules size = [{}])", schedules.size());
+        //all references are loaded by one query each instead of queries for every schedule
+        Set<Long> lessonIds = schedules.stream().map(schedule -> schedule.getLesson().getId())
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Lesson> lessons = lessonIds.isEmpty() ? Collections.emptyMap() : lessonService.getLessonsByIds(lessonIds).stream()
+                .collect(Collectors.toMap(Lesson::getId, lesson -> lesson));
+        Set<Long> periodIds = periodService.getAll().stream().map(Period::getId).collect(Collectors.toSet());
+        Set<Long> roomIds = roomService.getAll().stream().map(Room::getId).collect(Collectors.toSet());
+        Set<Long> semesterIds = new HashSet<>(semesterService.getAllIds());
+        Set<String> occupiedInBatch = new HashSet<>();
+
+        List<ScheduleBulkResultDTO> results = new ArrayList<>();
+        List<Schedule> schedulesToSave = new ArrayList<>();
+        List<ScheduleBulkResultDTO> resultsToSave = new ArrayList<>();
+        for (int i = 0; i < schedules.size(); i++) {
+            Schedule schedule = schedules.get(i);
+            Lesson lesson = lessons.get(schedule.getLesson().getId());
+            String error = getBulkScheduleError(schedule, lesson, semesterIds, periodIds, roomIds, occupiedInBatch);
+            ScheduleBulkResultDTO result = new ScheduleBulkResultDTO(i, null, error == null, error);
+            results.add(result);
+            if (error == null) {
+                schedule.setLesson(lesson);
+                schedulesToSave.add(schedule);
+                resultsToSave.add(result);
+            }
+        }
+        if (schedulesToSave.isEmpty()) {
+            return results;
+        }
+
+        scheduleRepository.saveAllInBatch(schedulesToSave);
+        Set<Long> changedSemesterIds = new HashSet<>();
+        for (int i = 0; i < schedulesToSave.size(); i++) {
+            Schedule schedule = schedulesToSave.get(i);
+            resultsToSave.get(i).setId(schedule.getId());
+            scheduleOccupancyService.addSchedule(getScheduleSlot(schedule, schedule.getLesson()));
+            changedSemesterIds.add(schedule.getSemester().getId());
+        }
+        changedSemesterIds.forEach(scheduleCacheService::invalidate);
+        return results;
+    }
+
+    //returns the reason why schedule of bulk list can't be saved, or null if it can be saved
+    private String getBulkScheduleError(Schedule schedule, Lesson lesson, Set<Long> semesterIds, Set<Long> periodIds,
+                                        Set<Long> roomIds, Set<String> occupiedInBatch) {
+        String error = getValidationError(schedule, lesson, semesterIds, periodIds, roomIds);
+        if (error != null) {
+            return error;
+        }
+        long semesterId = schedule.getSemester().getId();
+        Long periodId = schedule.getPeriod().getId();
+        DayOfWeek day = schedule.getDayOfWeek();
+        EvenOdd evenOdd = schedule.getEvenOdd();
+        if (scheduleOccupancyService.isGroupOccupied(semesterId, day, evenOdd, periodId, lesson.getGroup().getId())) {
+            return getConflictMessage(ScheduleIssueType.GROUP_CONFLICT);
+        }
+        if (scheduleOccupancyService.isTeacherOccupied(semesterId, day, evenOdd, periodId, lesson.getTeacher().getId())) {
+            return getConflictMessage(ScheduleIssueType.TEACHER_CONFLICT);
+        }
+        if (scheduleOccupancyService.isRoomOccupied(semesterId, day, evenOdd, periodId, schedule.getRoom().getId())) {
+            return getConflictMessage(ScheduleIssueType.ROOM_CONFLICT);
+        }
+
+        Set<String> keys = getSlotKeys(semesterId, day, evenOdd, periodId, lesson.getGroup().getId(),
+                lesson.getTeacher().getId(), schedule.getRoom().getId()).keySet();
+        for (String key : keys) {
+            if (occupiedInBatch.contains(key)) {
+                return "Conflicts with previous schedule of the same list";
+            }
+        }
+        occupiedInBatch.addAll(keys);
+        return null;
+    }
+
+    //gets keys of group, teacher and room at the time of schedule with the kind of conflict they mean,
+    //weekly schedule occupies both halves of the week, so it gets keys for both of them
+    private Map<String, ScheduleIssueType> getSlotKeys(long semesterId, DayOfWeek day, EvenOdd evenOdd, long periodId,
+                                                      Long groupId, long teacherId, long roomId) {
+        List<EvenOdd> halves = evenOdd == EvenOdd.WEEKLY ? Arrays.asList(EvenOdd.EVEN, EvenOdd.ODD) : Collections.singletonList(evenOdd);
+        Map<String, ScheduleIssueType> keys = new HashMap<>();
+        for (EvenOdd half : halves) {
+            String time = semesterId + "-" + day + "-" + half + "-" + periodId + "-";
+            keys.put(time + "group-" + groupId, ScheduleIssueType.GROUP_CONFLICT);
+            keys.put(time + "teacher-" + teacherId, ScheduleIssueType.TEACHER_CONFLICT);
+            keys.put(time + "room-" + roomId, ScheduleIssueType.ROOM_CONFLICT);
+        }
+        return keys;
+    }
+
+    /**
+     * Method checks the list of schedules without saving them against already existing schedules and against each other,
+     * and returns all conflicts for groups, teachers and rooms and all violations of teacher wishes
+     *
+     * @param schedules list of Schedule entities to be checked
+     * @return list of found issues, empty if all schedules can be saved
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ScheduleValidationIssueDTO> validate(List<Schedule> schedules) {
+        log.info("In validate(schedules size = [{}])", schedules.size());
+        //every kind of reference is loaded by one query, then all checks are made in memory
+        Set<Long> lessonIds = schedules.stream().map(schedule -> schedule.getLesson().getId())
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Lesson> lessons = lessonIds.isEmpty() ? Collections.emptyMap() : lessonService.getLessonsByIds(lessonIds).stream()
+                .collect(Collectors.toMap(Lesson::getId, lesson -> lesson));
+        Set<Long> periodIds = periodService.getAll().stream().map(Period::getId).collect(Collectors.toSet());
+        Set<Long> roomIds = roomService.getAll().stream().map(Room::getId).collect(Collectors.toSet());
+        Set<Long> semesterIds = new HashSet<>(semesterService.getAllIds());
+        Set<Long> teacherIds = lessons.values().stream().map(lesson -> lesson.getTeacher().getId()).collect(Collectors.toSet());
+        Map<Long, TeacherWishMask> wishMasks = teacherIds.isEmpty() ? Collections.emptyMap() : teacherWishesService.getWishMasks(teacherIds);
+
+        List<ScheduleValidationIssueDTO> issues = new ArrayList<>();
+        List<Map<String, ScheduleIssueType>> candidateKeys = new ArrayList<>();
+        Map<String, List<Integer>> candidatesByKey = new HashMap<>();
+        Set<Long> checkedSemesterIds = new HashSet<>();
+        Set<Long> checkedScheduleIds = schedules.stream().map(Schedule::getId).collect(Collectors.toSet());
+        for (int i = 0; i < schedules.size(); i++) {
+            Schedule schedule = schedules.get(i);
+            Lesson lesson = lessons.get(schedule.getLesson().getId());
+            String error = getValidationError(schedule, lesson, semesterIds, periodIds, roomIds);
+            if (error != null) {
+                issues.add(new ScheduleValidationIssueDTO(i, ScheduleIssueType.INVALID, null, null, error));
+                candidateKeys.add(Collections.emptyMap());
+                continue;
+            }
+            Map<String, ScheduleIssueType> keys = getSlotKeys(schedule.getSemester().getId(), schedule.getDayOfWeek(), schedule.getEvenOdd(),
+                    schedule.getPeriod().getId(), lesson.getGroup().getId(), lesson.getTeacher().getId(), schedule.getRoom().getId());
+            candidateKeys.add(keys);
+            for (String key : keys.keySet()) {
+                candidatesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+            checkedSemesterIds.add(schedule.getSemester().getId());
+        }
+
+        Map<String, List<Long>> persistedByKey = new HashMap<>();
+        for (Long semesterId : checkedSemesterIds) {
+            for (ScheduleSlotDTO slot : scheduleRepository.getScheduleSlotsBySemester(semesterId)) {
+                getSlotKeys(slot.getSemesterId(), slot.getDayOfWeek(), slot.getEvenOdd(), slot.getPeriodId(), slot.getGroupId(),
+                        slot.getTeacherId(), slot.getRoomId())
+                        .keySet().forEach(key -> persistedByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(slot.getScheduleId()));
+            }
+        }
+
+        for (int i = 0; i < schedules.size(); i++) {
+            Schedule schedule = schedules.get(i);
+            //weekly schedules have two keys for the same conflict, so issues are collected to set
+            Set<ScheduleValidationIssueDTO> scheduleIssues = new LinkedHashSet<>();
+            for (Map.Entry<String, ScheduleIssueType> key : candidateKeys.get(i).entrySet()) {
+                String message = getConflictMessage(key.getValue());
+                for (Long scheduleId : persistedByKey.getOrDefault(key.getKey(), Collections.emptyList())) {
+                    //schedules that are being changed don't conflict with their saved versions, so they may swap places
+                    if (!checkedScheduleIds.contains(scheduleId)) {
+                        scheduleIssues.add(new ScheduleValidationIssueDTO(i, key.getValue(), scheduleId, null, message));
+                    }
+                }
+                for (Integer index : candidatesByKey.get(key.getKey())) {
+                    if (index != i) {
+                        scheduleIssues.add(new ScheduleValidationIssueDTO(i, key.getValue(), null, index, message));
+                    }
+                }
+            }
+            if (!candidateKeys.get(i).isEmpty()) {
+                Lesson lesson = lessons.get(schedule.getLesson().getId());
+                TeacherWishMask wishMask = wishMasks.getOrDefault(lesson.getTeacher().getId(), TeacherWishMask.EMPTY);
+                if (wishMask.isBad(schedule.getDayOfWeek(), schedule.getEvenOdd(), schedule.getPeriod().getId())) {
+                    scheduleIssues.add(new ScheduleValidationIssueDTO(i, ScheduleIssueType.WISH_VIOLATION, null, null, "Class doesn't suit to teacher wishes"));
+                }
+            }
+            issues.addAll(scheduleIssues);
+        }
+        return issues;
+    }
+
+    /**
+     * Method moves the list of existing schedules in one transaction, if any of them has conflict
+     * with other schedules or with another schedule of the list nothing is changed
+     *
+     * @param schedules list of Schedule entities with new places
+     * @return list of updated Schedule entities
+     */
+    @Override
+    public List<Schedule> updateAll(List<Schedule> schedules) {
+        log.info("In updateAll(schedules size = [{}])", schedules.size());
+        Optional<ScheduleValidationIssueDTO> conflict = validate(schedules).stream()
+                .filter(issue -> issue.getType() != ScheduleIssueType.WISH_VIOLATION).findFirst();
+        if (conflict.isPresent()) {
+            log.error("Schedule with index [{}] can't be updated: {}", conflict.get().getIndex(), conflict.get().getMessage());
+            throw new ScheduleConflictException("Schedule with index " + conflict.get().getIndex() + " can't be updated: " + conflict.get().getMessage());
+        }
+        Set<Long> lessonIds = schedules.stream().map(schedule -> schedule.getLesson().getId()).collect(Collectors.toSet());
+        Map<Long, Lesson> lessons = lessonIds.isEmpty() ? Collections.emptyMap() : lessonService.getLessonsByIds(lessonIds).stream()
+                .collect(Collectors.toMap(Lesson::getId, lesson -> lesson));
+        Set<Long> changedSemesterIds = new HashSet<>();
+        List<Schedule> updatedSchedules = new ArrayList<>();
+        for (Schedule schedule : schedules) {
+            Schedule updatedSchedule = scheduleRepository.update(schedule);
+            scheduleOccupancyService.addSchedule(getScheduleSlot(updatedSchedule, lessons.get(schedule.getLesson().getId())));
+            changedSemesterIds.add(updatedSchedule.getSemester().getId());
+            updatedSchedules.add(updatedSchedule);
+        }
+        changedSemesterIds.forEach(scheduleCacheService::invalidate);
+        return updatedSchedules;
+    }
+
+    /**
+     * Method copies all schedules of one semester to another in one transaction. Days and periods that target semester
+     * has are kept, others are moved to days and periods of target semester that source semester doesn't have, in order.
+     * Schedules are checked and copied by one statement each, if any copied schedule would take the time of a class of
+     * the same group, teacher or room that target semester already has nothing is copied
+     *
+     * @param fromSemesterId id of the semester to copy from
+     * @param toSemesterId   id of the semester to copy to
+     * @return number of copied schedules with the day and period mappings that were used
+     * @throws ScheduleConflictException if semesters are the same or copied schedules have conflicts
+     */
+    @Override
+    public ScheduleCopyResultDTO copySchedule(Long fromSemesterId, Long toSemesterId) {
+        log.info("In copySchedule(fromSemesterId = [{}], toSemesterId = [{}])", fromSemesterId, toSemesterId);
+        long start = System.currentTimeMillis();
+        if (fromSemesterId.equals(toSemesterId)) {
+            throw new ScheduleConflictException("Schedule can't be copied to the same semester");
+        }
+        Semester fromSemester = semesterService.getById(fromSemesterId);
+        Semester toSemester = semesterService.getById(toSemesterId);
+        Map<DayOfWeek, DayOfWeek> days = mapToTarget(fromSemester.getDaysOfWeek().stream().sorted().collect(Collectors.toList()),
+                toSemester.getDaysOfWeek().stream().sorted().collect(Collectors.toList()));
+        Comparator<Period> byStartTime = Comparator.comparing(Period::getStartTime);
+        Map<Long, Long> periods = mapToTarget(fromSemester.getPeriods().stream().sorted(byStartTime).map(Period::getId).collect(Collectors.toList()),
+                toSemester.getPeriods().stream().sorted(byStartTime).map(Period::getId).collect(Collectors.toList()));
+
+        long conflicts = scheduleRepository.countConflictsOfCopiedSchedules(fromSemesterId, toSemesterId, days, periods);
+        if (conflicts > 0) {
+            log.error("{} schedules of semester [{}] have conflicts in semester [{}]", conflicts, fromSemesterId, toSemesterId);
+            throw new ScheduleConflictException(conflicts + " copied schedules would have conflicts with schedules of the semester");
+        }
+        int copied = scheduleRepository.copySchedules(fromSemesterId, toSemesterId, days, periods);
+        scheduleOccupancyService.invalidate(toSemesterId);
+        scheduleCacheService.invalidate(toSemesterId);
+
+        ScheduleCopyResultDTO result = new ScheduleCopyResultDTO();
+        result.setFromSemesterId(fromSemesterId);
+        result.setToSemesterId(toSemesterId);
+        result.setCopied(copied);
+        result.setDays(days);
+        result.setPeriods(periods);
+        result.setSkippedDays(fromSemester.getDaysOfWeek().stream().filter(day -> !days.containsKey(day)).sorted().collect(Collectors.toList()));
+        result.setSkippedPeriodIds(fromSemester.getPeriods().stream().sorted(byStartTime).map(Period::getId)
+                .filter(periodId -> !periods.containsKey(periodId)).collect(Collectors.toList()));
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    //maps every source item that target has to itself, and the rest of source items to unused target items in order
+    private static <T> Map<T, T> mapToTarget(List<T> source, List<T> target) {
+        Map<T, T> mapping = new LinkedHashMap<>();
+        Iterator<T> unusedTargets = target.stream().filter(item -> !source.contains(item)).iterator();
+        for (T item : source) {
+            if (target.contains(item)) {
+                mapping.put(item, item);
+            } else if (unusedTargets.hasNext()) {
+                mapping.put(item, unusedTargets.next());
+            }
+        }
+        return mapping;
+    }
+
+    //returns the reason why schedule can't be checked for conflicts, or null if all its references exist
+    private String getValidationError(Schedule schedule, Lesson lesson, Set<Long> semesterIds, Set<Long> periodIds, Set<Long> roomIds) {
+        if (schedule.getDayOfWeek() == null || schedule.getEvenOdd() == null) {
+            return "Day of week and evenOdd are required";
+        }
+        if (lesson == null) {
+            return "Lesson with id " + schedule.getLesson().getId() + " not found";
+        }
+        if (!semesterIds.contains(schedule.getSemester().getId())) {
+            return "Semester with id " + schedule.getSemester().getId() + " not found";
+        }
+        if (!periodIds.contains(schedule.getPeriod().getId())) {
+            return "Period with id " + schedule.getPeriod().getId() + " not found";
+        }
+        if (!roomIds.contains(schedule.getRoom().getId())) {
+            return "Room with id " + schedule.getRoom().getId() + " not found";
+        }
+        return null;
+    }
+
+    //gets message for the kind of conflict
+    private String getConflictMessage(ScheduleIssueType type) {
+        switch (type) {
+            case GROUP_CONFLICT:
+                return "Group already has schedule at this time";
+            case TEACHER_CONFLICT:
+                return "Teacher already has schedule at this time";
+            default:
+                return "Room is already occupied at this time";
+        }
+    }
+
+    //gets slot occupied by the schedule for the occupancy index
+    private ScheduleSlotDTO getScheduleSlot(Schedule schedule, Lesson lesson) {
+        return new ScheduleSlotDTO(schedule.getId(), schedule.getSemester().getId(), schedule.getDayOfWeek(), schedule.getEvenOdd(),
+                schedule.getPeriod().getId(), lesson.getGroup().getId(), lesson.getTeacher().getId(), schedule.getRoom().getId());
     }
 
     /**
@@ -147,38 +482,98 @@ public class ScheduleServiceImpl implements ScheduleService {
     public CreateScheduleInfoDTO getInfoForCreatingSchedule(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long lessonId) {
         log.info("In getInfoForCreatingSchedule (semesterId = [{}], dayOfWeek = [{}], evenOdd = [{}], classId = [{}], lessonId = [{}])", semesterId, dayOfWeek, evenOdd, classId, lessonId);
         //checking for missing parameters and wrong types is skipped, because it handles automatically by GlobalExceptionHandler
-        if (isConflictForGroupInSchedule(semesterId, dayOfWeek, evenOdd, classId, lessonId)) {
+        //lesson is read by one query that also checks the period, conflicts are checked by occupancy index
+        Lesson lesson = lessonService.getLessonScheduleInfo(lessonId, classId).getLesson();
+        if (isConflictForGroupInSchedule(semesterId, dayOfWeek, evenOdd, classId, lesson)) {
             log.error("Schedule for group already exists");
             throw new ScheduleConflictException("You can't create schedule for this group, because one already exists");
         } else {
             CreateScheduleInfoDTO createScheduleInfoDTO = new CreateScheduleInfoDTO();
-            createScheduleInfoDTO.setTeacherAvailable(isTeacherAvailableForSchedule(semesterId, dayOfWeek, evenOdd, classId, lessonId));
+            createScheduleInfoDTO.setTeacherAvailable(isTeacherAvailableForSchedule(semesterId, dayOfWeek, evenOdd, classId, lesson));
+            //the only other query reads rooms, their occupancy is taken from the index too
             createScheduleInfoDTO.setRooms(roomService.getAllRoomsForCreatingSchedule(semesterId, dayOfWeek, evenOdd, classId));
-            createScheduleInfoDTO.setClassSuitsToTeacher(teacherWishesService.isClassSuits(lessonService.getById(lessonId).getTeacher().getId(), dayOfWeek, evenOdd, classId));
+            //teacher wishes are taken from the cached wish mask in constant time
+            createScheduleInfoDTO.setClassSuitsToTeacher(!teacherWishesService.getWishMask(lesson.getTeacher().getId()).isBad(dayOfWeek, evenOdd, classId));
             return createScheduleInfoDTO;
         }
 
     }
 
     //verifies if group has conflict in schedule when it saves
-    private boolean isConflictForGroupInSchedule(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long lessonId) {
-        log.info("In isConflictForGroupInSchedule(semesterId = [{}], dayOfWeek = [{}], evenOdd = [{}], classId = [{}], lessonId = [{}])", semesterId, dayOfWeek, evenOdd, classId, lessonId);
-        //Get group ID from Lesson by lesson ID to search further by group ID
-        Long groupId = lessonService.getById(lessonId).getGroup().getId();
-        //If Repository doesn't count any records that means there are no conflicts for this group at that point of time
-        return scheduleRepository.conflictForGroupInSchedule(semesterId, dayOfWeek, evenOdd, classId, groupId) != 0;
+    private boolean isConflictForGroupInSchedule(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Lesson lesson) {
+        log.info("In isConflictForGroupInSchedule(semesterId = [{}], dayOfWeek = [{}], evenOdd = [{}], classId = [{}], lessonId = [{}])", semesterId, dayOfWeek, evenOdd, classId, lesson.getId());
+        //If occupancy index has no bit for this group at that point of time that means there are no conflicts
+        return scheduleOccupancyService.isGroupOccupied(semesterId, dayOfWeek, evenOdd, classId, lesson.getGroup().getId());
     }
 
     //verifies if teacher already has another schedule at  at some semester (by semester id) at some day for some period(by classId)
-    private boolean isTeacherAvailableForSchedule(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Long lessonId) {
-        log.info("In isTeacherAvailable (semesterId = [{}], dayOfWeek = [{}], evenOdd = [{}], classId = [{}], lessonId = [{}]", semesterId, dayOfWeek, evenOdd, classId, lessonId);
-        //Get teacher ID from Lesson by lesson ID to search further by teacher ID
-        Long teacherId = lessonService.getById(lessonId).getTeacher().getId();
-        return scheduleRepository.conflictForTeacherInSchedule(semesterId, dayOfWeek, evenOdd, classId, teacherId) == 0;
+    private boolean isTeacherAvailableForSchedule(Long semesterId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId, Lesson lesson) {
+        log.info("In isTeacherAvailable (semesterId = [{}], dayOfWeek = [{}], evenOdd = [{}], classId = [{}], lessonId = [{}]", semesterId, dayOfWeek, evenOdd, classId, lesson.getId());
+        return !scheduleOccupancyService.isTeacherOccupied(semesterId, dayOfWeek, evenOdd, classId, lesson.getTeacher().getId());
+    }
+
+    /**
+     * Method gets for every day, period and evenOdd of the semester if the group and the teacher of the lesson are free,
+     * how many rooms of every type are free and the status of teacher wish.
+     * Occupancy of the whole semester is taken from the occupancy index at once, so the grid is filled in one pass
+     *
+     * @param semesterId id of semester
+     * @param lessonId   id of the lesson that has to be placed
+     * @return availability of every cell of the semester grid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LessonAvailabilityDTO getLessonAvailability(Long semesterId, Long lessonId) {
+        log.info("In getLessonAvailability(semesterId = [{}], lessonId = [{}])", semesterId, lessonId);
+        Semester semester = semesterService.getById(semesterId);
+        Lesson lesson = lessonService.getLessonsByIds(Collections.singleton(lessonId)).stream().findFirst()
+                .orElseThrow(() -> new EntityNotFoundException(Lesson.class, "id", lessonId.toString()));
+        List<DayOfWeek> days = semester.getDaysOfWeek().stream().sorted().collect(Collectors.toList());
+        List<Period> periods = semester.getPeriods().stream().sorted(Comparator.comparing(Period::getStartTime)).collect(Collectors.toList());
+        List<Long> periodIds = periods.stream().map(Period::getId).collect(Collectors.toList());
+        List<Room> rooms = roomService.getAll();
+        OccupancyGridDTO grid = scheduleOccupancyService.getOccupancyGrid(semesterId, periodIds, lesson.getGroup().getId(),
+                lesson.getTeacher().getId(), rooms.stream().map(Room::getId).collect(Collectors.toList()));
+
+        TeacherWishMask wishMask = teacherWishesService.getWishMask(lesson.getTeacher().getId());
+
+        List<ScheduleCellAvailabilityDTO> cells = new ArrayList<>();
+        for (DayOfWeek day : days) {
+            for (int periodIndex = 0; periodIndex < periods.size(); periodIndex++) {
+                for (EvenOdd evenOdd : EvenOdd.values()) {
+                    ScheduleCellAvailabilityDTO cell = new ScheduleCellAvailabilityDTO();
+                    cell.setDayOfWeek(day);
+                    cell.setPeriodId(periods.get(periodIndex).getId());
+                    cell.setEvenOdd(evenOdd);
+                    cell.setGroupAvailable(!OccupancyGridDTO.isOccupied(grid.getGroup(), periodIndex, day, evenOdd));
+                    cell.setTeacherAvailable(!OccupancyGridDTO.isOccupied(grid.getTeacher(), periodIndex, day, evenOdd));
+                    Map<Long, Integer> freeRoomsByType = new HashMap<>();
+                    int freeRooms = 0;
+                    for (Room room : rooms) {
+                        if (!OccupancyGridDTO.isOccupied(grid.getRooms().get(room.getId()), periodIndex, day, evenOdd)) {
+                            freeRooms++;
+                            if (room.getType() != null) {
+                                freeRoomsByType.merge(room.getType().getId(), 1, Integer::sum);
+                            }
+                        }
+                    }
+                    cell.setFreeRooms(freeRooms);
+                    cell.setFreeRoomsByType(freeRoomsByType);
+                    cell.setWishStatus(wishMask.getStatus(day, evenOdd, periods.get(periodIndex).getId()));
+                    cells.add(cell);
+                }
+            }
+        }
+        LessonAvailabilityDTO availability = new LessonAvailabilityDTO();
+        availability.setSemesterId(semesterId);
+        availability.setLessonId(lessonId);
+        availability.setCells(cells);
+        return availability;
     }
 
     /**
-     * Method gets full schedule for all groups(by default) in particular semester, or full schedule for group in particular semester
+     * Method gets full schedule for all groups(by default) in particular semester, or full schedule for group in particular semester.
+     * Schedule items are loaded by one projection query and grouped by day and period in memory
      *
      * @param semesterId id of semester
      * @param groupId    group id
@@ -188,146 +583,141 @@ public class ScheduleServiceImpl implements ScheduleService {
     public List<ScheduleForGroupDTO> getFullScheduleForGroup(Long semesterId, Long groupId) {
         log.info("In getFullSchedule(semesterId = [{}], groupId[{}])", semesterId, groupId);
         List<ScheduleForGroupDTO> scheduleForGroupDTOList = new ArrayList<>();
-        List<Group> groupsForSchedule = new ArrayList<>();
         if (semesterId != null && groupId != null) {
-            if (groupHasScheduleInSemester(semesterId, groupId)) {
-                groupsForSchedule.add(groupService.getById(groupId));
+            List<GroupScheduleItemDTO> items = scheduleRepository.getScheduleItemsForGroupBySemester(semesterId, groupId);
+            if (!items.isEmpty()) {
                 ScheduleForGroupDTO scheduleForGroupDTO = new ScheduleForGroupDTO();
-                scheduleForGroupDTO.setGroup(groupMapper.groupToGroupDTO(groupsForSchedule.get(0)));
-                scheduleForGroupDTO.setDays(getDaysWhenGroupHasClassesBySemester(semesterId, groupId));
+                scheduleForGroupDTO.setGroup(groupMapper.groupToGroupDTO(groupService.getById(groupId)));
+                scheduleForGroupDTO.setDays(getDaysWhenGroupHasClasses(items));
                 scheduleForGroupDTOList.add(scheduleForGroupDTO);
             }
             return scheduleForGroupDTOList;
         } else {
-            groupsForSchedule.addAll(scheduleRepository.uniqueGroupsInScheduleBySemester(semesterId));
-            for (Group group : groupsForSchedule) {
+            Map<Long, List<GroupScheduleItemDTO>> itemsByGroup = scheduleRepository.getScheduleItemsForGroupsBySemester(semesterId)
+                    .stream()
+                    .collect(Collectors.groupingBy(GroupScheduleItemDTO::getGroupId));
+            for (Group group : scheduleRepository.uniqueGroupsInScheduleBySemester(semesterId)) {
                 ScheduleForGroupDTO scheduleForGroupDTO = new ScheduleForGroupDTO();
                 scheduleForGroupDTO.setGroup(groupMapper.groupToGroupDTO(group));
-                scheduleForGroupDTO.setDays(getDaysWhenGroupHasClassesBySemester(semesterId, group.getId()));
+                scheduleForGroupDTO.setDays(getDaysWhenGroupHasClasses(itemsByGroup.getOrDefault(group.getId(), Collections.emptyList())));
                 scheduleForGroupDTOList.add(scheduleForGroupDTO);
             }
             return scheduleForGroupDTOList;
         }
     }
 
-    //gets days when group has schedule and fill days by classes
-    private List<DaysOfWeekWithClassesForGroupDTO> getDaysWhenGroupHasClassesBySemester(Long semesterId, Long groupId) {
-        log.info("In getDaysWhenGroupHasClassesBySemester(semesterId = [{}], groupId = [{}])", semesterId, groupId);
+    //groups schedule items of one group by days and periods and fills classes by even/odd lessons
+    private List<DaysOfWeekWithClassesForGroupDTO> getDaysWhenGroupHasClasses(List<GroupScheduleItemDTO> items) {
+        //items come ordered by period start time, so linked maps keep the periods sorted
+        Map<DayOfWeek, Map<Long, ClassesInScheduleForGroupDTO>> classesByDay = new TreeMap<>();
+        for (GroupScheduleItemDTO item : items) {
+            ClassesInScheduleForGroupDTO classesInScheduleForGroupDTO = classesByDay
+                    .computeIfAbsent(item.getDayOfWeek(), day -> new LinkedHashMap<>())
+                    .computeIfAbsent(item.getPeriod().getId(), id -> {
+                        ClassesInScheduleForGroupDTO classes = new ClassesInScheduleForGroupDTO();
+                        classes.setPeriod(periodMapper.convertToDto(item.getPeriod()));
+                        classes.setWeeks(new LessonInScheduleByWeekDTO());
+                        return classes;
+                    });
+            if (item.getEvenOdd() != EvenOdd.ODD) {
+                classesInScheduleForGroupDTO.getWeeks().setEven(lessonsInScheduleMapper.groupScheduleItemToLessonsInScheduleDTO(item));
+            }
+            if (item.getEvenOdd() != EvenOdd.EVEN) {
+                classesInScheduleForGroupDTO.getWeeks().setOdd(lessonsInScheduleMapper.groupScheduleItemToLessonsInScheduleDTO(item));
+            }
+        }
+
         List<DaysOfWeekWithClassesForGroupDTO> daysOfWeekWithClassesForGroupDTOList = new ArrayList<>();
-        List<DayOfWeek> weekList = scheduleRepository.getDaysWhenGroupHasClassesBySemester(semesterId, groupId);
-        weekList.sort(Comparator.comparingInt(DayOfWeek::getValue));
-        for (DayOfWeek day : weekList) {
+        for (Map.Entry<DayOfWeek, Map<Long, ClassesInScheduleForGroupDTO>> entry : classesByDay.entrySet()) {
             DaysOfWeekWithClassesForGroupDTO daysOfWeekWithClassesForGroupDTO = new DaysOfWeekWithClassesForGroupDTO();
-            daysOfWeekWithClassesForGroupDTO.setDay(day);
-            daysOfWeekWithClassesForGroupDTO.setClasses(getClassesForGroupBySemesterByDayOfWeek(semesterId, groupId, day));
+            daysOfWeekWithClassesForGroupDTO.setDay(entry.getKey());
+            daysOfWeekWithClassesForGroupDTO.setClasses(new ArrayList<>(entry.getValue().values()));
             daysOfWeekWithClassesForGroupDTOList.add(daysOfWeekWithClassesForGroupDTO);
-
         }
-
         return daysOfWeekWithClassesForGroupDTOList;
     }
 
-    //get classes in Day when group has schedule and fill classes by even/odd lessons
-    private List<ClassesInScheduleForGroupDTO> getClassesForGroupBySemesterByDayOfWeek(Long semesterId, Long groupId, DayOfWeek day) {
-        log.info("In getClassesForGroupBySemesterByDayOfWeek(semesterId = [{}], groupId = [{}], day = [{}])", semesterId, groupId, day);
-        //get Classes in that Day for group
-        List<Period> uniquePeriods = scheduleRepository.periodsForGroupByDayBySemester(semesterId, groupId, day);
-        List<ClassesInScheduleForGroupDTO> classesInScheduleForGroupDTOList = new ArrayList<>();
-
-        for (Period period : uniquePeriods) {
-            ClassesInScheduleForGroupDTO classesInScheduleForGroupDTO = new ClassesInScheduleForGroupDTO();
-            classesInScheduleForGroupDTO.setPeriod(periodMapper.convertToDto(period));
-            classesInScheduleForGroupDTO.setWeeks(getLessonsForGroupForPeriodBySemesterAndDay(semesterId, groupId, period.getId(), day));
-            classesInScheduleForGroupDTOList.add(classesInScheduleForGroupDTO);
-        }
-
-        return classesInScheduleForGroupDTOList;
-    }
-
-    //get and fill even and odd lessons for group at some semester (by semester id) at some day for some period(by periodId)
-    private LessonInScheduleByWeekDTO getLessonsForGroupForPeriodBySemesterAndDay(Long semesterId, Long groupId, Long periodId, DayOfWeek day) {
-        log.info("In getLessonsForGroupForPeriodBySemesterAndDay(semesterId = [{}], groupId = [{}], periodId = [{}], day = [{}])", semesterId, groupId, periodId, day);
-        LessonInScheduleByWeekDTO lessonInScheduleByWeekDTO = new LessonInScheduleByWeekDTO();
-        Lesson lesson = scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semesterId, groupId, periodId, day, EvenOdd.EVEN).orElse(null);
-        LessonsInScheduleDTO even = lessonsInScheduleMapper.lessonToLessonsInScheduleDTO(lesson);
-
-        if (lesson != null) {
-            even.setRoom(roomForScheduleMapper.roomToRoomForScheduleDTO(scheduleRepository.getRoomForLesson(semesterId, periodId, lesson.getId(), day, EvenOdd.EVEN)));
-            lessonInScheduleByWeekDTO.setEven(even);
-        }
-
-        Lesson lesson2 = scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semesterId, groupId, periodId, day, EvenOdd.ODD).orElse(null);
-        LessonsInScheduleDTO odd = lessonsInScheduleMapper.lessonToLessonsInScheduleDTO(lesson2);
-        if (lesson2 != null) {
-            odd.setRoom(roomForScheduleMapper.roomToRoomForScheduleDTO(scheduleRepository.getRoomForLesson(semesterId, periodId, lesson2.getId(), day, EvenOdd.ODD)));
-            lessonInScheduleByWeekDTO.setOdd(odd);
-        }
-
-        return lessonInScheduleByWeekDTO;
-    }
-
-    //verifies if group with groupId has Schedule in semester with semesterId
-    private boolean groupHasScheduleInSemester(Long semesterId, Long groupId) {
-        log.info("In groupHasScheduleInSemester(semesterId = [{}], groupId = [{}])", semesterId, groupId);
-        return scheduleRepository.countSchedulesForGroupInSemester(semesterId, groupId) != 0;
-    }
-
-
+    /**
+     * Method gets full schedule for all groups in particular semester.
+     * All schedules of the semester are loaded by one fetch-joined query and the result is assembled in memory,
+     * so the number of statements doesn't depend on the count of groups
+     *
+     * @param semesterId id of semester
+     * @return filled schedule for every group that has classes in the semester
+     */
     @Override
     public ScheduleFullDTO getFullScheduleForSemester(Long semesterId) {
+        log.info("In getFullScheduleForSemester(semesterId = [{}])", semesterId);
         ScheduleFullDTO scheduleFullDTO = new ScheduleFullDTO();
         SemesterMapper semesterMapper = new SemesterMapperImpl();
-        scheduleFullDTO.setSemester(semesterMapper.semesterToSemesterDTO(semesterService.getById(semesterId)));
+        Semester semester = semesterService.getById(semesterId);
+        scheduleFullDTO.setSemester(semesterMapper.semesterToSemesterDTO(semester));
 
-        List<ScheduleForGroupDTO> scheduleForGroupDTOList = new ArrayList<>();
-        List<Group> groupsForSchedule = new ArrayList<>();
+        List<Schedule> schedules = scheduleRepository.getSchedulesWithRelationsBySemester(semesterId);
+        Map<Long, Group> groups = new LinkedHashMap<>();
+        Map<Long, Map<DayOfWeek, Map<Long, LessonInScheduleByWeekDTO>>> weeksByGroup = new HashMap<>();
+        for (Schedule schedule : schedules) {
+            Group group = schedule.getLesson().getGroup();
+            groups.putIfAbsent(group.getId(), group);
+            LessonInScheduleByWeekDTO weeks = weeksByGroup
+                    .computeIfAbsent(group.getId(), id -> new EnumMap<>(DayOfWeek.class))
+                    .computeIfAbsent(schedule.getDayOfWeek(), day -> new HashMap<>())
+                    .computeIfAbsent(schedule.getPeriod().getId(), id -> new LessonInScheduleByWeekDTO());
+            fillLessonInScheduleByWeek(weeks, schedule);
+        }
 
-        groupsForSchedule.addAll(scheduleRepository.uniqueGroupsInScheduleBySemester(semesterId));
-        for (Group group : groupsForSchedule) {
+        TreeSet<DayOfWeek> semesterDays = new TreeSet<>(semester.getDaysOfWeek());
+        List<ScheduleForGroupDTO> scheduleForGroupDTOList = new ArrayList<>();
+        for (Group group : groups.values()) {
             ScheduleForGroupDTO scheduleForGroupDTO = new ScheduleForGroupDTO();
             scheduleForGroupDTO.setGroup(groupMapper.groupToGroupDTO(group));
-            scheduleForGroupDTO.setDays(getDaysForSemester(semesterId, group.getId()));
+            scheduleForGroupDTO.setDays(getDaysForSemester(semesterDays, semester.getPeriods(), weeksByGroup.get(group.getId())));
             scheduleForGroupDTOList.add(scheduleForGroupDTO);
-
         }
         scheduleFullDTO.setSchedule(scheduleForGroupDTOList);
         return scheduleFullDTO;
-
     }
 
-    private List<DaysOfWeekWithClassesForGroupDTO> getDaysForSemester(Long semesterId, Long groupId) {
-        log.info("In getDaysForSemester(semesterId = [{}])", semesterId);
+    //fills every day and period of the semester by lessons of the group, empty classes are kept with empty weeks
+    private List<DaysOfWeekWithClassesForGroupDTO> getDaysForSemester(Set<DayOfWeek> semesterDays, Set<Period> semesterPeriods,
+                                                                      Map<DayOfWeek, Map<Long, LessonInScheduleByWeekDTO>> weeksByDay) {
         List<DaysOfWeekWithClassesForGroupDTO> daysOfWeekWithClassesForGroupDTOList = new ArrayList<>();
-        Set<DayOfWeek> weekList = semesterService.getById(semesterId).getDaysOfWeek();
-        TreeSet<DayOfWeek> dayOfWeeks = new TreeSet<>(weekList);
-        for (DayOfWeek day : dayOfWeeks) {
+        for (DayOfWeek day : semesterDays) {
+            Map<Long, LessonInScheduleByWeekDTO> weeksByPeriod = weeksByDay.getOrDefault(day, Collections.emptyMap());
+            List<ClassesInScheduleForGroupDTO> classesInScheduleForGroupDTOList = new ArrayList<>();
+            for (Period period : semesterPeriods) {
+                ClassesInScheduleForGroupDTO classesInScheduleForGroupDTO = new ClassesInScheduleForGroupDTO();
+                classesInScheduleForGroupDTO.setPeriod(periodMapper.convertToDto(period));
+                classesInScheduleForGroupDTO.setWeeks(weeksByPeriod.getOrDefault(period.getId(), new LessonInScheduleByWeekDTO()));
+                classesInScheduleForGroupDTOList.add(classesInScheduleForGroupDTO);
+            }
             DaysOfWeekWithClassesForGroupDTO daysOfWeekWithClassesForGroupDTO = new DaysOfWeekWithClassesForGroupDTO();
             daysOfWeekWithClassesForGroupDTO.setDay(day);
-            daysOfWeekWithClassesForGroupDTO.setClasses(getClassesForSemesterByDay(semesterId, day, groupId));
+            daysOfWeekWithClassesForGroupDTO.setClasses(classesInScheduleForGroupDTOList);
             daysOfWeekWithClassesForGroupDTOList.add(daysOfWeekWithClassesForGroupDTO);
-
         }
-
         return daysOfWeekWithClassesForGroupDTOList;
     }
 
-    private List<ClassesInScheduleForGroupDTO> getClassesForSemesterByDay(Long semesterId, DayOfWeek day, Long groupId) {
-        log.info("In getClassesForSemester(semesterId = [{}])", semesterId);
-        //get Classes in that Day for group
-        Set<Period> semesterPeriods = semesterService.getById(semesterId).getPeriods();
-        List<ClassesInScheduleForGroupDTO> classesInScheduleForGroupDTOList = new ArrayList<>();
-        for (Period period : semesterPeriods) {
-            ClassesInScheduleForGroupDTO classesInScheduleForGroupDTO = new ClassesInScheduleForGroupDTO();
-            classesInScheduleForGroupDTO.setPeriod(periodMapper.convertToDto(period));
-            classesInScheduleForGroupDTO.setWeeks(getLessonsForGroupForPeriodBySemesterAndDay(semesterId, groupId, period.getId(), day));
-            classesInScheduleForGroupDTOList.add(classesInScheduleForGroupDTO);
+    //puts lesson of the schedule into even, odd or both halves of the week
+    private void fillLessonInScheduleByWeek(LessonInScheduleByWeekDTO weeks, Schedule schedule) {
+        if (schedule.getEvenOdd() != EvenOdd.ODD) {
+            weeks.setEven(lessonInScheduleFromSchedule(schedule));
         }
+        if (schedule.getEvenOdd() != EvenOdd.EVEN) {
+            weeks.setOdd(lessonInScheduleFromSchedule(schedule));
+        }
+    }
 
-        return classesInScheduleForGroupDTOList;
+    private LessonsInScheduleDTO lessonInScheduleFromSchedule(Schedule schedule) {
+        LessonsInScheduleDTO lessonsInScheduleDTO = lessonsInScheduleMapper.lessonToLessonsInScheduleDTO(schedule.getLesson());
+        lessonsInScheduleDTO.setRoom(roomForScheduleMapper.roomToRoomForScheduleDTO(schedule.getRoom()));
+        return lessonsInScheduleDTO;
     }
 
     /**
-     * Method gets full schedule for teacher in particular semester
+     * Method gets full schedule for teacher in particular semester.
+     * All schedules of the teacher are loaded by one query and bucketed by day, week and period in memory
      *
      * @param semesterId id of semester
      * @param teacherId  id of teacher
@@ -341,53 +731,84 @@ public class ScheduleServiceImpl implements ScheduleService {
         scheduleForTeacherDTO.setSemester(semesterMapper.semesterToSemesterDTO(semesterService.getById(semesterId)));
         //get Teacher Info
         scheduleForTeacherDTO.setTeacher(teacherMapper.teacherToTeacherDTO(teacherService.getById(teacherId)));
+        scheduleForTeacherDTO.setDays(getDaysWhenTeacherHasClasses(scheduleRepository.getAllSchedulesByTeacherIdAndSemesterId(teacherId, semesterId)));
+        return scheduleForTeacherDTO;
+    }
 
-        List<DayOfWeek> weekList = scheduleRepository.getDaysWhenTeacherHasClassesBySemester(semesterId, teacherId);
-        weekList.sort(Comparator.comparingInt(DayOfWeek::getValue));
+    /**
+     * Method gets schedule of every teacher that has classes in particular semester.
+     * Schedules of all teachers are loaded by one query and split by teacher in memory
+     *
+     * @param semesterId id of semester
+     * @return list of filled schedules of teachers ordered by teacher surname
+     */
+    @Override
+    public List<ScheduleForTeacherDTO> getSchedulesForTeachers(Long semesterId) {
+        log.info("In getSchedulesForTeachers(semesterId = [{}])", semesterId);
+        SemesterDTO semesterDTO = new SemesterMapperImpl().semesterToSemesterDTO(semesterService.getById(semesterId));
+        //schedules come ordered by teacher and period start time, so linked map keeps both orders
+        Map<Long, List<Schedule>> schedulesByTeacher = scheduleRepository.getSchedulesForTeachersBySemester(semesterId).stream()
+                .collect(Collectors.groupingBy(schedule -> schedule.getLesson().getTeacher().getId(), LinkedHashMap::new, Collectors.toList()));
+        List<ScheduleForTeacherDTO> scheduleForTeacherDTOList = new ArrayList<>();
+        for (List<Schedule> teacherSchedules : schedulesByTeacher.values()) {
+            ScheduleForTeacherDTO scheduleForTeacherDTO = new ScheduleForTeacherDTO();
+            scheduleForTeacherDTO.setSemester(semesterDTO);
+            scheduleForTeacherDTO.setTeacher(teacherMapper.teacherToTeacherDTO(teacherSchedules.get(0).getLesson().getTeacher()));
+            scheduleForTeacherDTO.setDays(getDaysWhenTeacherHasClasses(teacherSchedules));
+            scheduleForTeacherDTOList.add(scheduleForTeacherDTO);
+        }
+        return scheduleForTeacherDTOList;
+    }
+
+    //buckets schedules of one teacher by day, week and period, schedules must be ordered by period start time
+    private List<DaysOfWeekWithClassesForTeacherDTO> getDaysWhenTeacherHasClasses(List<Schedule> schedules) {
+        //schedules come ordered by period start time, so linked maps keep the periods sorted
+        Map<DayOfWeek, Map<EvenOdd, Map<Long, ClassForTeacherScheduleDTO>>> classesByDay = new TreeMap<>();
+        for (Schedule schedule : schedules) {
+            Map<EvenOdd, Map<Long, ClassForTeacherScheduleDTO>> classesByWeek = classesByDay.computeIfAbsent(schedule.getDayOfWeek(), day -> {
+                Map<EvenOdd, Map<Long, ClassForTeacherScheduleDTO>> weeks = new EnumMap<>(EvenOdd.class);
+                weeks.put(EvenOdd.EVEN, new LinkedHashMap<>());
+                weeks.put(EvenOdd.ODD, new LinkedHashMap<>());
+                return weeks;
+            });
+            if (schedule.getEvenOdd() != EvenOdd.ODD) {
+                addLessonToTeacherClass(classesByWeek.get(EvenOdd.EVEN), schedule);
+            }
+            if (schedule.getEvenOdd() != EvenOdd.EVEN) {
+                addLessonToTeacherClass(classesByWeek.get(EvenOdd.ODD), schedule);
+            }
+        }
 
         List<DaysOfWeekWithClassesForTeacherDTO> daysOfWeekWithClassesForTeacherDTOList = new ArrayList<>();
-        for (DayOfWeek day : weekList) {
+        for (Map.Entry<DayOfWeek, Map<EvenOdd, Map<Long, ClassForTeacherScheduleDTO>>> entry : classesByDay.entrySet()) {
             DaysOfWeekWithClassesForTeacherDTO daysOfWeekWithClassesForTeacherDTO = new DaysOfWeekWithClassesForTeacherDTO();
-            daysOfWeekWithClassesForTeacherDTO.setDay(day);
-            daysOfWeekWithClassesForTeacherDTO.setEvenWeek(getInfoForTeacherScheduleByWeek(semesterId, teacherId, day, EvenOdd.EVEN));
-            daysOfWeekWithClassesForTeacherDTO.setOddWeek(getInfoForTeacherScheduleByWeek(semesterId, teacherId, day, EvenOdd.ODD));
+            daysOfWeekWithClassesForTeacherDTO.setDay(entry.getKey());
+            daysOfWeekWithClassesForTeacherDTO.setEvenWeek(getClassesInScheduleForTeacher(entry.getValue().get(EvenOdd.EVEN)));
+            daysOfWeekWithClassesForTeacherDTO.setOddWeek(getClassesInScheduleForTeacher(entry.getValue().get(EvenOdd.ODD)));
             daysOfWeekWithClassesForTeacherDTOList.add(daysOfWeekWithClassesForTeacherDTO);
         }
-        scheduleForTeacherDTO.setDays(daysOfWeekWithClassesForTeacherDTOList);
-        return scheduleForTeacherDTO;
+        return daysOfWeekWithClassesForTeacherDTOList;
     }
 
-    private ClassesInScheduleForTeacherDTO getInfoForTeacherScheduleByWeek(Long semesterId, Long teacherId, DayOfWeek day, EvenOdd evenOdd) {
-        List<ClassForTeacherScheduleDTO> classForTeacherScheduleDTOList = new ArrayList<>();
+    //adds lesson of the schedule with its room to the teacher's class for the schedule period
+    private void addLessonToTeacherClass(Map<Long, ClassForTeacherScheduleDTO> classesByPeriod, Schedule schedule) {
+        ClassForTeacherScheduleDTO classForTeacherScheduleDTO = classesByPeriod.computeIfAbsent(schedule.getPeriod().getId(), id -> {
+            ClassForTeacherScheduleDTO classForTeacher = new ClassForTeacherScheduleDTO();
+            classForTeacher.setPeriod(periodMapper.convertToDto(schedule.getPeriod()));
+            classForTeacher.setLessons(new ArrayList<>());
+            return classForTeacher;
+        });
+        LessonForTeacherScheduleDTO lessonForTeacherScheduleDTO = lessonForTeacherScheduleMapper.lessonToLessonForTeacherScheduleDTO(schedule.getLesson());
+        lessonForTeacherScheduleDTO.setRoom(schedule.getRoom().getName());
+        classForTeacherScheduleDTO.getLessons().add(lessonForTeacherScheduleDTO);
+    }
 
+    private ClassesInScheduleForTeacherDTO getClassesInScheduleForTeacher(Map<Long, ClassForTeacherScheduleDTO> classesByPeriod) {
         ClassesInScheduleForTeacherDTO classesInScheduleForTeacherDTO = new ClassesInScheduleForTeacherDTO();
-
-        List<Period> periodList = scheduleRepository.periodsForTeacherBySemesterByDayByWeek(semesterId, teacherId, day, evenOdd);
-
-        if (!periodList.isEmpty()) {
-            for (Period period : periodList) {
-                ClassForTeacherScheduleDTO classForTeacherScheduleDTO = new ClassForTeacherScheduleDTO();
-                classForTeacherScheduleDTO.setPeriod(periodMapper.convertToDto(period));
-                classForTeacherScheduleDTO.setLessons(getLessonsForTeacherBySemesterByDayByWeekByPeriod(semesterId, teacherId, day, evenOdd, period.getId()));
-                classForTeacherScheduleDTOList.add(classForTeacherScheduleDTO);
-
-            }
-        }
-        classesInScheduleForTeacherDTO.setPeriods(classForTeacherScheduleDTOList);
+        classesInScheduleForTeacherDTO.setPeriods(new ArrayList<>(classesByPeriod.values()));
         return classesInScheduleForTeacherDTO;
     }
 
-    private List<LessonForTeacherScheduleDTO> getLessonsForTeacherBySemesterByDayByWeekByPeriod(Long semesterId, Long teacherId, DayOfWeek day, EvenOdd evenOdd, Long periodId) {
-        List<LessonForTeacherScheduleDTO> lessonForTeacherScheduleDTOList = new ArrayList<>();
-        List<Lesson> lessons = scheduleRepository.lessonsForTeacherBySemesterByDayByPeriodByWeek(semesterId, teacherId, periodId, day, evenOdd);
-        for (Lesson lesson : lessons) {
-            LessonForTeacherScheduleDTO lessonForTeacherScheduleDTO = lessonForTeacherScheduleMapper.lessonToLessonForTeacherScheduleDTO(lesson);
-            lessonForTeacherScheduleDTO.setRoom(scheduleRepository.getRoomForLesson(semesterId, periodId, lessonForTeacherScheduleDTO.getId(), day, evenOdd).getName());
-            lessonForTeacherScheduleDTOList.add(lessonForTeacherScheduleDTO);
-        }
-        return lessonForTeacherScheduleDTOList;
-    }
-
     @Override
     public List<Schedule> getAllSchedulesByTeacherIdAndSemesterId(Long teacherId, Long semesterId) {
         log.info("Enter into getAllSchedulesByTeacherIdAndSemesterId with teacherId = {}, semesterId = {}", teacherId, semesterId);
@@ -395,80 +816,93 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
 
 
-    //get classes in Day when teacher has schedule and fill classes by even/odd lessons
-    private List<RoomClassesInScheduleDTO> getPeriodsForRoomBySemesterByDayOfWeek(Long semesterId, Long roomId, DayOfWeek day) {
-        log.info("In getPeriodsForRoomBySemesterByDayOfWeek(semesterId = [{}], groupId = [{}], day = [{}])", semesterId, roomId, day);
-        //get Classes in that Day for group
-        List<Period> uniquePeriods = scheduleRepository.getPeriodsForRoomBySemesterByDayOfWeek(semesterId, roomId, day);
-        List<RoomClassesInScheduleDTO> roomClassesInScheduleDTOList = new ArrayList<>();
-        RoomClassesInScheduleDTO roomClassesInScheduleDTO = new RoomClassesInScheduleDTO();
-        List<LessonsInRoomScheduleDTO> evenLessonsInRoomScheduleDTOList = new ArrayList<>();
-        List<LessonsInRoomScheduleDTO> oddLessonsInRoomScheduleDTOList = new ArrayList<>();
-        for (Period period : uniquePeriods) {
-            //change
-            List<Lesson> evenLesson = scheduleRepository.lessonForRoomByDayBySemesterByPeriodByWeek(semesterId, roomId, period.getId(), day, EvenOdd.EVEN);
-            for (Lesson lessonItem : evenLesson) {
-                LessonsInRoomScheduleDTO even = lessonsInScheduleMapper.lessonToLessonsInRoomScheduleDTO(lessonItem);
-                even.setSurname(lessonItem.getTeacher().getSurname());
-                even.setSubjectName(lessonItem.getSubject().getName());
-                even.setGroupId(lessonItem.getGroup().getId());
-                even.setLessonId(lessonItem.getId());
-                even.setGroupName(lessonItem.getGroup().getTitle());
-                even.setClassName(period.getName());
-                even.setClassId(period.getId());
-                evenLessonsInRoomScheduleDTOList.add(even);
+    /**
+     * Method gets schedule of every room that is used in particular semester.
+     * The semester schedule is loaded once and grouped by room, day, period and week in memory
+     *
+     * @param semesterId    id of semester
+     * @param skipEmptyDays if true, days without classes in the room are not included into the result
+     * @return list of schedules for rooms
+     */
+    @Override
+    public List<ScheduleForRoomDTO> getScheduleForRooms(Long semesterId, boolean skipEmptyDays) {
+        log.info("In getScheduleForRooms(semesterId = [{}], skipEmptyDays = [{}])", semesterId, skipEmptyDays);
+        List<Schedule> schedules = new ArrayList<>(scheduleRepository.getSchedulesWithRelationsBySemester(semesterId));
+        schedules.sort(Comparator.comparing((Schedule schedule) -> schedule.getRoom().getName())
+                .thenComparing(schedule -> schedule.getRoom().getId())
+                .thenComparing(schedule -> schedule.getPeriod().getStartTime()));
+
+        Map<Long, Room> rooms = new LinkedHashMap<>();
+        Map<Long, Map<DayOfWeek, RoomClassesInScheduleDTO>> classesByRoom = new HashMap<>();
+        for (Schedule schedule : schedules) {
+            Room room = schedule.getRoom();
+            if (room.isDisable()) {
+                continue;
             }
-
-            List<Lesson> oddLesson = scheduleRepository.lessonForRoomByDayBySemesterByPeriodByWeek(semesterId, roomId, period.getId(), day, EvenOdd.ODD);
-            for (Lesson lessonItem : oddLesson) {
-                LessonsInRoomScheduleDTO odd = lessonsInScheduleMapper.lessonToLessonsInRoomScheduleDTO(lessonItem);
-                odd.setSurname(lessonItem.getTeacher().getSurname());
-                odd.setSubjectName(lessonItem.getSubject().getName());
-                odd.setGroupId(lessonItem.getGroup().getId());
-                odd.setLessonId(lessonItem.getId());
-                odd.setGroupName(lessonItem.getGroup().getTitle());
-                odd.setClassName(period.getName());
-                odd.setClassId(period.getId());
-                oddLessonsInRoomScheduleDTOList.add(odd);
+            rooms.putIfAbsent(room.getId(), room);
+            RoomClassesInScheduleDTO roomClassesInScheduleDTO = classesByRoom
+                    .computeIfAbsent(room.getId(), id -> new EnumMap<>(DayOfWeek.class))
+                    .computeIfAbsent(schedule.getDayOfWeek(), day -> {
+                        RoomClassesInScheduleDTO roomClasses = new RoomClassesInScheduleDTO();
+                        roomClasses.setEven(new ArrayList<>());
+                        roomClasses.setOdd(new ArrayList<>());
+                        return roomClasses;
+                    });
+            if (schedule.getEvenOdd() != EvenOdd.ODD) {
+                roomClassesInScheduleDTO.getEven().add(lessonInRoomFromSchedule(schedule));
             }
+            if (schedule.getEvenOdd() != EvenOdd.EVEN) {
+                roomClassesInScheduleDTO.getOdd().add(lessonInRoomFromSchedule(schedule));
+            }
+        }
 
+        List<ScheduleForRoomDTO> scheduleForRoomDTOList = new ArrayList<>();
+        for (Room room : rooms.values()) {
+            ScheduleForRoomDTO scheduleForRoomDTO = new ScheduleForRoomDTO();
+            scheduleForRoomDTO.setRoomId(room.getId());
+            scheduleForRoomDTO.setRoomName(room.getName());
+            scheduleForRoomDTO.setRoomType(room.getType().getDescription());
+            scheduleForRoomDTO.setSchedules(getDaysForRoom(classesByRoom.get(room.getId()), skipEmptyDays));
+            scheduleForRoomDTOList.add(scheduleForRoomDTO);
         }
-        roomClassesInScheduleDTO.setEven(evenLessonsInRoomScheduleDTOList);
-        roomClassesInScheduleDTO.setOdd(oddLessonsInRoomScheduleDTOList);
-        roomClassesInScheduleDTOList.add(roomClassesInScheduleDTO);
-        return roomClassesInScheduleDTOList;
+        return scheduleForRoomDTOList;
     }
 
-
-    private List<DaysOfWeekWithClassesForRoomDTO> getDaysWhenRoomHasClassesBySemester(Long semesterId, Long roomId) {
-        log.info("In getDaysWhenRoomHasClassesBySemester(semesterId = [{}], groupId = [{}])", semesterId, roomId);
+    //fills days of the week by classes in the room, days without classes get empty even/odd lists unless they are skipped
+    private List<DaysOfWeekWithClassesForRoomDTO> getDaysForRoom(Map<DayOfWeek, RoomClassesInScheduleDTO> classesByDay, boolean skipEmptyDays) {
         List<DaysOfWeekWithClassesForRoomDTO> daysOfWeekWithClassesForRoomDTOList = new ArrayList<>();
-
         for (DayOfWeek day : DayOfWeek.values()) {
+            RoomClassesInScheduleDTO roomClassesInScheduleDTO = classesByDay.get(day);
+            if (roomClassesInScheduleDTO == null) {
+                if (skipEmptyDays) {
+                    continue;
+                }
+                roomClassesInScheduleDTO = new RoomClassesInScheduleDTO();
+                roomClassesInScheduleDTO.setEven(new ArrayList<>());
+                roomClassesInScheduleDTO.setOdd(new ArrayList<>());
+            }
+            List<RoomClassesInScheduleDTO> roomClassesInScheduleDTOList = new ArrayList<>();
+            roomClassesInScheduleDTOList.add(roomClassesInScheduleDTO);
             DaysOfWeekWithClassesForRoomDTO daysOfWeekWithClassesForRoomDTO = new DaysOfWeekWithClassesForRoomDTO();
             daysOfWeekWithClassesForRoomDTO.setDay(day);
-            daysOfWeekWithClassesForRoomDTO.setClasses(getPeriodsForRoomBySemesterByDayOfWeek(semesterId, roomId, day));
+            daysOfWeekWithClassesForRoomDTO.setClasses(roomClassesInScheduleDTOList);
             daysOfWeekWithClassesForRoomDTOList.add(daysOfWeekWithClassesForRoomDTO);
         }
         return daysOfWeekWithClassesForRoomDTOList;
     }
 
-
-    @Override
-    public List<ScheduleForRoomDTO> getScheduleForRooms(Long semesterId) {
-        log.info("Enter into getScheduleForRooms");
-        List<ScheduleForRoomDTO> scheduleForGroupDTOList = new ArrayList<>();
-        List<Room> roomForDetails = roomService.getRoomsWithSchedule(semesterId);
-
-        for (Room room : roomForDetails) {
-            ScheduleForRoomDTO scheduleForRoomDTO = new ScheduleForRoomDTO();
-            scheduleForRoomDTO.setRoomId(room.getId());
-            scheduleForRoomDTO.setRoomName(room.getName());
-            scheduleForRoomDTO.setRoomType(room.getType().getDescription());
-            scheduleForRoomDTO.setSchedules(getDaysWhenRoomHasClassesBySemester(semesterId, room.getId()));
-            scheduleForGroupDTOList.add(scheduleForRoomDTO);
-        }
-        return scheduleForGroupDTOList;
+    //maps lesson of the schedule to the room lesson with its teacher, group and period details
+    private LessonsInRoomScheduleDTO lessonInRoomFromSchedule(Schedule schedule) {
+        Lesson lesson = schedule.getLesson();
+        LessonsInRoomScheduleDTO lessonsInRoomScheduleDTO = lessonsInScheduleMapper.lessonToLessonsInRoomScheduleDTO(lesson);
+        lessonsInRoomScheduleDTO.setSurname(lesson.getTeacher().getSurname());
+        lessonsInRoomScheduleDTO.setSubjectName(lesson.getSubject().getName());
+        lessonsInRoomScheduleDTO.setGroupId(lesson.getGroup().getId());
+        lessonsInRoomScheduleDTO.setLessonId(lesson.getId());
+        lessonsInRoomScheduleDTO.setGroupName(lesson.getGroup().getTitle());
+        lessonsInRoomScheduleDTO.setClassName(schedule.getPeriod().getName());
+        lessonsInRoomScheduleDTO.setClassId(schedule.getPeriod().getId());
+        return lessonsInRoomScheduleDTO;
     }
 
     @Override
@@ -476,6 +910,39 @@ public class ScheduleServiceImpl implements ScheduleService {
         log.info("In getScheduleBySemester(Long semesterId = [{}])", semesterId);
         return scheduleRepository.getScheduleBySemester(semesterId);
     }
+
+    /**
+     * Method passes schedules one by one to the action without keeping them in memory, e.g. for streaming them to the response
+     *
+     * @param semesterId id of semester, or null for schedules of all semesters
+     * @param action     action that is performed for every schedule
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void scrollSchedules(Long semesterId, Consumer<Schedule> action) {
+        log.info("In scrollSchedules(semesterId = [{}])", semesterId);
+        scheduleRepository.scrollSchedulesWithRelations(semesterId, action);
+    }
+
+    /**
+     * Method gets the page of schedules that match the filter and go after the cursor, ordered by id
+     *
+     * @param filter filter with optional semester, group, teacher, room, day and evenOdd
+     * @param cursor id of the last schedule of previous page, or null for the first page
+     * @param limit  max number of schedules in the page
+     * @return list of schedules
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Schedule> getSchedulesPage(ScheduleFilterDTO filter, Long cursor, int limit) {
+        log.info("In getSchedulesPage(filter = [{}], cursor = [{}], limit = [{}])", filter, cursor, limit);
+        List<Schedule> schedules = scheduleRepository.getSchedulesPage(filter, cursor, limit);
+        //schedules are mapped with their semester after the transaction, so lazy periods are loaded here, once per semester
+        for (Schedule schedule : schedules) {
+            Hibernate.initialize(schedule.getSemester().getPeriods());
+        }
+        return schedules;
+    }
 }
 
 
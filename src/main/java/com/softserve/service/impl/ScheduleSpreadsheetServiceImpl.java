@@ -0,0 +1,61 @@
+package com.softserve.service.impl;
+
+import com.softserve.repository.ScheduleRepository;
+import com.softserve.service.ScheduleSpreadsheetService;
+import com.softserve.util.TableWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Tabular export of schedules for spreadsheets. Every schedule is one row of a flat projection,
+ * rows are written while they are read from database cursor, so export of any number of semesters
+ * never keeps more than one row in memory
+ */
+@Transactional(readOnly = true)
+@Service
+@Slf4j
+public class ScheduleSpreadsheetServiceImpl implements ScheduleSpreadsheetService {
+
+    private static final Object[] HEADER = {"Id", "Semester", "Year", "Day", "Week", "Class", "Start", "End", "Group",
+            "Teacher surname", "Teacher name", "Teacher patronymic", "Subject", "Lesson type", "Room"};
+
+    private final ScheduleRepository scheduleRepository;
+
+    @Autowired
+    public ScheduleSpreadsheetServiceImpl(ScheduleRepository scheduleRepository) {
+        this.scheduleRepository = scheduleRepository;
+    }
+
+    /**
+     * Method writes header and one row for every schedule of the semester (or of all semesters) ordered by id
+     *
+     * @param semesterId  id of the semester, or null for schedules of all semesters
+     * @param tableWriter writer of the table, it is finished but not closed
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void writeSchedules(Long semesterId, TableWriter tableWriter) throws IOException {
+        log.info("In writeSchedules(semesterId = [{}])", semesterId);
+        tableWriter.writeRow(HEADER);
+        try {
+            scheduleRepository.scrollScheduleExportRows(semesterId, row -> {
+                try {
+                    tableWriter.writeRow(row.getScheduleId(), row.getSemester(), row.getYear(), row.getDayOfWeek(),
+                            row.getEvenOdd(), row.getPeriod(), row.getStartTime(), row.getEndTime(), row.getGroup(),
+                            row.getTeacherSurname(), row.getTeacherName(), row.getTeacherPatronymic(), row.getSubject(),
+                            row.getLessonType(), row.getRoom());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        tableWriter.finish();
+    }
+}
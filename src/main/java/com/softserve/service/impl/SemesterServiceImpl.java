@@ -6,6 +6,7 @@ import com.softserve.exception.*;
 import com.softserve.repository.SemesterRepository;
 import com.softserve.service.PeriodService;
 import com.softserve.service.SemesterService;
+import com.softserve.service.ScheduleCacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,11 +26,13 @@ public class SemesterServiceImpl implements SemesterService {
 
     private final SemesterRepository semesterRepository;
     private final PeriodService periodService;
+    private final ScheduleCacheService scheduleCacheService;
 
     @Autowired
-    public SemesterServiceImpl(SemesterRepository semesterRepository, PeriodService periodService) {
+    public SemesterServiceImpl(SemesterRepository semesterRepository, PeriodService periodService, ScheduleCacheService scheduleCacheService) {
         this.semesterRepository = semesterRepository;
         this.periodService = periodService;
+        this.scheduleCacheService = scheduleCacheService;
     }
 
     /**
@@ -121,7 +124,9 @@ public class SemesterServiceImpl implements SemesterService {
         if (object.isCurrentSemester()) {
             semesterRepository.setCurrentSemesterToFalse();
         }
-        return semesterRepository.update(object);
+        Semester updated = semesterRepository.update(object);
+        scheduleCacheService.invalidate(object.getId());
+        return updated;
     }
 
     /**
@@ -192,6 +197,17 @@ public class SemesterServiceImpl implements SemesterService {
         return  semesters;
     }
 
+    /**
+     * The method used for getting ids of all semesters, semesters themselves are not loaded
+     *
+     * @return list of ids of semesters
+     */
+    @Override
+    public List<Long> getAllIds() {
+        log.info("In getAllIds()");
+        return semesterRepository.getAllIds();
+    }
+
     @Override
     public Semester changeCurrentSemester(Long semesterId) {
         log.info("In changeCurrentSemester(Long semesterId = [{}])", semesterId);
@@ -6,6 +6,7 @@ import com.softserve.exception.EntityNotFoundException;
 import com.softserve.exception.FieldAlreadyExistsException;
 import com.softserve.repository.SubjectRepository;
 import com.softserve.service.SubjectService;
+import com.softserve.service.ScheduleCacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -19,11 +20,13 @@ import java.util.List;
 public class SubjectServiceImpl implements SubjectService {
 
     private final SubjectRepository subjectRepository;
+    private final ScheduleCacheService scheduleCacheService;
 
 
     @Autowired
-    public SubjectServiceImpl(SubjectRepository subjectRepository) {
+    public SubjectServiceImpl(SubjectRepository subjectRepository, ScheduleCacheService scheduleCacheService) {
         this.subjectRepository = subjectRepository;
+        this.scheduleCacheService = scheduleCacheService;
     }
 
     /**
@@ -76,7 +79,9 @@ public class SubjectServiceImpl implements SubjectService {
                 log.error("Subject with name [{}] already exists", object.getName());
                 throw new FieldAlreadyExistsException(Subject.class, "name", object.getName());
             }
-            return subjectRepository.update(object);
+            Subject updated = subjectRepository.update(object);
+            scheduleCacheService.invalidateAll();
+            return updated;
         }
         else {
             throw new EntityNotFoundException(Group.class, "id", object.getId().toString());
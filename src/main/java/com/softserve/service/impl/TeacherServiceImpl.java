@@ -12,6 +12,7 @@ import com.softserve.service.TeacherService;
 import com.softserve.service.TeacherWishesService;
 import com.softserve.service.UserService;
 import com.softserve.service.PeriodService;
+import com.softserve.service.ScheduleCacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,15 +33,17 @@ public class TeacherServiceImpl implements TeacherService {
     private final MailService mailService;
     private final PeriodService periodService;
     private final TeacherWishesService teacherWishesService;
+    private final ScheduleCacheService scheduleCacheService;
 
     @Autowired
     public TeacherServiceImpl(TeacherRepository teacherRepository, UserService userService, MailService mailService,
-                              PeriodService periodService, TeacherWishesService teacherWishesService) {
+                              PeriodService periodService, TeacherWishesService teacherWishesService, ScheduleCacheService scheduleCacheService) {
         this.teacherRepository = teacherRepository;
         this.userService = userService;
         this.mailService = mailService;
         this.periodService = periodService;
         this.teacherWishesService = teacherWishesService;
+        this.scheduleCacheService = scheduleCacheService;
     }
 
     /**
@@ -83,7 +86,9 @@ public class TeacherServiceImpl implements TeacherService {
     public Teacher update(Teacher object)
     {
         log.info("Enter into update method with entity:{}", object);
-        return teacherRepository.update(object);
+        Teacher updated = teacherRepository.update(object);
+        scheduleCacheService.invalidateAll();
+        return updated;
     }
 
     /**
@@ -7,17 +7,20 @@ import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
 import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.softserve.dto.WishValidationResultDTO;
+import com.softserve.entity.Period;
 import com.softserve.entity.TeacherWishes;
 import com.softserve.entity.Wish;
 import com.softserve.entity.Wishes;
 import com.softserve.entity.enums.EvenOdd;
-import com.softserve.entity.enums.WishStatuses;
 import com.softserve.exception.EntityAlreadyExistsException;
 import com.softserve.exception.EntityNotFoundException;
 import com.softserve.exception.IncorrectWishException;
 import com.softserve.repository.TeacherWishesRepository;
 import com.softserve.service.PeriodService;
 import com.softserve.service.TeacherWishesService;
+import com.softserve.util.TeacherWishMask;
+import com.softserve.util.TransactionUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,22 +28,41 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.io.IOException;
 import java.time.DayOfWeek;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Transactional
 @Service
 @Slf4j
 public class TeacherWishesServiceImpl implements TeacherWishesService {
 
+    private static final int MAX_CACHED_WISH_MASKS = 1000;
+    //periods may be renamed without changing wishes, so masks are rebuilt from time to time too
+    private static final long WISH_MASK_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final String WISH_SCHEMA_RESOURCE = "/wish-schema.json";
+    //mapper and compiled schema are immutable after creation, so one instance is shared by all threads
+    private static final ObjectMapper WISH_MAPPER = new ObjectMapper();
+
     private final TeacherWishesRepository teacherWishesRepository;
     private PeriodService periodService;
 
+    //least recently used masks are dropped when there are too many of them
+    private final Map<Long, CachedWishMask> wishMasks = Collections.synchronizedMap(new LinkedHashMap<Long, CachedWishMask>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedWishMask> eldest) {
+            return size() > MAX_CACHED_WISH_MASKS;
+        }
+    });
+    //changes on every invalidation, so mask that was built from wishes read before it is not cached
+    private final AtomicLong wishMasksGeneration = new AtomicLong();
+    private volatile JsonSchema wishSchema;
+
     @Autowired
     public TeacherWishesServiceImpl(TeacherWishesRepository teacherWishesRepository, PeriodService periodService) {
         this.teacherWishesRepository = teacherWishesRepository;
@@ -73,6 +95,18 @@ public class TeacherWishesServiceImpl implements TeacherWishesService {
         return teacherWishesList;
     }
 
+    /**
+     * The method used for getting wishes of several teachers from database by one query
+     *
+     * @param teacherIds Identity teacher ids
+     * @return list of entities TeacherWishes with initialized teachers
+     */
+    @Override
+    public List<TeacherWishes> getWishesByTeacherIds(Collection<Long> teacherIds) {
+        log.info("Enter into getWishesByTeacherIds with teacherIds {}", teacherIds);
+        return teacherWishesRepository.getWishesByTeacherIds(teacherIds);
+    }
+
     @Override
     public TeacherWishes save(TeacherWishes object) {
         log.info("Enter into save method with entity:{}", object);
@@ -80,7 +114,9 @@ public class TeacherWishesServiceImpl implements TeacherWishesService {
             throw new EntityAlreadyExistsException("Wish already created");
         }
         validateTeacherWish(object.getTeacherWishesList());
-        return teacherWishesRepository.save(object);
+        TeacherWishes teacherWishes = teacherWishesRepository.save(object);
+        invalidateWishMask(object.getTeacher().getId());
+        return teacherWishes;
     }
 
     /**
@@ -93,7 +129,10 @@ public class TeacherWishesServiceImpl implements TeacherWishesService {
     public TeacherWishes update(TeacherWishes object) {
         log.info("Enter into update method with entity:{}", object);
         validateTeacherWish(object.getTeacherWishesList());
-        return teacherWishesRepository.update(object);
+        TeacherWishes teacherWishes = teacherWishesRepository.update(object);
+        //teacher is not updatable and may be not set, so masks of all teachers are dropped in that case
+        invalidateWishMask(object.getTeacher() == null ? null : object.getTeacher().getId());
+        return teacherWishes;
     }
 
     /**
@@ -106,7 +145,9 @@ public class TeacherWishesServiceImpl implements TeacherWishesService {
     @Override
     public TeacherWishes delete(TeacherWishes object) {
         log.info("Enter into delete method with entity:{}", object);
-        return teacherWishesRepository.delete(object);
+        TeacherWishes teacherWishes = teacherWishesRepository.delete(object);
+        invalidateWishMask(object.getTeacher() == null ? null : object.getTeacher().getId());
+        return teacherWishes;
     }
 
     /**
@@ -118,14 +159,79 @@ public class TeacherWishesServiceImpl implements TeacherWishesService {
     @Override
     public boolean isClassSuits(Long teacherId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Long classId) {
         log.info("Enter into isClassSuits method");
-        List<Wishes> teacherWishList = teacherWishesRepository.getWishByTeacherId(teacherId);
-        String className = periodService.getById(classId).getName();
+        return !getWishMask(teacherId).isBad(dayOfWeek, evenOdd, classId);
+    }
 
-        return teacherWishList.stream().filter(wishItem -> wishItem.getDayOfWeek().equals(dayOfWeek)
-                && (wishItem.getEvenOdd().equals(evenOdd)))
-                .noneMatch(wishItem -> wishItem.getWishes().stream().anyMatch(classItem -> classItem.getClassName().equals(className)
-                        && classItem.getStatus().equals(WishStatuses.BAD)));
+    /**
+     * The method used for getting parsed wishes of the teacher from cache, or from database if they are not cached
+     *
+     * @param teacherId Identity teacher id
+     * @return mask of teacher wishes, empty if teacher has no wishes
+     */
+    @Override
+    public TeacherWishMask getWishMask(Long teacherId) {
+        log.info("Enter into getWishMask with teacherId {}", teacherId);
+        return getWishMasks(Collections.singleton(teacherId)).get(teacherId);
+    }
 
+    /**
+     * The method used for getting parsed wishes of several teachers, wishes that are not cached are read by one query
+     *
+     * @param teacherIds Identity teacher ids
+     * @return mask of wishes for every teacher id
+     */
+    @Override
+    public Map<Long, TeacherWishMask> getWishMasks(Collection<Long> teacherIds) {
+        log.info("Enter into getWishMasks with teacherIds {}", teacherIds);
+        long now = System.currentTimeMillis();
+        long generation = wishMasksGeneration.get();
+        Map<Long, TeacherWishMask> masks = new HashMap<>();
+        List<Long> missingTeacherIds = new ArrayList<>();
+        for (Long teacherId : teacherIds) {
+            CachedWishMask cachedMask = wishMasks.get(teacherId);
+            if (cachedMask != null && now - cachedMask.builtAt < WISH_MASK_TTL_MILLIS) {
+                masks.put(teacherId, cachedMask.mask);
+            } else {
+                missingTeacherIds.add(teacherId);
+            }
+        }
+        if (missingTeacherIds.isEmpty()) {
+            return masks;
+        }
+        List<Period> periods = periodService.getAll();
+        Map<Long, Wishes[]> wishesByTeacher = new HashMap<>();
+        teacherWishesRepository.getWishesByTeacherIds(missingTeacherIds)
+                .forEach(teacherWishes -> wishesByTeacher.putIfAbsent(teacherWishes.getTeacher().getId(), teacherWishes.getTeacherWishesList()));
+        for (Long teacherId : missingTeacherIds) {
+            TeacherWishMask mask = TeacherWishMask.of(wishesByTeacher.get(teacherId), periods);
+            masks.put(teacherId, mask);
+            if (generation == wishMasksGeneration.get()) {
+                wishMasks.put(teacherId, new CachedWishMask(mask, now));
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * The method used for getting version of teacher wishes, it changes after any wishes are saved, updated or deleted
+     *
+     * @return current version of wishes
+     */
+    @Override
+    public long getWishesVersion() {
+        return wishMasksGeneration.get();
+    }
+
+    //drops cached mask of the teacher (of all teachers if id is null) when the transaction commits
+    private void invalidateWishMask(Long teacherId) {
+        TransactionUtils.runAfterCommit(() -> {
+            wishMasksGeneration.incrementAndGet();
+            if (teacherId == null) {
+                wishMasks.clear();
+            } else {
+                wishMasks.remove(teacherId);
+            }
+        });
     }
 
     /**
@@ -206,12 +312,8 @@ public class TeacherWishesServiceImpl implements TeacherWishesService {
     public void isTeacherSchemaValid(Wishes[] teacherWishes) {
         log.info("Enter isTeacherSchemaValid method");
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode teacherWishNode = mapper.convertValue(teacherWishes, JsonNode.class);
-            final JsonNode fstabSchema = loadResource("/wish-schema.json");
-            final JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
-            final JsonSchema schema = factory.getJsonSchema(fstabSchema);
-            ProcessingReport report = schema.validate(teacherWishNode);
+            JsonNode teacherWishNode = WISH_MAPPER.convertValue(teacherWishes, JsonNode.class);
+            ProcessingReport report = getWishSchema().validate(teacherWishNode);
             if (!report.isSuccess()) {
                 throw new IncorrectWishException("Wish is incorrect, " + report.toString());
             }
@@ -221,6 +323,56 @@ public class TeacherWishesServiceImpl implements TeacherWishesService {
         }
     }
 
+    /**
+     * Method validates wishes of many teachers in parallel without saving them
+     *
+     * @param teacherWishes list of wishes with teachers
+     * @return result for every item of the list in the same order, with the reason if wishes are not valid
+     */
+    @Override
+    public List<WishValidationResultDTO> validateAll(List<TeacherWishes> teacherWishes) {
+        log.info("Enter into validateAll method with teacherWishes size {}", teacherWishes.size());
+        //schema is compiled before workers start, so they don't wait for each other on the first call
+        try {
+            getWishSchema();
+        } catch (ProcessingException | IOException e) {
+            log.error("Error in method validateAll {}", e.toString());
+            throw new IncorrectWishException("Error occurred when validating teacher wishes");
+        }
+        return IntStream.range(0, teacherWishes.size()).parallel()
+                .mapToObj(index -> validateItem(index, teacherWishes.get(index)))
+                .collect(Collectors.toList());
+    }
+
+    //validates wishes of one teacher of the bulk, all the checks are made in memory
+    private WishValidationResultDTO validateItem(int index, TeacherWishes teacherWishes) {
+        Long teacherId = teacherWishes.getTeacher() == null ? null : teacherWishes.getTeacher().getId();
+        if (teacherWishes.getTeacherWishesList() == null) {
+            return new WishValidationResultDTO(index, teacherId, false, "Wishes are not set");
+        }
+        try {
+            validateTeacherWish(teacherWishes.getTeacherWishesList());
+            return new WishValidationResultDTO(index, teacherId, true, null);
+        } catch (IncorrectWishException e) {
+            return new WishValidationResultDTO(index, teacherId, false, e.getMessage());
+        }
+    }
+
+    //compiles wish schema on the first call, later calls reuse it
+    private JsonSchema getWishSchema() throws ProcessingException, IOException {
+        JsonSchema schema = wishSchema;
+        if (schema == null) {
+            synchronized (this) {
+                schema = wishSchema;
+                if (schema == null) {
+                    schema = JsonSchemaFactory.byDefault().getJsonSchema(loadResource(WISH_SCHEMA_RESOURCE));
+                    wishSchema = schema;
+                }
+            }
+        }
+        return schema;
+    }
+
     /**
      * The method used for getting list of wishes current teacher from database
      *
@@ -235,6 +387,16 @@ public class TeacherWishesServiceImpl implements TeacherWishesService {
     }
 
 
+    private static class CachedWishMask {
+        private final TeacherWishMask mask;
+        private final long builtAt;
+
+        private CachedWishMask(TeacherWishMask mask, long builtAt) {
+            this.mask = mask;
+            this.builtAt = builtAt;
+        }
+    }
+
     @SafeVarargs
     private static <T> Predicate<T> distinctByKeys(Function<? super T, ?>... keyExtractors) {
         final Map<List<?>, Boolean> seen = new ConcurrentHashMap<>();
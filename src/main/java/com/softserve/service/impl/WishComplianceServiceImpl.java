@@ -0,0 +1,117 @@
+package com.softserve.service.impl;
+
+import com.softserve.dto.ScheduleSlotDTO;
+import com.softserve.dto.TeacherWishComplianceDTO;
+import com.softserve.dto.WishComplianceReportDTO;
+import com.softserve.dto.WishViolationDTO;
+import com.softserve.repository.ScheduleRepository;
+import com.softserve.service.ScheduleCacheService;
+import com.softserve.service.SemesterService;
+import com.softserve.service.TeacherWishesService;
+import com.softserve.service.WishComplianceService;
+import com.softserve.util.TeacherWishMask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Report of scheduled classes that fall on BAD wishes of their teachers. The report of a semester is built
+ * from one flat query of its schedule and the cached wish masks, then kept until the schedule of the semester
+ * or any teacher wishes change.
+ */
+@Transactional(readOnly = true)
+@Service
+@Slf4j
+public class WishComplianceServiceImpl implements WishComplianceService {
+
+    private final ScheduleRepository scheduleRepository;
+    private final SemesterService semesterService;
+    private final TeacherWishesService teacherWishesService;
+    private final ScheduleCacheService scheduleCacheService;
+
+    private final Map<Long, CachedReport> reports = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WishComplianceServiceImpl(ScheduleRepository scheduleRepository, SemesterService semesterService,
+                                     TeacherWishesService teacherWishesService, ScheduleCacheService scheduleCacheService) {
+        this.scheduleRepository = scheduleRepository;
+        this.semesterService = semesterService;
+        this.teacherWishesService = teacherWishesService;
+        this.scheduleCacheService = scheduleCacheService;
+    }
+
+    /**
+     * Method gets wish compliance report of the semester from cache, or builds it if schedule or wishes changed
+     *
+     * @param semesterId id of semester
+     * @return per teacher and total counts and lists of classes that violate BAD wishes
+     * @throws com.softserve.exception.EntityNotFoundException if semester doesn't exist
+     */
+    @Override
+    public WishComplianceReportDTO getReport(Long semesterId) {
+        log.info("In getReport(semesterId = [{}])", semesterId);
+        //versions are read before building, so report is not served if something changed meanwhile
+        long scheduleVersion = scheduleCacheService.getVersion(semesterId);
+        long wishesVersion = teacherWishesService.getWishesVersion();
+        CachedReport cachedReport = reports.get(semesterId);
+        if (cachedReport != null && cachedReport.scheduleVersion == scheduleVersion && cachedReport.wishesVersion == wishesVersion) {
+            return cachedReport.report;
+        }
+        WishComplianceReportDTO report = buildReport(semesterId);
+        reports.put(semesterId, new CachedReport(scheduleVersion, wishesVersion, report));
+        return report;
+    }
+
+    //checks classes of every teacher against the teacher mask in parallel, teachers are sorted by violations
+    private WishComplianceReportDTO buildReport(Long semesterId) {
+        semesterService.getById(semesterId);
+        Map<Long, List<ScheduleSlotDTO>> slotsByTeacher = scheduleRepository.getScheduleSlotsBySemester(semesterId).stream()
+                .collect(Collectors.groupingBy(ScheduleSlotDTO::getTeacherId));
+        Map<Long, TeacherWishMask> wishMasks = slotsByTeacher.isEmpty() ? Collections.emptyMap()
+                : teacherWishesService.getWishMasks(slotsByTeacher.keySet());
+
+        List<TeacherWishComplianceDTO> teachers = slotsByTeacher.entrySet().parallelStream()
+                .map(entry -> getTeacherCompliance(entry.getKey(), entry.getValue(),
+                        wishMasks.getOrDefault(entry.getKey(), TeacherWishMask.EMPTY)))
+                .sorted(Comparator.comparingInt(TeacherWishComplianceDTO::getViolations).reversed()
+                        .thenComparing(TeacherWishComplianceDTO::getTeacherId))
+                .collect(Collectors.toList());
+
+        WishComplianceReportDTO report = new WishComplianceReportDTO();
+        report.setSemesterId(semesterId);
+        report.setClasses(teachers.stream().mapToInt(TeacherWishComplianceDTO::getClasses).sum());
+        report.setViolations(teachers.stream().mapToInt(TeacherWishComplianceDTO::getViolations).sum());
+        report.setTeachersWithViolations((int) teachers.stream().filter(teacher -> teacher.getViolations() > 0).count());
+        report.setTeachers(teachers);
+        return report;
+    }
+
+    //finds classes of the teacher that fall on BAD wishes for the same day, period and evenOdd
+    private TeacherWishComplianceDTO getTeacherCompliance(Long teacherId, List<ScheduleSlotDTO> slots, TeacherWishMask wishMask) {
+        List<WishViolationDTO> violatedClasses = slots.stream()
+                .filter(slot -> wishMask.isBad(slot.getDayOfWeek(), slot.getEvenOdd(), slot.getPeriodId()))
+                .sorted(Comparator.comparing(ScheduleSlotDTO::getDayOfWeek).thenComparing(ScheduleSlotDTO::getPeriodId)
+                        .thenComparing(ScheduleSlotDTO::getEvenOdd))
+                .map(slot -> new WishViolationDTO(slot.getScheduleId(), slot.getDayOfWeek(), slot.getEvenOdd(),
+                        slot.getPeriodId(), slot.getGroupId(), slot.getRoomId()))
+                .collect(Collectors.toList());
+        return new TeacherWishComplianceDTO(teacherId, slots.size(), violatedClasses.size(), violatedClasses);
+    }
+
+    private static class CachedReport {
+        private final long scheduleVersion;
+        private final long wishesVersion;
+        private final WishComplianceReportDTO report;
+
+        CachedReport(long scheduleVersion, long wishesVersion, WishComplianceReportDTO report) {
+            this.scheduleVersion = scheduleVersion;
+            this.wishesVersion = wishesVersion;
+            this.report = report;
+        }
+    }
+}
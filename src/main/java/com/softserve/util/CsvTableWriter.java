@@ -0,0 +1,68 @@
+package com.softserve.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the table as RFC 4180 CSV in UTF-8. The output starts with byte order mark,
+ * so spreadsheet applications don't read non-latin names in the local code page. Text that starts with a character
+ * that spreadsheet applications read as the start of a formula is prefixed with apostrophe, so it is shown as text
+ */
+public class CsvTableWriter implements TableWriter {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final String LINE_END = "\r\n";
+
+    private final Writer writer;
+
+    public CsvTableWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(BYTE_ORDER_MARK);
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] instanceof Number) {
+                writer.write(values[i].toString());
+            } else if (values[i] != null) {
+                writeValue(values[i].toString());
+            }
+        }
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    //value with separator, quote or line break is quoted, quotes inside it are doubled,
+    //value that looks like a formula is quoted with apostrophe in front of it
+    private void writeValue(String value) throws IOException {
+        if (isFormula(value)) {
+            value = "'" + value;
+        } else if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean isFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+}
@@ -0,0 +1,139 @@
+package com.softserve.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes iCalendar (RFC 5545) content line by line into the writer, so a calendar of any size is never kept
+ * in memory. Lines end with CRLF, text values are escaped and lines longer than 75 octets are folded.
+ * Times of events are written as floating local times, calendar clients show them in their own time zone
+ */
+public class IcsWriter {
+
+    private static final String LINE_END = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final Writer writer;
+
+    public IcsWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Method writes the header of the calendar
+     *
+     * @param name name of the calendar shown by calendar clients
+     * @throws IOException if writing fails
+     */
+    public void beginCalendar(String name) throws IOException {
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:-//SoftServe//Class schedule//EN");
+        writeLine("CALSCALE:GREGORIAN");
+        writeLine("METHOD:PUBLISH");
+        writeLine("X-WR-CALNAME:" + escape(name));
+    }
+
+    /**
+     * Method writes one event of the calendar
+     *
+     * @param uid         unique id of the event, the same event must keep the same id in every version of the feed
+     * @param stamp       time when the event was last changed
+     * @param start       local start time of the event
+     * @param end         local end time of the event
+     * @param summary     title of the event
+     * @param location    location of the event, may be null
+     * @param description description of the event, may be null
+     * @throws IOException if writing fails
+     */
+    public void writeEvent(String uid, Instant stamp, LocalDateTime start, LocalDateTime end,
+                           String summary, String location, String description) throws IOException {
+        writeLine("BEGIN:VEVENT");
+        writeLine("UID:" + escape(uid));
+        writeLine("DTSTAMP:" + UTC_DATE_TIME.format(stamp));
+        writeLine("DTSTART:" + LOCAL_DATE_TIME.format(start));
+        writeLine("DTEND:" + LOCAL_DATE_TIME.format(end));
+        writeLine("SUMMARY:" + escape(summary));
+        if (location != null) {
+            writeLine("LOCATION:" + escape(location));
+        }
+        if (description != null) {
+            writeLine("DESCRIPTION:" + escape(description));
+        }
+        writeLine("END:VEVENT");
+    }
+
+    /**
+     * Method writes the end of the calendar and flushes the writer
+     *
+     * @throws IOException if writing fails
+     */
+    public void endCalendar() throws IOException {
+        writeLine("END:VCALENDAR");
+        writer.flush();
+    }
+
+    //escapes characters that have special meaning in text values
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                case ';':
+                case ',':
+                    escaped.append('\\').append(c);
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    //folds the line after every 75 octets of UTF-8, never inside a character, continuation lines start with a space
+    private void writeLine(String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int length = Character.charCount(codePoint);
+            int codePointOctets = getUtf8Length(codePoint);
+            if (octets + codePointOctets > MAX_LINE_OCTETS) {
+                writer.write(LINE_END);
+                writer.write(' ');
+                //the leading space counts towards the length of the continuation line
+                octets = 1;
+            }
+            writer.write(line, i, length);
+            octets += codePointOctets;
+            i += length;
+        }
+        writer.write(LINE_END);
+    }
+
+    //number of octets of the character in UTF-8
+    private static int getUtf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
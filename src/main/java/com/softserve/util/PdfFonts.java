@@ -0,0 +1,66 @@
+package com.softserve.util;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.pdf.BaseFont;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Fonts of schedule pdf tables. Times new roman font is loaded from sources on first use and shared by all documents,
+ * fonts are never changed after creation, so they are safe to use from many threads
+ */
+@Slf4j
+public final class PdfFonts {
+
+    private static volatile PdfFonts instance;
+
+    private final Font titleFont;
+    private final Font headFont;
+    private final Font cellFont;
+
+    private PdfFonts(BaseFont baseFont) {
+        titleFont = new Font(baseFont, 14, Font.BOLD, BaseColor.WHITE);
+        headFont = new Font(baseFont, 12, Font.BOLD, BaseColor.BLACK);
+        cellFont = new Font(baseFont, 11, Font.NORMAL, BaseColor.BLACK);
+    }
+
+    /**
+     * Method gets fonts, loading the font file on the first call
+     *
+     * @return shared fonts
+     * @throws DocumentException when font can't be created
+     * @throws IOException       when there's no needed resource (font file)
+     */
+    public static PdfFonts getInstance() throws DocumentException, IOException {
+        PdfFonts fonts = instance;
+        if (fonts == null) {
+            synchronized (PdfFonts.class) {
+                fonts = instance;
+                if (fonts == null) {
+                    log.info("Loading font for pdf tables");
+                    BaseFont baseFont = BaseFont.createFont(Objects.requireNonNull(PdfFonts.class.getClassLoader()
+                            .getResource("font/times.ttf")).toString(), BaseFont.IDENTITY_H, BaseFont.NOT_EMBEDDED);
+                    fonts = new PdfFonts(baseFont);
+                    instance = fonts;
+                }
+            }
+        }
+        return fonts;
+    }
+
+    public Font getTitleFont() {
+        return titleFont;
+    }
+
+    public Font getHeadFont() {
+        return headFont;
+    }
+
+    public Font getCellFont() {
+        return cellFont;
+    }
+}
@@ -7,67 +7,50 @@ import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 import com.softserve.dto.ScheduleForGroupDTO;
 import com.softserve.dto.ScheduleForTeacherDTO;
-import com.softserve.entity.Schedule;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
 
 
 @Slf4j
 public class PdfReportGenerator {
 
     /**
-     * Method used for generating byte array, which we convert into pdf in controller
+     * Method used for writing teacher schedule pdf straight into the stream, the stream is not closed
      *
-     * @param schedule for selected teacher and semester
-     * @return ByteArrayOutputStream (schedule)
+     * @param schedule     for selected teacher and semester
+     * @param outputStream stream the pdf is written to
+     * @throws DocumentException when creating document failed
+     * @throws IOException       when writing into the stream failed
      */
-    public ByteArrayOutputStream teacherScheduleReport(ScheduleForTeacherDTO schedule) {
+    public void teacherScheduleReport(ScheduleForTeacherDTO schedule, OutputStream outputStream) throws DocumentException, IOException {
         log.info("Enter into schedulesReport method with list of schedules {}", schedule);
-
-        ByteArrayOutputStream bys = null;
-        try {
-            Document document = new Document();
-            document.setPageSize(PageSize.A4);
-            document.setPageSize(PageSize.LETTER.rotate());
-            bys = new ByteArrayOutputStream();
-            PdfWriter.getInstance(document, bys);
-            document.open();
-            PdfPTable table = new TeacherTableBuilder().createTeacherTable(schedule);
-            document.add(table);
-            document.close();
-        } catch (DocumentException | IOException e) {
-            log.error(e.getMessage());
-        }
-        return bys;
+        writeDocument(new TeacherTableBuilder().createTeacherTable(schedule), outputStream);
     }
 
     /**
-     * Method used for creating document with converting group schedule pdf table into byte array
+     * Method used for writing group schedule pdf straight into the stream, the stream is not closed
      *
-     * @param schedule for selected group and semester
-     * @return ByteArrayOutputStream group schedule in byte array format
+     * @param schedule     for selected group and semester
+     * @param outputStream stream the pdf is written to
+     * @throws DocumentException when creating document failed
+     * @throws IOException       when writing into the stream failed
      */
-    public ByteArrayOutputStream groupScheduleReport(ScheduleForGroupDTO schedule) {
+    public void groupScheduleReport(ScheduleForGroupDTO schedule, OutputStream outputStream) throws DocumentException, IOException {
         log.info("Enter into schedulesReport method with schedule {}", schedule);
+        writeDocument(new GroupTableBuilder().createGroupTable(schedule), outputStream);
+    }
 
-        ByteArrayOutputStream bys = null;
-        try {
-            Document document = new Document();
-            document.setPageSize(PageSize.A4);
-            document.setPageSize(PageSize.LETTER.rotate());
-            bys = new ByteArrayOutputStream();
-            PdfWriter.getInstance(document, bys);
-            document.open();
-            PdfPTable table = new GroupTableBuilder().createGroupTable(schedule);
-            document.add(table);
-            document.close();
-        } catch (DocumentException | IOException e) {
-            log.error(e.getMessage());
-        }
-        return bys;
+    //writes the table as one-page document, pages are flushed into the stream while they are written
+    private void writeDocument(PdfPTable table, OutputStream outputStream) throws DocumentException {
+        Document document = new Document();
+        document.setPageSize(PageSize.LETTER.rotate());
+        PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+        //caller owns the stream, e.g. servlet container or zip archive
+        writer.setCloseStream(false);
+        document.open();
+        document.add(table);
+        document.close();
     }
 }
-
@@ -0,0 +1,339 @@
+package com.softserve.util;
+
+import com.softserve.entity.enums.EvenOdd;
+
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * Local search over compact timetable state. Every class that has to be placed is an item with group, teacher
+ * and candidate rooms given as indexes, and a placement is a time slot (day and period) and a room for every item.
+ * Loads are kept in flat int arrays with two cells, odd and even half of the week, for every entity * slots + slot,
+ * so a move is checked in constant time. Weekly item loads both halves, item of one half of the week loads only its half,
+ * so even and odd classes of the same group, teacher or room share a slot without conflict.
+ * Solver itself is immutable, so one instance is shared by all threads, each of them runs {@link #solve} with own state
+ */
+public class ScheduleSolver {
+
+    private static final int HARD_CONFLICT_WEIGHT = 1000;
+    //moving already placed class costs more than BAD wish, so it is moved only to remove a conflict
+    private static final int MOVE_WEIGHT = 10;
+    private static final int PROGRESS_STEP = 10_000;
+    private static final double START_TEMPERATURE = HARD_CONFLICT_WEIGHT;
+    //search that continues from found placement only shakes wishes, so it doesn't break placement without conflicts
+    private static final double RESTART_TEMPERATURE = 2;
+    private static final double END_TEMPERATURE = 0.05;
+    private static final int ODD_HALF = 1;
+    private static final int EVEN_HALF = 2;
+    private static final int WHOLE_WEEK = ODD_HALF | EVEN_HALF;
+
+    private final int slots;
+    private final int[] itemGroups;
+    private final int[] itemTeachers;
+    private final int[][] itemRooms;
+    private final int[] fixedGroupLoad;
+    private final int[] fixedTeacherLoad;
+    private final int[] fixedRoomLoad;
+    private final boolean[] badWishes;
+    private final int[] preferredSlots;
+    private final int[] preferredRooms;
+    private final int[] itemHalves;
+
+    /**
+     * @param slots            number of time slots in the week
+     * @param itemGroups       group index of every item
+     * @param itemTeachers     teacher index of every item
+     * @param itemRooms        indexes of rooms every item can be placed in, not empty
+     * @param fixedGroupLoad   classes of already saved schedules for every group and slot, see {@link #newLoad}
+     * @param fixedTeacherLoad classes of already saved schedules for every teacher and slot
+     * @param fixedRoomLoad    classes of already saved schedules for every room and slot
+     * @param badWishes        true if teacher marked the slot as BAD, indexed by teacher * slots + slot
+     */
+    public ScheduleSolver(int slots, int[] itemGroups, int[] itemTeachers, int[][] itemRooms,
+                          int[] fixedGroupLoad, int[] fixedTeacherLoad, int[] fixedRoomLoad, boolean[] badWishes) {
+        this(slots, itemGroups, itemTeachers, itemRooms, fixedGroupLoad, fixedTeacherLoad, fixedRoomLoad, badWishes, null, null, null);
+    }
+
+    /**
+     * Solver that keeps items at their current places where possible
+     *
+     * @param preferredSlots current slot of every item, or -1 if item has to be placed anew
+     * @param preferredRooms current room of every item
+     * @param itemEvenOdd    half of the week of every item, or null if all items are weekly
+     */
+    public ScheduleSolver(int slots, int[] itemGroups, int[] itemTeachers, int[][] itemRooms, int[] fixedGroupLoad, int[] fixedTeacherLoad,
+                          int[] fixedRoomLoad, boolean[] badWishes, int[] preferredSlots, int[] preferredRooms, EvenOdd[] itemEvenOdd) {
+        this.slots = slots;
+        this.itemGroups = itemGroups;
+        this.itemTeachers = itemTeachers;
+        this.itemRooms = itemRooms;
+        this.fixedGroupLoad = fixedGroupLoad;
+        this.fixedTeacherLoad = fixedTeacherLoad;
+        this.fixedRoomLoad = fixedRoomLoad;
+        this.badWishes = badWishes;
+        this.preferredSlots = preferredSlots;
+        this.preferredRooms = preferredRooms;
+        this.itemHalves = new int[itemGroups.length];
+        for (int item = 0; item < itemHalves.length; item++) {
+            itemHalves[item] = itemEvenOdd == null ? WHOLE_WEEK : getHalves(itemEvenOdd[item]);
+        }
+    }
+
+    /**
+     * Method creates empty load of the entities, every entity * slots + slot has a cell for odd and even half of the week
+     *
+     * @param cells number of entities * slots
+     * @return empty load
+     */
+    public static int[] newLoad(int cells) {
+        return new int[cells * 2];
+    }
+
+    /**
+     * Method adds class to the load in halves of the week that it takes
+     *
+     * @param load    load created by {@link #newLoad}
+     * @param cell    entity * slots + slot
+     * @param evenOdd half of the week of the class
+     */
+    public static void addLoad(int[] load, int cell, EvenOdd evenOdd) {
+        change(load, cell, getHalves(evenOdd), 1);
+    }
+
+    public int getItemsCount() {
+        return itemGroups.length;
+    }
+
+    /**
+     * Method builds greedy placement and improves it by simulated annealing, hard conflicts are weighted far above BAD wishes
+     *
+     * @param seed       seed of random moves, different seeds give different searches
+     * @param iterations max number of moves to try
+     * @param progress   receives number of tried moves from time to time
+     * @return the best placement found
+     */
+    public Solution solve(long seed, int iterations, IntConsumer progress) {
+        return solve(seed, iterations, null, progress, () -> false);
+    }
+
+    /**
+     * Method improves the given placement, or greedy placement if it is not given, by simulated annealing
+     *
+     * @param seed       seed of random moves, different seeds give different searches
+     * @param iterations max number of moves to try
+     * @param start      placement to continue from, or null
+     * @param progress   receives number of tried moves from time to time
+     * @param stopped    checked from time to time, search returns the best placement found when it becomes true
+     * @return the best placement found
+     */
+    public Solution solve(long seed, int iterations, Solution start, IntConsumer progress, BooleanSupplier stopped) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int items = getItemsCount();
+        int[] itemSlots = new int[items];
+        int[] itemRoomIndexes = new int[items];
+        int[] groupLoad = fixedGroupLoad.clone();
+        int[] teacherLoad = fixedTeacherLoad.clone();
+        int[] roomLoad = fixedRoomLoad.clone();
+
+        long cost = 0;
+        double startTemperature = start == null ? START_TEMPERATURE : RESTART_TEMPERATURE;
+        if (start != null) {
+            for (int item = 0; item < items; item++) {
+                itemSlots[item] = start.itemSlots[item];
+                itemRoomIndexes[item] = start.itemRooms[item];
+                cost += addCost(item, itemSlots[item], itemRoomIndexes[item], groupLoad, teacherLoad, roomLoad);
+                place(item, itemSlots[item], itemRoomIndexes[item], groupLoad, teacherLoad, roomLoad, 1);
+            }
+        }
+        //greedy start: items in random order go to the cheapest slot with random room of each slot
+        for (int item : start == null ? shuffledItems(random) : new int[0]) {
+            int bestSlot = 0;
+            int bestRoom = 0;
+            long bestCost = Long.MAX_VALUE;
+            for (int slot = 0; slot < slots; slot++) {
+                int room = itemRooms[item][random.nextInt(itemRooms[item].length)];
+                long slotCost = addCost(item, slot, room, groupLoad, teacherLoad, roomLoad);
+                if (slotCost < bestCost) {
+                    bestCost = slotCost;
+                    bestSlot = slot;
+                    bestRoom = room;
+                }
+            }
+            itemSlots[item] = bestSlot;
+            itemRoomIndexes[item] = bestRoom;
+            cost += bestCost;
+            place(item, bestSlot, bestRoom, groupLoad, teacherLoad, roomLoad, 1);
+        }
+
+        long bestCost = cost;
+        int[] bestSlots = itemSlots.clone();
+        int[] bestRooms = itemRoomIndexes.clone();
+        for (int iteration = 0; iteration < iterations && bestCost > 0 && items > 0; iteration++) {
+            if (iteration > 0 && iteration % PROGRESS_STEP == 0) {
+                progress.accept(PROGRESS_STEP);
+                if (stopped.getAsBoolean()) {
+                    break;
+                }
+            }
+            int item = random.nextInt(items);
+            int oldSlot = itemSlots[item];
+            int oldRoom = itemRoomIndexes[item];
+            int newSlot = random.nextInt(slots);
+            int newRoom = itemRooms[item][random.nextInt(itemRooms[item].length)];
+            if (newSlot == oldSlot && newRoom == oldRoom) {
+                continue;
+            }
+            long delta = -removeGain(item, oldSlot, oldRoom, groupLoad, teacherLoad, roomLoad);
+            place(item, oldSlot, oldRoom, groupLoad, teacherLoad, roomLoad, -1);
+            delta += addCost(item, newSlot, newRoom, groupLoad, teacherLoad, roomLoad);
+            double temperature = startTemperature * Math.pow(END_TEMPERATURE / startTemperature, (double) iteration / iterations);
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                place(item, newSlot, newRoom, groupLoad, teacherLoad, roomLoad, 1);
+                itemSlots[item] = newSlot;
+                itemRoomIndexes[item] = newRoom;
+                cost += delta;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    System.arraycopy(itemSlots, 0, bestSlots, 0, items);
+                    System.arraycopy(itemRoomIndexes, 0, bestRooms, 0, items);
+                }
+            } else {
+                place(item, oldSlot, oldRoom, groupLoad, teacherLoad, roomLoad, 1);
+            }
+        }
+        return evaluate(bestSlots, bestRooms);
+    }
+
+    /**
+     * Method counts conflicts and BAD wishes of the placement
+     *
+     * @param itemSlots slot of every item
+     * @param itemRoomIndexes room of every item
+     * @return solution with its costs
+     */
+    public Solution evaluate(int[] itemSlots, int[] itemRoomIndexes) {
+        int[] groupLoad = fixedGroupLoad.clone();
+        int[] teacherLoad = fixedTeacherLoad.clone();
+        int[] roomLoad = fixedRoomLoad.clone();
+        int hardConflicts = 0;
+        int wishViolations = 0;
+        int movedItems = 0;
+        for (int item = 0; item < itemSlots.length; item++) {
+            int slot = itemSlots[item];
+            movedItems += isMoved(item, slot, itemRoomIndexes[item]) ? 1 : 0;
+            hardConflicts += countLoaded(item, slot, itemRoomIndexes[item], groupLoad, teacherLoad, roomLoad, 0);
+            place(item, slot, itemRoomIndexes[item], groupLoad, teacherLoad, roomLoad, 1);
+            wishViolations += badWishes[itemTeachers[item] * slots + slot] ? 1 : 0;
+        }
+        return new Solution(itemSlots, itemRoomIndexes, hardConflicts, wishViolations, movedItems);
+    }
+
+    //verifies if item that has current place is put to another one
+    private boolean isMoved(int item, int slot, int room) {
+        return preferredSlots != null && preferredSlots[item] >= 0 && (preferredSlots[item] != slot || preferredRooms[item] != room);
+    }
+
+    //cost that item adds when it is placed to the slot and room with current loads
+    private long addCost(int item, int slot, int room, int[] groupLoad, int[] teacherLoad, int[] roomLoad) {
+        int teacherCell = itemTeachers[item] * slots + slot;
+        int conflicts = countLoaded(item, slot, room, groupLoad, teacherLoad, roomLoad, 0);
+        return (long) conflicts * HARD_CONFLICT_WEIGHT + (badWishes[teacherCell] ? 1 : 0) + (isMoved(item, slot, room) ? MOVE_WEIGHT : 0);
+    }
+
+    //cost that disappears when placed item is removed from the slot and room
+    private long removeGain(int item, int slot, int room, int[] groupLoad, int[] teacherLoad, int[] roomLoad) {
+        int teacherCell = itemTeachers[item] * slots + slot;
+        int conflicts = countLoaded(item, slot, room, groupLoad, teacherLoad, roomLoad, 1);
+        return (long) conflicts * HARD_CONFLICT_WEIGHT + (badWishes[teacherCell] ? 1 : 0) + (isMoved(item, slot, room) ? MOVE_WEIGHT : 0);
+    }
+
+    //number of group, teacher and room of the item that have more than limit classes in any half of the week the item takes
+    private int countLoaded(int item, int slot, int room, int[] groupLoad, int[] teacherLoad, int[] roomLoad, int limit) {
+        int halves = itemHalves[item];
+        return (isLoaded(groupLoad, itemGroups[item] * slots + slot, halves, limit) ? 1 : 0)
+                + (isLoaded(teacherLoad, itemTeachers[item] * slots + slot, halves, limit) ? 1 : 0)
+                + (isLoaded(roomLoad, room * slots + slot, halves, limit) ? 1 : 0);
+    }
+
+    private void place(int item, int slot, int room, int[] groupLoad, int[] teacherLoad, int[] roomLoad, int change) {
+        int halves = itemHalves[item];
+        change(groupLoad, itemGroups[item] * slots + slot, halves, change);
+        change(teacherLoad, itemTeachers[item] * slots + slot, halves, change);
+        change(roomLoad, room * slots + slot, halves, change);
+    }
+
+    private static boolean isLoaded(int[] load, int cell, int halves, int limit) {
+        return ((halves & ODD_HALF) != 0 && load[cell * 2] > limit) || ((halves & EVEN_HALF) != 0 && load[cell * 2 + 1] > limit);
+    }
+
+    private static void change(int[] load, int cell, int halves, int change) {
+        if ((halves & ODD_HALF) != 0) {
+            load[cell * 2] += change;
+        }
+        if ((halves & EVEN_HALF) != 0) {
+            load[cell * 2 + 1] += change;
+        }
+    }
+
+    private static int getHalves(EvenOdd evenOdd) {
+        if (evenOdd == EvenOdd.ODD) {
+            return ODD_HALF;
+        }
+        return evenOdd == EvenOdd.EVEN ? EVEN_HALF : WHOLE_WEEK;
+    }
+
+    private int[] shuffledItems(SplittableRandom random) {
+        int[] order = new int[getItemsCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int item = order[i];
+            order[i] = order[j];
+            order[j] = item;
+        }
+        return order;
+    }
+
+    public static class Solution {
+        private final int[] itemSlots;
+        private final int[] itemRooms;
+        private final int hardConflicts;
+        private final int wishViolations;
+        private final int movedItems;
+
+        public Solution(int[] itemSlots, int[] itemRooms, int hardConflicts, int wishViolations, int movedItems) {
+            this.itemSlots = itemSlots;
+            this.itemRooms = itemRooms;
+            this.hardConflicts = hardConflicts;
+            this.wishViolations = wishViolations;
+            this.movedItems = movedItems;
+        }
+
+        public int getSlot(int item) {
+            return itemSlots[item];
+        }
+
+        public int getRoom(int item) {
+            return itemRooms[item];
+        }
+
+        public int getHardConflicts() {
+            return hardConflicts;
+        }
+
+        public int getWishViolations() {
+            return wishViolations;
+        }
+
+        public int getMovedItems() {
+            return movedItems;
+        }
+
+        public long getCost() {
+            return (long) hardConflicts * HARD_CONFLICT_WEIGHT + wishViolations + (long) movedItems * MOVE_WEIGHT;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.softserve.util;
+
+import java.io.IOException;
+
+/**
+ * Writer of tabular export that sends every row to the output as soon as it is written
+ */
+public interface TableWriter {
+
+    /**
+     * Method writes one row of the table
+     *
+     * @param values values of the cells, numbers are written as numbers, null as empty cell, anything else as text
+     * @throws IOException if writing fails
+     */
+    void writeRow(Object... values) throws IOException;
+
+    /**
+     * Method completes the table and flushes the output, the output itself is not closed
+     *
+     * @throws IOException if writing fails
+     */
+    void finish() throws IOException;
+}
@@ -1,10 +1,8 @@
 package com.softserve.util;
 
-import com.itextpdf.text.BaseColor;
 import com.itextpdf.text.DocumentException;
 import com.itextpdf.text.Font;
 import com.itextpdf.text.Phrase;
-import com.itextpdf.text.pdf.BaseFont;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.softserve.dto.*;
@@ -51,12 +49,11 @@ public class TeacherTableBuilder {
         }
         table.setWidths(columnsWidth);
 
-        //loading Times new roman font from sources
-        BaseFont baseFont = BaseFont.createFont(Objects.requireNonNull(getClass().getClassLoader()
-                .getResource("font/times.ttf")).toString(), BaseFont.IDENTITY_H, BaseFont.NOT_EMBEDDED);
+        //Times new roman font is loaded from sources once and shared by all tables
+        PdfFonts fonts = PdfFonts.getInstance();
 
         //creating table title cell
-        Font titleFont = new Font(baseFont, 14, Font.BOLD, BaseColor.WHITE);
+        Font titleFont = fonts.getTitleFont();
         String scheduleTitle = MessageFormat.format("Schedule for {0} {1} {2}, {3}",
                 schedule.getTeacher().getSurname(), schedule.getTeacher().getName(),
                 schedule.getTeacher().getPatronymic(), schedule.getTeacher().getPosition());
@@ -66,7 +63,7 @@ public class TeacherTableBuilder {
         table.addCell(cellTitle);
 
         //creating header cells
-        Font headFont = new Font(baseFont, 12, Font.BOLD, BaseColor.BLACK);
+        Font headFont = fonts.getHeadFont();
         PdfPCell header = new PdfPCell(new Phrase("Period", headFont));
         style.headerCellStyle(header);
         table.addCell(header);
@@ -92,7 +89,7 @@ public class TeacherTableBuilder {
 
         // creating table cells with values
         PdfPCell cell;
-        Font cellFont = new Font(baseFont, 11, Font.NORMAL, BaseColor.BLACK);
+        Font cellFont = fonts.getCellFont();
         //getting in first loop layer - iterating every period
         for (PeriodDTO period : periods) {
             //first column is period
@@ -0,0 +1,103 @@
+package com.softserve.util;
+
+import com.softserve.entity.Period;
+import com.softserve.entity.Wish;
+import com.softserve.entity.Wishes;
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.WishStatuses;
+
+import java.time.DayOfWeek;
+import java.util.*;
+
+/**
+ * Parsed wishes of one teacher. Every period has one long, where each (day, evenOdd) pair owns two bits
+ * at position (day * 3 + evenOdd) * 2 that keep status ordinal + 1, or 0 if teacher has no wish for it.
+ * Wishes name classes by period name, the names are resolved to period ids once when the mask is built,
+ * so status is read in constant time. Wish applies only to classes of the same evenOdd: BAD wish for even
+ * weeks says nothing of weekly or odd classes, the same way as schedule validation reads wishes.
+ * The mask is immutable and can be shared by all threads
+ */
+public final class TeacherWishMask {
+
+    public static final TeacherWishMask EMPTY = new TeacherWishMask(Collections.emptyMap(), new long[0]);
+
+    private static final int STATUS_BITS = 2;
+    private static final long STATUS_MASK = (1L << STATUS_BITS) - 1;
+    private static final WishStatuses[] STATUSES = WishStatuses.values();
+
+    private final Map<Long, Integer> periodIndexes;
+    private final long[] periodMasks;
+
+    private TeacherWishMask(Map<Long, Integer> periodIndexes, long[] periodMasks) {
+        this.periodIndexes = periodIndexes;
+        this.periodMasks = periodMasks;
+    }
+
+    /**
+     * Method builds the mask from wishes of the teacher
+     *
+     * @param wishes  wishes of the teacher, may be null
+     * @param periods all periods, wishes for class names that are not names of periods are skipped
+     * @return mask of the wishes
+     */
+    public static TeacherWishMask of(Wishes[] wishes, Collection<Period> periods) {
+        if (wishes == null || wishes.length == 0) {
+            return EMPTY;
+        }
+        Map<String, List<Long>> periodIdsByName = new HashMap<>();
+        for (Period period : periods) {
+            periodIdsByName.computeIfAbsent(period.getName(), name -> new ArrayList<>()).add(period.getId());
+        }
+        Map<Long, Integer> periodIndexes = new HashMap<>();
+        List<Long> periodMasks = new ArrayList<>();
+        for (Wishes dayWishes : wishes) {
+            for (Wish wish : dayWishes.getWishes()) {
+                for (Long periodId : periodIdsByName.getOrDefault(wish.getClassName(), Collections.emptyList())) {
+                    int periodIndex = periodIndexes.computeIfAbsent(periodId, id -> {
+                        periodMasks.add(0L);
+                        return periodMasks.size() - 1;
+                    });
+                    int shift = getShift(dayWishes.getDayOfWeek(), dayWishes.getEvenOdd());
+                    //the first wish for the class wins, the same way as stream search over the wishes did
+                    if (((periodMasks.get(periodIndex) >>> shift) & STATUS_MASK) == 0) {
+                        periodMasks.set(periodIndex, periodMasks.get(periodIndex) | (long) (wish.getStatus().ordinal() + 1) << shift);
+                    }
+                }
+            }
+        }
+        return new TeacherWishMask(periodIndexes, periodMasks.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * Method gets status of teacher wish for the class at that day and week
+     *
+     * @param dayOfWeek day of the week
+     * @param evenOdd   even/odd/weekly, wish is found only for the same value
+     * @param periodId  id of the period
+     * @return status of the wish, or null if teacher has no wish for it
+     */
+    public WishStatuses getStatus(DayOfWeek dayOfWeek, EvenOdd evenOdd, Long periodId) {
+        Integer periodIndex = periodIndexes.get(periodId);
+        if (periodIndex == null) {
+            return null;
+        }
+        int status = (int) ((periodMasks[periodIndex] >>> getShift(dayOfWeek, evenOdd)) & STATUS_MASK);
+        return status == 0 ? null : STATUSES[status - 1];
+    }
+
+    /**
+     * Method checks if teacher has BAD wish for the class at that day and week
+     *
+     * @param dayOfWeek day of the week
+     * @param evenOdd   even/odd/weekly of the class, only wish for the same value is checked
+     * @param periodId  id of the period
+     * @return true if the wish is BAD
+     */
+    public boolean isBad(DayOfWeek dayOfWeek, EvenOdd evenOdd, Long periodId) {
+        return getStatus(dayOfWeek, evenOdd, periodId) == WishStatuses.BAD;
+    }
+
+    private static int getShift(DayOfWeek dayOfWeek, EvenOdd evenOdd) {
+        return (dayOfWeek.ordinal() * EvenOdd.values().length + evenOdd.ordinal()) * STATUS_BITS;
+    }
+}
@@ -0,0 +1,101 @@
+package com.softserve.controller;
+
+import com.softserve.config.DBConfigTest;
+import com.softserve.config.MyWebAppInitializer;
+import com.softserve.config.WebMvcConfig;
+import com.softserve.service.ScheduleCacheService;
+import com.softserve.service.ScheduleOccupancyService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Category(IntegrationTestCategory.class)
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {WebMvcConfig.class, DBConfigTest.class, MyWebAppInitializer.class})
+@WebAppConfiguration
+@WithMockUser(username = "first@mail.com", password = "$2a$04$SpUhTZ/SjkDQop/Zvx1.seftJdqvOploGce/wau247zQhpEvKtz9.", roles = "MANAGER")
+@Sql(value = "classpath:create-schedule-before.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = "classpath:delete-schedule-after.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class DownloadFileControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    @Autowired
+    private ScheduleOccupancyService scheduleOccupancyService;
+
+    @Autowired
+    private ScheduleCacheService scheduleCacheService;
+
+    @Before
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac).apply(SecurityMockMvcConfigurers.springSecurity()).build();
+        //schedules are recreated by sql scripts, so cached pdf of previous test is not served for the same version
+        scheduleOccupancyService.invalidateAll();
+        scheduleCacheService.invalidateAll();
+    }
+
+    @Test
+    public void streamPdfOfGroupScheduleOnStreamingExecutor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/download/schedule-for-group-in-pdf")
+                .param("groupId", "4").param("semesterId", "4"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] pdf = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().string("Content-Disposition", "inline; filename=schedule.pdf"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void streamPdfOfTeacherScheduleOnStreamingExecutor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/download/schedule-for-teacher-in-pdf")
+                .param("teacherId", "4").param("semesterId", "4"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] pdf = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void streamCsvOfAllSemestersWithExportTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/download/schedules-in-csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(WebMvcConfig.EXPORT_TIMEOUT_MILLIS, result.getRequest().getAsyncContext().getTimeout());
+
+        String csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(4, csv.split("\r\n").length);
+    }
+}
@@ -1,5 +1,6 @@
 package com.softserve.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.softserve.config.DBConfigTest;
 import com.softserve.config.MyWebAppInitializer;
@@ -32,9 +33,13 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import static com.softserve.entity.enums.LessonType.LABORATORY;
 import static com.softserve.entity.enums.LessonType.LECTURE;
+import static org.junit.Assert.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -69,9 +74,18 @@ public class ScheduleControllerTest {
     @Autowired
     private LessonService lessonService;
 
+    @Autowired
+    private ScheduleOccupancyService scheduleOccupancyService;
+
+    @Autowired
+    private ScheduleCacheService scheduleCacheService;
+
     @Before
     public void setUp() {
         mockMvc = MockMvcBuilders.webAppContextSetup(wac).apply(SecurityMockMvcConfigurers.springSecurity()).build();
+        //schedules are recreated by sql scripts, so in-memory state of previous test is dropped
+        scheduleOccupancyService.invalidateAll();
+        scheduleCacheService.invalidateAll();
     }
 
     @Test
@@ -90,6 +104,38 @@ public class ScheduleControllerTest {
                 .andExpect(content().contentType("application/json"));
     }
 
+    @Test
+    public void streamEverySchedulesAsOneJsonArray() throws Exception {
+        String body = mockMvc.perform(get("/schedules").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode schedules = objectMapper.readTree(body);
+        assertTrue(schedules.isArray());
+        Set<Long> ids = new HashSet<>();
+        schedules.forEach(schedule -> {
+            ids.add(schedule.get("id").asLong());
+            assertTrue(schedule.get("semester").has("id"));
+            assertTrue(schedule.get("lesson").has("id"));
+        });
+        assertEquals(new HashSet<>(Arrays.asList(4L, 5L, 6L)), ids);
+    }
+
+    @Test
+    public void streamSchedulesOfSemesterAsOneJsonArray() throws Exception {
+        String body = mockMvc.perform(get("/schedules/semester").param("semesterId", "4").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode schedules = objectMapper.readTree(body);
+        assertTrue(schedules.isArray());
+        assertEquals(2, schedules.size());
+        assertEquals(4L, schedules.get(0).get("id").asLong());
+        assertEquals(5L, schedules.get(1).get("id").asLong());
+        assertFalse(schedules.get(0).has("semester"));
+    }
+
     @Test
     public void returnEmptyListIfGetListOfAllSchedulesByNoExistSemester() throws Exception {
         mockMvc.perform(get("/schedules/semester").param("semesterId", "100").contentType(MediaType.APPLICATION_JSON))
@@ -99,6 +145,20 @@ public class ScheduleControllerTest {
                 .andExpect(content().contentType("application/json"));
     }
 
+    @Test
+    public void getPagesOfSchedulesBySemesterIdUsingCursor() throws Exception {
+        mockMvc.perform(get("/schedules/page").param("semesterId", "4").param("limit", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.schedules[0].id").value(4))
+                .andExpect(jsonPath("$.nextCursor").value(4));
+
+        mockMvc.perform(get("/schedules/page").param("semesterId", "4").param("limit", "1").param("cursor", "4").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.schedules[0].id").value(5))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     public void getInfoForNoExistScheduleBySemesterIdByDayOfWeekByEvenOddByClassIdByLessonId() throws Exception {
         Teacher teacher = new Teacher();
@@ -176,6 +236,23 @@ public class ScheduleControllerTest {
                 .andExpect(content().contentType("application/json"));
     }
 
+    @Test
+    public void returnNotModifiedIfFullScheduleForSemesterHasNotChanged() throws Exception {
+        String eTag = mockMvc.perform(get("/schedules/full/semester")
+                .param("semesterId", "4")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/schedules/full/semester")
+                .param("semesterId", "4")
+                .header("If-None-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     public void returnNotFoundIfGetFullScheduleForNotFoundedSemester() throws Exception {
         mockMvc.perform(get("/schedules/full/semester")
@@ -208,6 +285,18 @@ public class ScheduleControllerTest {
                 .andExpect(content().contentType("application/json"));
     }
 
+    @Test
+    public void returnNotFoundWithoutCalendarHeadersIfGetCalendarForNotFoundedTeacher() throws Exception {
+        mockMvc.perform(get("/schedules/calendar/teachers")
+                .param("semesterId", "4")
+                .param("teacherId", "10"))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().doesNotExist("Content-Disposition"));
+    }
+
     @Test
     public void getFullScheduleForRoom() throws Exception {
         mockMvc.perform(get("/schedules/full/rooms")
@@ -248,6 +337,58 @@ public class ScheduleControllerTest {
                 .andExpect(status().isCreated());
     }*/
 
+    @Test
+    public void copyScheduleToFreeTimeOfSemester() throws Exception {
+        mockMvc.perform(post("/schedules/copy").param("fromSemesterId", "5").param("toSemesterId", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.copied").value(1))
+                .andExpect(jsonPath("$.skippedDays").isEmpty());
+
+        String body = mockMvc.perform(get("/schedules/semester").param("semesterId", "4"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(3, objectMapper.readTree(body).size());
+    }
+
+    @Test
+    public void returnBadRequestAndCopyNothingIfCopiedScheduleTakesRoomOfOtherGroup() throws Exception {
+        //class of group 333 in semester 4 takes the room of the class of group 222 that is copied from semester 5
+        ScheduleSaveDTO scheduleSaveDTO = new ScheduleSaveDTO();
+        scheduleSaveDTO.setDayOfWeek(DayOfWeek.TUESDAY);
+        scheduleSaveDTO.setEvenOdd(EvenOdd.ODD);
+        scheduleSaveDTO.setLessonId(7L);
+        scheduleSaveDTO.setPeriodId(5L);
+        scheduleSaveDTO.setRoomId(5L);
+        scheduleSaveDTO.setSemesterId(4L);
+        mockMvc.perform(post("/schedules").content(objectMapper.writeValueAsString(scheduleSaveDTO))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/schedules/copy").param("fromSemesterId", "5").param("toSemesterId", "4"))
+                .andExpect(status().isBadRequest());
+
+        String body = mockMvc.perform(get("/schedules/semester").param("semesterId", "4"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(3, objectMapper.readTree(body).size());
+    }
+
+    @Test
+    public void returnBadRequestAndCopyNothingIfCopiedSchedulesConflictWithGroupClasses() throws Exception {
+        mockMvc.perform(post("/schedules/copy").param("fromSemesterId", "5").param("toSemesterId", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.copied").value(1));
+
+        //the class of group 222 copied again takes the time of its first copy
+        mockMvc.perform(post("/schedules/copy").param("fromSemesterId", "5").param("toSemesterId", "4"))
+                .andExpect(status().isBadRequest());
+
+        String body = mockMvc.perform(get("/schedules/semester").param("semesterId", "4"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(3, objectMapper.readTree(body).size());
+    }
+
     @Test
     public void testDelete() throws Exception {
         mockMvc.perform(delete("/schedules/{id}",4)
@@ -27,6 +27,9 @@ public class GroupServiceTest {
     @Mock
     private GroupRepository groupRepository;
 
+    @Mock
+    private ScheduleCacheService scheduleCacheService;
+
     @InjectMocks
     private GroupServiceImpl groupService;
 
@@ -36,6 +36,12 @@ public class LessonServiceTest {
     @Mock
     private SubjectServiceImpl subjectService;
 
+    @Mock
+    private ScheduleOccupancyService scheduleOccupancyService;
+
+    @Mock
+    private ScheduleCacheService scheduleCacheService;
+
     @InjectMocks
     private LessonServiceImpl lessonService;
 
@@ -173,6 +179,7 @@ public class LessonServiceTest {
         assertEquals(lesson, result);
         verify(lessonRepository, times(1)).countLessonDuplicates(lesson);
         verify(lessonRepository, times(1)).update(lesson);
+        verify(scheduleOccupancyService, times(1)).invalidateAll();
     }
 
     @Test(expected = EntityAlreadyExistsException.class)
@@ -206,4 +213,18 @@ public class LessonServiceTest {
         verify(lessonRepository, times(1)).countLessonDuplicates(lesson);
         verify(lessonRepository, times(1)).update(lesson);
     }
+
+    @Test
+    public void deleteLessonAndInvalidateOccupancyAndScheduleCache() {
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+
+        when(lessonRepository.delete(lesson)).thenReturn(lesson);
+
+        Lesson result = lessonService.delete(lesson);
+        assertEquals(lesson, result);
+        verify(lessonRepository, times(1)).delete(lesson);
+        verify(scheduleOccupancyService, times(1)).invalidateAll();
+        verify(scheduleCacheService, times(1)).invalidateAll();
+    }
 }
@@ -30,6 +30,9 @@ public class PeriodServiceTest {
     @Mock
     private PeriodRepository periodRepository;
 
+    @Mock
+    private ScheduleCacheService scheduleCacheService;
+
     @InjectMocks
     private PeriodServiceImpl periodService;
 
@@ -27,6 +27,9 @@ public class RoomServiceTest {
     @Mock
     private RoomRepository roomRepository;
 
+    @Mock
+    private ScheduleCacheService scheduleCacheService;
+
     @InjectMocks
     private RoomServiceImpl roomService;
 
@@ -0,0 +1,72 @@
+package com.softserve.service;
+
+import com.softserve.dto.ScheduleCacheStatisticsDTO;
+import com.softserve.service.impl.ScheduleCacheServiceImpl;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTestCategory.class)
+public class ScheduleCacheServiceTest {
+
+    private final ScheduleCacheServiceImpl scheduleCacheService = new ScheduleCacheServiceImpl();
+
+    @Test
+    public void buildValueOnceForSameVersion() {
+        AtomicInteger builds = new AtomicInteger();
+
+        String first = scheduleCacheService.get(1L, "groups:1", () -> "schedule " + builds.incrementAndGet());
+        String second = scheduleCacheService.get(1L, "groups:1", () -> "schedule " + builds.incrementAndGet());
+
+        assertEquals("schedule 1", first);
+        assertEquals("schedule 1", second);
+        ScheduleCacheStatisticsDTO statistics = scheduleCacheService.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(1, statistics.getEntries());
+    }
+
+    @Test
+    public void rebuildValueOnlyForInvalidatedSemester() {
+        AtomicInteger builds = new AtomicInteger();
+        scheduleCacheService.get(1L, "semester", () -> builds.incrementAndGet());
+        scheduleCacheService.get(2L, "semester", () -> builds.incrementAndGet());
+        long firstSemesterVersion = scheduleCacheService.getVersion(1L);
+        long secondSemesterVersion = scheduleCacheService.getVersion(2L);
+
+        scheduleCacheService.invalidate(1L);
+
+        assertTrue(scheduleCacheService.getVersion(1L) > firstSemesterVersion);
+        assertEquals(secondSemesterVersion, scheduleCacheService.getVersion(2L));
+        assertEquals(Integer.valueOf(3), scheduleCacheService.get(1L, "semester", () -> builds.incrementAndGet()));
+        assertEquals(Integer.valueOf(2), scheduleCacheService.get(2L, "semester", () -> builds.incrementAndGet()));
+    }
+
+    @Test
+    public void changeVersionOfEverySemesterOnInvalidateAll() {
+        scheduleCacheService.invalidate(1L);
+        long firstSemesterVersion = scheduleCacheService.getVersion(1L);
+        long secondSemesterVersion = scheduleCacheService.getVersion(2L);
+
+        scheduleCacheService.invalidateAll();
+
+        assertTrue(scheduleCacheService.getVersion(1L) > firstSemesterVersion);
+        assertTrue(scheduleCacheService.getVersion(2L) > secondSemesterVersion);
+        assertEquals(0, scheduleCacheService.getStatistics().getEntries());
+    }
+
+    @Test
+    public void changeLastModifiedOnlyForInvalidatedSemester() throws InterruptedException {
+        long firstSemesterModified = scheduleCacheService.getLastModified(1L);
+        long secondSemesterModified = scheduleCacheService.getLastModified(2L);
+        Thread.sleep(5);
+
+        scheduleCacheService.invalidate(1L);
+
+        assertTrue(scheduleCacheService.getLastModified(1L) > firstSemesterModified);
+        assertEquals(secondSemesterModified, scheduleCacheService.getLastModified(2L));
+    }
+}
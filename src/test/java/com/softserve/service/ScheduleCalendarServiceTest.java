@@ -0,0 +1,119 @@
+package com.softserve.service;
+
+import com.softserve.dto.GroupScheduleItemDTO;
+import com.softserve.entity.Group;
+import com.softserve.entity.Period;
+import com.softserve.entity.Semester;
+import com.softserve.entity.Teacher;
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.LessonType;
+import com.softserve.repository.ScheduleRepository;
+import com.softserve.service.impl.ScheduleCalendarServiceImpl;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+@Category(UnitTestCategory.class)
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduleCalendarServiceTest {
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @Mock
+    private SemesterService semesterService;
+
+    @Mock
+    private GroupService groupService;
+
+    @Mock
+    private TeacherService teacherService;
+
+    @Mock
+    private ScheduleCacheService scheduleCacheService;
+
+    @InjectMocks
+    private ScheduleCalendarServiceImpl scheduleCalendarService;
+
+    @Test
+    public void writeGroupEventsForEveryDateOfSemesterHonouringWeekParity() throws IOException {
+        Semester semester = new Semester();
+        semester.setId(1L);
+        //Wednesday, so the first week of the semester starts on Monday before the start day
+        semester.setStartDay(LocalDate.of(2020, 9, 2));
+        semester.setEndDay(LocalDate.of(2020, 9, 16));
+        Group group = new Group();
+        group.setId(1L);
+        group.setTitle("111");
+        GroupScheduleItemDTO weeklyItem = new GroupScheduleItemDTO(1L, DayOfWeek.MONDAY, EvenOdd.WEEKLY,
+                createPeriod(1L, LocalTime.of(8, 0), LocalTime.of(9, 20)), "Teacher", "Math, advanced",
+                LessonType.LECTURE, 1L, "101");
+        GroupScheduleItemDTO oddItem = new GroupScheduleItemDTO(1L, DayOfWeek.WEDNESDAY, EvenOdd.ODD,
+                createPeriod(2L, LocalTime.of(9, 40), LocalTime.of(11, 0)), "Teacher", "Physics",
+                LessonType.LABORATORY, 1L, "101");
+        when(semesterService.getById(1L)).thenReturn(semester);
+        when(groupService.getById(1L)).thenReturn(group);
+        when(scheduleCacheService.getLastModified(1L)).thenReturn(0L);
+        when(scheduleRepository.getScheduleItemsForGroupBySemester(1L, 1L)).thenReturn(Arrays.asList(weeklyItem, oddItem));
+
+        StringWriter writer = new StringWriter();
+        scheduleCalendarService.writeGroupCalendar(1L, 1L, writer);
+
+        String calendar = writer.toString();
+        List<String> lines = Arrays.asList(calendar.split("\r\n"));
+        assertTrue(calendar.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(calendar.endsWith("END:VCALENDAR\r\n"));
+        assertEquals(Arrays.asList("DTSTART:20200902T094000", "DTSTART:20200907T080000",
+                "DTSTART:20200914T080000", "DTSTART:20200916T094000"),
+                lines.stream().filter(line -> line.startsWith("DTSTART:")).collect(Collectors.toList()));
+        assertTrue(lines.contains("DTEND:20200907T092000"));
+        assertTrue(lines.contains("SUMMARY:Math\\, advanced (lecture)"));
+        assertTrue(lines.contains("UID:group-1-1-2020-09-07@class-schedule"));
+        assertTrue(lines.contains("DTSTAMP:19700101T000000Z"));
+    }
+
+    @Test
+    public void writeTeacherCalendarNamedWithoutMissingPatronymic() throws IOException {
+        Semester semester = new Semester();
+        semester.setId(1L);
+        semester.setStartDay(LocalDate.of(2020, 9, 1));
+        semester.setEndDay(LocalDate.of(2020, 9, 14));
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        teacher.setSurname("Ivanov");
+        teacher.setName("Ivan");
+        when(semesterService.getById(1L)).thenReturn(semester);
+        when(teacherService.getById(1L)).thenReturn(teacher);
+        when(scheduleCacheService.getLastModified(1L)).thenReturn(0L);
+        when(scheduleRepository.getAllSchedulesByTeacherIdAndSemesterId(1L, 1L)).thenReturn(Collections.emptyList());
+
+        StringWriter writer = new StringWriter();
+        scheduleCalendarService.writeTeacherCalendar(1L, 1L, writer);
+
+        assertTrue(Arrays.asList(writer.toString().split("\r\n")).contains("X-WR-CALNAME:Ivanov Ivan"));
+    }
+
+    private Period createPeriod(long id, LocalTime startTime, LocalTime endTime) {
+        Period period = new Period();
+        period.setId(id);
+        period.setStartTime(startTime);
+        period.setEndTime(endTime);
+        return period;
+    }
+}
@@ -0,0 +1,58 @@
+package com.softserve.service;
+
+import com.softserve.dto.GroupDTO;
+import com.softserve.dto.ScheduleForGroupDTO;
+import com.softserve.service.impl.ScheduleExportServiceImpl;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTestCategory.class)
+public class ScheduleExportServiceTest {
+
+    private final ScheduleExportServiceImpl scheduleExportService = new ScheduleExportServiceImpl();
+
+    @After
+    public void tearDown() {
+        scheduleExportService.shutdown();
+    }
+
+    @Test
+    public void writeGroupSchedulesZipWritesPdfOfEveryGroupWithUniqueName() throws IOException {
+        List<ScheduleForGroupDTO> schedules = new ArrayList<>();
+        for (String title : Arrays.asList("111", "222", "222")) {
+            GroupDTO group = new GroupDTO();
+            group.setTitle(title);
+            ScheduleForGroupDTO schedule = new ScheduleForGroupDTO();
+            schedule.setGroup(group);
+            schedule.setDays(Collections.emptyList());
+            schedules.add(schedule);
+        }
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+
+        scheduleExportService.writeGroupSchedulesZip(schedules, zip);
+
+        Set<String> names = new HashSet<>();
+        try (ZipInputStream entries = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+            for (ZipEntry entry = entries.getNextEntry(); entry != null; entry = entries.getNextEntry()) {
+                names.add(entry.getName());
+                byte[] header = new byte[4];
+                for (int read = 0; read < header.length; ) {
+                    read += entries.read(header, read, header.length - read);
+                }
+                assertEquals("%PDF", new String(header, StandardCharsets.US_ASCII));
+            }
+        }
+        assertEquals(new HashSet<>(Arrays.asList("111.pdf", "222.pdf", "222_2.pdf")), names);
+    }
+}
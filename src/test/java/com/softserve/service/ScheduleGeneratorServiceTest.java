@@ -0,0 +1,359 @@
+package com.softserve.service;
+
+import com.softserve.dto.ScheduleGenerationJobDTO;
+import com.softserve.dto.ScheduleGenerationRequestDTO;
+import com.softserve.dto.SchedulePlacementResultDTO;
+import com.softserve.dto.ScheduleRepairRequestDTO;
+import com.softserve.dto.ScheduleRepairResultDTO;
+import com.softserve.dto.ScheduleSaveDTO;
+import com.softserve.dto.ScheduleTimeDTO;
+import com.softserve.dto.SearchWorkerReportDTO;
+import com.softserve.entity.*;
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.ScheduleGenerationStatus;
+import com.softserve.service.impl.ScheduleGeneratorServiceImpl;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@Category(UnitTestCategory.class)
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduleGeneratorServiceTest {
+
+    @Mock
+    private ScheduleService scheduleService;
+
+    @Mock
+    private SemesterService semesterService;
+
+    @Mock
+    private LessonService lessonService;
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private TeacherWishesService teacherWishesService;
+
+    @InjectMocks
+    private ScheduleGeneratorServiceImpl scheduleGeneratorService;
+
+    @After
+    public void tearDown() {
+        scheduleGeneratorService.shutdown();
+    }
+
+    @Test
+    public void generateSchedulesWithoutConflictsForGroupAndTeacher() throws InterruptedException {
+        mockSemesterWithTwoLessonsOfOneGroup();
+
+        ScheduleGenerationRequestDTO request = new ScheduleGenerationRequestDTO();
+        request.setSemesterId(1L);
+        request.setIterations(10_000);
+        ScheduleGenerationJobDTO job = scheduleGeneratorService.startGeneration(request);
+        for (int i = 0; i < 100 && job.getStatus() == ScheduleGenerationStatus.RUNNING; i++) {
+            Thread.sleep(100);
+            job = scheduleGeneratorService.getJob(job.getId());
+        }
+
+        assertEquals(ScheduleGenerationStatus.FINISHED, job.getStatus());
+        assertEquals(Integer.valueOf(0), job.getHardConflicts());
+        assertEquals(2, job.getSchedules().size());
+        Set<Long> periodIds = new HashSet<>();
+        for (ScheduleSaveDTO schedule : job.getSchedules()) {
+            assertEquals(EvenOdd.WEEKLY, schedule.getEvenOdd());
+            assertEquals(DayOfWeek.MONDAY, schedule.getDayOfWeek());
+            periodIds.add(schedule.getPeriodId());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), periodIds);
+    }
+
+    @Test
+    public void placeRemainingLessonsOnAllWorkersAndReportEveryWorker() {
+        mockSemesterWithTwoLessonsOfOneGroup();
+
+        ScheduleGenerationRequestDTO request = new ScheduleGenerationRequestDTO();
+        request.setSemesterId(1L);
+        request.setTimeLimitMillis(5_000L);
+        SchedulePlacementResultDTO result = scheduleGeneratorService.placeRemaining(request);
+
+        assertEquals(0, result.getHardConflicts());
+        assertEquals(0, result.getWishViolations());
+        assertEquals(2, result.getSchedules().size());
+        assertNotEquals(result.getSchedules().get(0).getPeriodId(), result.getSchedules().get(1).getPeriodId());
+        assertEquals(Runtime.getRuntime().availableProcessors(), result.getWorkers().size());
+        for (SearchWorkerReportDTO report : result.getWorkers()) {
+            assertTrue(report.getStarts() > 0);
+            assertNotNull(report.getBestCost());
+        }
+    }
+
+    @Test
+    public void placeRemainingCountsEvenAndOddClassesAsOneWeeklyClass() {
+        Period firstPeriod = createPeriod(1L, "1 para", LocalTime.of(8, 0));
+        Period secondPeriod = createPeriod(2L, "2 para", LocalTime.of(9, 40));
+        Semester semester = new Semester();
+        semester.setId(1L);
+        semester.setDaysOfWeek(Collections.singleton(DayOfWeek.MONDAY));
+        semester.setPeriods(new HashSet<>(Arrays.asList(firstPeriod, secondPeriod)));
+        Room room = new Room();
+        room.setId(1L);
+        Group group = new Group();
+        group.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setHours(2);
+        lesson.setGroup(group);
+        lesson.setTeacher(teacher);
+        List<Schedule> schedules = Arrays.asList(createSchedule(10L, semester, firstPeriod, EvenOdd.EVEN, lesson, room),
+                createSchedule(11L, semester, firstPeriod, EvenOdd.ODD, lesson, room));
+
+        when(semesterService.getById(1L)).thenReturn(semester);
+        when(lessonService.getAll()).thenReturn(Collections.singletonList(lesson));
+        when(roomService.getAll()).thenReturn(Collections.singletonList(room));
+        doAnswer(invocation -> {
+            Consumer<Schedule> action = invocation.getArgument(1);
+            schedules.forEach(action);
+            return null;
+        }).when(scheduleService).scrollSchedules(eq(1L), any());
+
+        ScheduleGenerationRequestDTO request = new ScheduleGenerationRequestDTO();
+        request.setSemesterId(1L);
+        request.setTimeLimitMillis(1_000L);
+        SchedulePlacementResultDTO result = scheduleGeneratorService.placeRemaining(request);
+
+        assertEquals(0, result.getHardConflicts());
+        assertEquals(1, result.getSchedules().size());
+        assertEquals(Long.valueOf(1L), result.getSchedules().get(0).getLessonId());
+        assertEquals(Long.valueOf(2L), result.getSchedules().get(0).getPeriodId());
+    }
+
+    @Test
+    public void repairMovesOnlyClassOfUnavailableTeacherAndKeepsItsId() {
+        Period firstPeriod = createPeriod(1L, "1 para", LocalTime.of(8, 0));
+        Period secondPeriod = createPeriod(2L, "2 para", LocalTime.of(9, 40));
+        Period thirdPeriod = createPeriod(3L, "3 para", LocalTime.of(11, 20));
+        Semester semester = new Semester();
+        semester.setId(1L);
+        semester.setDaysOfWeek(Collections.singleton(DayOfWeek.MONDAY));
+        semester.setPeriods(new HashSet<>(Arrays.asList(firstPeriod, secondPeriod, thirdPeriod)));
+        Room room = new Room();
+        room.setId(1L);
+        Group group = new Group();
+        group.setId(1L);
+        Teacher firstTeacher = new Teacher();
+        firstTeacher.setId(1L);
+        Teacher secondTeacher = new Teacher();
+        secondTeacher.setId(2L);
+        Lesson firstLesson = new Lesson();
+        firstLesson.setId(1L);
+        firstLesson.setGroup(group);
+        firstLesson.setTeacher(firstTeacher);
+        Lesson secondLesson = new Lesson();
+        secondLesson.setId(2L);
+        secondLesson.setGroup(group);
+        secondLesson.setTeacher(secondTeacher);
+        List<Schedule> schedules = Arrays.asList(createSchedule(10L, semester, firstPeriod, firstLesson, room),
+                createSchedule(11L, semester, secondPeriod, secondLesson, room));
+
+        when(semesterService.getById(1L)).thenReturn(semester);
+        when(roomService.getAll()).thenReturn(Collections.singletonList(room));
+        doAnswer(invocation -> {
+            Consumer<Schedule> action = invocation.getArgument(1);
+            schedules.forEach(action);
+            return null;
+        }).when(scheduleService).scrollSchedules(eq(1L), any());
+
+        ScheduleRepairRequestDTO request = new ScheduleRepairRequestDTO();
+        request.setSemesterId(1L);
+        request.setTeacherId(1L);
+        request.setUnavailableTimes(Collections.singletonList(new ScheduleTimeDTO(DayOfWeek.MONDAY, 1L)));
+        request.setTimeLimitMillis(1_000L);
+        ScheduleRepairResultDTO result = scheduleGeneratorService.repair(request);
+
+        assertEquals(1, result.getFreedClasses());
+        assertEquals(0, result.getHardConflicts());
+        assertEquals(1, result.getChanges().size());
+        ScheduleSaveDTO change = result.getChanges().get(0);
+        assertEquals(Long.valueOf(10L), change.getId());
+        assertEquals(Long.valueOf(3L), change.getPeriodId());
+        assertEquals(Long.valueOf(1L), change.getRoomId());
+        assertEquals(EvenOdd.WEEKLY, change.getEvenOdd());
+    }
+
+    @Test
+    public void repairMovesClassOutOfDisabledRoom() {
+        Period firstPeriod = createPeriod(1L, "1 para", LocalTime.of(8, 0));
+        Period secondPeriod = createPeriod(2L, "2 para", LocalTime.of(9, 40));
+        Semester semester = new Semester();
+        semester.setId(1L);
+        semester.setDaysOfWeek(Collections.singleton(DayOfWeek.MONDAY));
+        semester.setPeriods(new HashSet<>(Arrays.asList(firstPeriod, secondPeriod)));
+        Room openRoom = new Room();
+        openRoom.setId(1L);
+        Room disabledRoom = new Room();
+        disabledRoom.setId(2L);
+        disabledRoom.setDisable(true);
+        Group group = new Group();
+        group.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setGroup(group);
+        lesson.setTeacher(teacher);
+        Schedule schedule = createSchedule(10L, semester, firstPeriod, lesson, disabledRoom);
+
+        when(semesterService.getById(1L)).thenReturn(semester);
+        when(roomService.getAll()).thenReturn(Collections.singletonList(openRoom));
+        when(roomService.getDisabled()).thenReturn(Collections.singletonList(disabledRoom));
+        doAnswer(invocation -> {
+            Consumer<Schedule> action = invocation.getArgument(1);
+            action.accept(schedule);
+            return null;
+        }).when(scheduleService).scrollSchedules(eq(1L), any());
+
+        ScheduleRepairRequestDTO request = new ScheduleRepairRequestDTO();
+        request.setSemesterId(1L);
+        request.setTimeLimitMillis(1_000L);
+        ScheduleRepairResultDTO result = scheduleGeneratorService.repair(request);
+
+        assertEquals(1, result.getFreedClasses());
+        assertEquals(0, result.getHardConflicts());
+        assertEquals(1, result.getChanges().size());
+        ScheduleSaveDTO change = result.getChanges().get(0);
+        assertEquals(Long.valueOf(10L), change.getId());
+        assertEquals(Long.valueOf(1L), change.getRoomId());
+    }
+
+    @Test
+    public void repairPutsHalfWeekClassNextToClassOfTheOtherHalf() {
+        Period firstPeriod = createPeriod(1L, "1 para", LocalTime.of(8, 0));
+        Period secondPeriod = createPeriod(2L, "2 para", LocalTime.of(9, 40));
+        Semester semester = new Semester();
+        semester.setId(1L);
+        semester.setDaysOfWeek(Collections.singleton(DayOfWeek.MONDAY));
+        semester.setPeriods(new HashSet<>(Arrays.asList(firstPeriod, secondPeriod)));
+        Room openRoom = new Room();
+        openRoom.setId(1L);
+        Room disabledRoom = new Room();
+        disabledRoom.setId(2L);
+        disabledRoom.setDisable(true);
+        Group firstGroup = new Group();
+        firstGroup.setId(1L);
+        Group secondGroup = new Group();
+        secondGroup.setId(2L);
+        Teacher firstTeacher = new Teacher();
+        firstTeacher.setId(1L);
+        Teacher secondTeacher = new Teacher();
+        secondTeacher.setId(2L);
+        Lesson firstLesson = new Lesson();
+        firstLesson.setId(1L);
+        firstLesson.setGroup(firstGroup);
+        firstLesson.setTeacher(firstTeacher);
+        Lesson secondLesson = new Lesson();
+        secondLesson.setId(2L);
+        secondLesson.setGroup(secondGroup);
+        secondLesson.setTeacher(secondTeacher);
+        //even class has to leave the disabled room, the only free place is next to its odd partner
+        List<Schedule> schedules = Arrays.asList(createSchedule(10L, semester, firstPeriod, EvenOdd.EVEN, firstLesson, disabledRoom),
+                createSchedule(11L, semester, firstPeriod, EvenOdd.ODD, firstLesson, openRoom),
+                createSchedule(12L, semester, secondPeriod, EvenOdd.WEEKLY, secondLesson, openRoom));
+
+        when(semesterService.getById(1L)).thenReturn(semester);
+        when(roomService.getAll()).thenReturn(Collections.singletonList(openRoom));
+        when(roomService.getDisabled()).thenReturn(Collections.singletonList(disabledRoom));
+        doAnswer(invocation -> {
+            Consumer<Schedule> action = invocation.getArgument(1);
+            schedules.forEach(action);
+            return null;
+        }).when(scheduleService).scrollSchedules(eq(1L), any());
+
+        ScheduleRepairRequestDTO request = new ScheduleRepairRequestDTO();
+        request.setSemesterId(1L);
+        request.setTimeLimitMillis(1_000L);
+        ScheduleRepairResultDTO result = scheduleGeneratorService.repair(request);
+
+        assertEquals(1, result.getFreedClasses());
+        assertEquals(0, result.getHardConflicts());
+        assertEquals(1, result.getChanges().size());
+        ScheduleSaveDTO change = result.getChanges().get(0);
+        assertEquals(Long.valueOf(10L), change.getId());
+        assertEquals(Long.valueOf(1L), change.getPeriodId());
+        assertEquals(Long.valueOf(1L), change.getRoomId());
+        assertEquals(EvenOdd.EVEN, change.getEvenOdd());
+    }
+
+    private Period createPeriod(long id, String name, LocalTime startTime) {
+        Period period = new Period();
+        period.setId(id);
+        period.setName(name);
+        period.setStartTime(startTime);
+        return period;
+    }
+
+    private Schedule createSchedule(long id, Semester semester, Period period, Lesson lesson, Room room) {
+        return createSchedule(id, semester, period, EvenOdd.WEEKLY, lesson, room);
+    }
+
+    private Schedule createSchedule(long id, Semester semester, Period period, EvenOdd evenOdd, Lesson lesson, Room room) {
+        Schedule schedule = new Schedule();
+        schedule.setId(id);
+        schedule.setSemester(semester);
+        schedule.setDayOfWeek(DayOfWeek.MONDAY);
+        schedule.setEvenOdd(evenOdd);
+        schedule.setPeriod(period);
+        schedule.setLesson(lesson);
+        schedule.setRoom(room);
+        return schedule;
+    }
+
+    private void mockSemesterWithTwoLessonsOfOneGroup() {
+        Period firstPeriod = new Period();
+        firstPeriod.setId(1L);
+        firstPeriod.setName("1 para");
+        firstPeriod.setStartTime(LocalTime.of(8, 0));
+        Period secondPeriod = new Period();
+        secondPeriod.setId(2L);
+        secondPeriod.setName("2 para");
+        secondPeriod.setStartTime(LocalTime.of(9, 40));
+        Semester semester = new Semester();
+        semester.setId(1L);
+        semester.setDaysOfWeek(Collections.singleton(DayOfWeek.MONDAY));
+        semester.setPeriods(new HashSet<>(Arrays.asList(firstPeriod, secondPeriod)));
+        Room room = new Room();
+        room.setId(1L);
+        Group group = new Group();
+        group.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        Lesson firstLesson = new Lesson();
+        firstLesson.setId(1L);
+        firstLesson.setHours(1);
+        firstLesson.setGroup(group);
+        firstLesson.setTeacher(teacher);
+        Lesson secondLesson = new Lesson();
+        secondLesson.setId(2L);
+        secondLesson.setHours(1);
+        secondLesson.setGroup(group);
+        secondLesson.setTeacher(teacher);
+
+        when(semesterService.getById(1L)).thenReturn(semester);
+        when(lessonService.getAll()).thenReturn(Arrays.asList(firstLesson, secondLesson));
+        when(roomService.getAll()).thenReturn(Collections.singletonList(room));
+    }
+}
@@ -0,0 +1,120 @@
+package com.softserve.service;
+
+import com.softserve.dto.OccupancyGridDTO;
+import com.softserve.dto.ScheduleSlotDTO;
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.repository.ScheduleRepository;
+import com.softserve.service.impl.ScheduleOccupancyServiceImpl;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+@Category(UnitTestCategory.class)
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduleOccupancyServiceTest {
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ScheduleOccupancyServiceImpl scheduleOccupancyService;
+
+    @Test
+    public void returnOccupiedSlotsForGroupTeacherAndRoom() {
+        List<ScheduleSlotDTO> slots = new ArrayList<>();
+        slots.add(new ScheduleSlotDTO(1L, 1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L, 1L, 1L));
+        slots.add(new ScheduleSlotDTO(2L, 1L, DayOfWeek.TUESDAY, EvenOdd.WEEKLY, 2L, 2L, 2L, 2L));
+
+        when(scheduleRepository.getScheduleSlotsBySemester(1L)).thenReturn(slots);
+
+        assertTrue(scheduleOccupancyService.isGroupOccupied(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L));
+        assertTrue(scheduleOccupancyService.isGroupOccupied(1L, DayOfWeek.MONDAY, EvenOdd.WEEKLY, 1L, 1L));
+        assertFalse(scheduleOccupancyService.isGroupOccupied(1L, DayOfWeek.MONDAY, EvenOdd.ODD, 1L, 1L));
+        assertFalse(scheduleOccupancyService.isGroupOccupied(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 2L, 1L));
+        assertTrue(scheduleOccupancyService.isTeacherOccupied(1L, DayOfWeek.TUESDAY, EvenOdd.ODD, 2L, 2L));
+        assertFalse(scheduleOccupancyService.isTeacherOccupied(1L, DayOfWeek.TUESDAY, EvenOdd.ODD, 2L, 1L));
+        assertTrue(scheduleOccupancyService.isRoomOccupied(1L, DayOfWeek.TUESDAY, EvenOdd.EVEN, 2L, 2L));
+        assertFalse(scheduleOccupancyService.isRoomOccupied(1L, DayOfWeek.WEDNESDAY, EvenOdd.EVEN, 2L, 2L));
+        verify(scheduleRepository, times(1)).getScheduleSlotsBySemester(1L);
+    }
+
+    @Test
+    public void returnOccupancyGridInOrderOfRequestedPeriods() {
+        List<ScheduleSlotDTO> slots = new ArrayList<>();
+        slots.add(new ScheduleSlotDTO(1L, 1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L, 1L, 1L));
+        slots.add(new ScheduleSlotDTO(2L, 1L, DayOfWeek.TUESDAY, EvenOdd.WEEKLY, 2L, 2L, 2L, 2L));
+
+        when(scheduleRepository.getScheduleSlotsBySemester(1L)).thenReturn(slots);
+
+        OccupancyGridDTO grid = scheduleOccupancyService.getOccupancyGrid(1L, Arrays.asList(2L, 1L), 1L, 2L, Arrays.asList(1L, 2L, 3L));
+        assertTrue(OccupancyGridDTO.isOccupied(grid.getGroup(), 1, DayOfWeek.MONDAY, EvenOdd.EVEN));
+        assertFalse(OccupancyGridDTO.isOccupied(grid.getGroup(), 1, DayOfWeek.MONDAY, EvenOdd.ODD));
+        assertFalse(OccupancyGridDTO.isOccupied(grid.getGroup(), 0, DayOfWeek.MONDAY, EvenOdd.EVEN));
+        assertTrue(OccupancyGridDTO.isOccupied(grid.getTeacher(), 0, DayOfWeek.TUESDAY, EvenOdd.ODD));
+        assertTrue(OccupancyGridDTO.isOccupied(grid.getRooms().get(1L), 1, DayOfWeek.MONDAY, EvenOdd.WEEKLY));
+        assertTrue(OccupancyGridDTO.isOccupied(grid.getRooms().get(2L), 0, DayOfWeek.TUESDAY, EvenOdd.EVEN));
+        assertFalse(OccupancyGridDTO.isOccupied(grid.getRooms().get(3L), 0, DayOfWeek.TUESDAY, EvenOdd.EVEN));
+        verify(scheduleRepository, times(1)).getScheduleSlotsBySemester(1L);
+    }
+
+    @Test
+    public void keepRoomOccupiedIfAnotherScheduleUsesItAfterRemove() {
+        List<ScheduleSlotDTO> slots = new ArrayList<>();
+        slots.add(new ScheduleSlotDTO(1L, 1L, DayOfWeek.MONDAY, EvenOdd.WEEKLY, 1L, 1L, 1L, 1L));
+        slots.add(new ScheduleSlotDTO(2L, 1L, DayOfWeek.MONDAY, EvenOdd.ODD, 1L, 2L, 2L, 1L));
+
+        when(scheduleRepository.getScheduleSlotsBySemester(1L)).thenReturn(slots);
+
+        assertTrue(scheduleOccupancyService.isRoomOccupied(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L));
+        scheduleOccupancyService.removeSchedule(1L);
+        assertFalse(scheduleOccupancyService.isGroupOccupied(1L, DayOfWeek.MONDAY, EvenOdd.WEEKLY, 1L, 1L));
+        assertFalse(scheduleOccupancyService.isRoomOccupied(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L));
+        assertTrue(scheduleOccupancyService.isRoomOccupied(1L, DayOfWeek.MONDAY, EvenOdd.ODD, 1L, 1L));
+        verify(scheduleRepository, times(1)).getScheduleSlotsBySemester(1L);
+    }
+
+    @Test
+    public void moveScheduleToNewSlotOnUpdate() {
+        List<ScheduleSlotDTO> slots = new ArrayList<>();
+        slots.add(new ScheduleSlotDTO(1L, 1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L, 1L, 1L));
+
+        when(scheduleRepository.getScheduleSlotsBySemester(1L)).thenReturn(slots);
+
+        assertTrue(scheduleOccupancyService.isGroupOccupied(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L));
+        scheduleOccupancyService.addSchedule(new ScheduleSlotDTO(1L, 1L, DayOfWeek.FRIDAY, EvenOdd.ODD, 3L, 1L, 1L, 1L));
+        assertFalse(scheduleOccupancyService.isGroupOccupied(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L));
+        assertTrue(scheduleOccupancyService.isGroupOccupied(1L, DayOfWeek.FRIDAY, EvenOdd.WEEKLY, 3L, 1L));
+        assertTrue(scheduleOccupancyService.isTeacherOccupied(1L, DayOfWeek.FRIDAY, EvenOdd.ODD, 3L, 1L));
+        verify(scheduleRepository, times(1)).getScheduleSlotsBySemester(1L);
+    }
+
+    @Test
+    public void loadIndexInOwnReadOnlyTransaction() {
+        when(scheduleRepository.getScheduleSlotsBySemester(1L)).thenReturn(Collections.singletonList(
+                new ScheduleSlotDTO(1L, 1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L, 1L, 1L)));
+
+        assertTrue(scheduleOccupancyService.isGroupOccupied(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L));
+        assertTrue(scheduleOccupancyService.isTeacherOccupied(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L));
+        verify(transactionManager, times(1)).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(scheduleRepository, times(1)).getScheduleSlotsBySemester(1L);
+    }
+}
@@ -0,0 +1,85 @@
+package com.softserve.service;
+
+import com.softserve.service.impl.SchedulePdfCacheServiceImpl;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTestCategory.class)
+public class SchedulePdfCacheServiceTest {
+
+    private final SchedulePdfCacheServiceImpl schedulePdfCacheService;
+
+    public SchedulePdfCacheServiceTest() throws IOException {
+        schedulePdfCacheService = new SchedulePdfCacheServiceImpl();
+    }
+
+    @After
+    public void tearDown() {
+        schedulePdfCacheService.shutdown();
+    }
+
+    @Test
+    public void renderPdfOncePerScheduleVersion() throws IOException {
+        AtomicInteger renders = new AtomicInteger();
+        SchedulePdfCacheService.PdfContentWriter writer = outputStream -> outputStream.write(
+                ("pdf " + renders.incrementAndGet()).getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals("pdf 1", read(schedulePdfCacheService.getOrRender(1L, "groups:1", 1L, writer)));
+        assertEquals("pdf 1", read(schedulePdfCacheService.getOrRender(1L, "groups:1", 1L, writer)));
+        assertEquals("pdf 2", read(schedulePdfCacheService.getOrRender(1L, "groups:2", 1L, writer)));
+        assertEquals("pdf 3", read(schedulePdfCacheService.getOrRender(1L, "groups:1", 2L, writer)));
+        assertEquals("pdf 3", read(schedulePdfCacheService.getOrRender(1L, "groups:1", 2L, writer)));
+        assertEquals(3, renders.get());
+    }
+
+    @Test
+    public void renderPdfOnceForConcurrentRequestsOfTheSameVersion() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        SchedulePdfCacheService.PdfContentWriter writer = outputStream -> {
+            int render = renders.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            outputStream.write(("pdf " + render).getBytes(StandardCharsets.US_ASCII));
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> requests = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                requests.add(executor.submit(() -> read(schedulePdfCacheService.getOrRender(1L, "groups:1", 1L, writer))));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> request : requests) {
+                assertEquals("pdf 1", request.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, renders.get());
+    }
+
+    private String read(FileChannel channel) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (FileChannel pdf = channel) {
+            pdf.transferTo(0, pdf.size(), Channels.newChannel(content));
+        }
+        return new String(content.toByteArray(), StandardCharsets.US_ASCII);
+    }
+}
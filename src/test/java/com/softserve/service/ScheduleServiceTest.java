@@ -4,6 +4,8 @@ import com.softserve.dto.*;
 import com.softserve.entity.*;
 import com.softserve.entity.enums.EvenOdd;
 import com.softserve.entity.enums.LessonType;
+import com.softserve.entity.enums.ScheduleIssueType;
+import com.softserve.entity.enums.WishStatuses;
 import com.softserve.exception.EntityNotFoundException;
 import com.softserve.exception.ScheduleConflictException;
 import com.softserve.mapper.*;
@@ -11,6 +13,7 @@ import com.softserve.repository.ScheduleRepository;
 import com.softserve.service.impl.ScheduleServiceImpl;
 import com.softserve.service.impl.SemesterServiceImpl;
 import com.softserve.service.impl.TeacherServiceImpl;
+import com.softserve.util.TeacherWishMask;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
@@ -74,6 +77,15 @@ public class ScheduleServiceTest {
     @Mock
     private TeacherWishesService teacherWishesService;
 
+    @Mock
+    private ScheduleOccupancyService scheduleOccupancyService;
+
+    @Mock
+    private ScheduleCacheService scheduleCacheService;
+
+    @Mock
+    private PeriodService periodService;
+
     @InjectMocks
     private ScheduleServiceImpl scheduleService;
 
@@ -112,6 +124,9 @@ public class ScheduleServiceTest {
         Lesson lesson = new Lesson();
         lesson.setGroup(group);
         lesson.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        lesson.setTeacher(teacher);
         Semester semester = new Semester();
         semester.setId(1L);
         Period period = new Period();
@@ -132,7 +147,7 @@ public class ScheduleServiceTest {
 
         doReturn(lesson).when(lessonService).getById(1L);
         Long groupId = lessonService.getById(1L).getGroup().getId();
-        doReturn(0L).when(scheduleRepository).conflictForGroupInSchedule(
+        doReturn(false).when(scheduleOccupancyService).isGroupOccupied(
                 expectedSchedule.getSemester().getId(),
                 expectedSchedule.getDayOfWeek(),
                 expectedSchedule.getEvenOdd(),
@@ -143,12 +158,14 @@ public class ScheduleServiceTest {
         assertNotNull(actualSchedule);
         assertEquals(expectedSchedule, actualSchedule);
         verify(lessonService, times(2)).getById(1L);
-        verify(scheduleRepository, times(1)).conflictForGroupInSchedule(
+        verify(scheduleOccupancyService, times(1)).isGroupOccupied(
                 expectedSchedule.getSemester().getId(),
                 expectedSchedule.getDayOfWeek(),
                 expectedSchedule.getEvenOdd(),
                 expectedSchedule.getPeriod().getId(), groupId);
         verify(scheduleRepository, times(1)).save(expectedSchedule);
+        verify(scheduleOccupancyService, times(1)).addSchedule(new ScheduleSlotDTO(expectedSchedule.getId(), semester.getId(),
+                expectedSchedule.getDayOfWeek(), expectedSchedule.getEvenOdd(), period.getId(), group.getId(), teacher.getId(), room.getId()));
     }
 
     @Test(expected = ScheduleConflictException.class)
@@ -175,7 +192,7 @@ public class ScheduleServiceTest {
 
         doReturn(lesson).when(lessonService).getById(1L);
         Long groupId = lessonService.getById(1L).getGroup().getId();
-        doReturn(1L).when(scheduleRepository).conflictForGroupInSchedule(
+        doReturn(true).when(scheduleOccupancyService).isGroupOccupied(
                 expectedSchedule.getSemester().getId(),
                 expectedSchedule.getDayOfWeek(),
                 expectedSchedule.getEvenOdd(),
@@ -183,7 +200,7 @@ public class ScheduleServiceTest {
 
         scheduleService.save(expectedSchedule);
         verify(lessonService, times(2)).getById(1L);
-        verify(scheduleRepository, times(1)).conflictForGroupInSchedule(
+        verify(scheduleOccupancyService, times(1)).isGroupOccupied(
                 expectedSchedule.getSemester().getId(),
                 expectedSchedule.getDayOfWeek(),
                 expectedSchedule.getEvenOdd(),
@@ -220,6 +237,9 @@ public class ScheduleServiceTest {
         Lesson lesson = new Lesson();
         lesson.setGroup(group);
         lesson.setId(2L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        lesson.setTeacher(teacher);
         Semester semester = new Semester();
         semester.setId(2L);
         Period period = new Period();
@@ -240,7 +260,7 @@ public class ScheduleServiceTest {
 
         doReturn(lesson).when(lessonService).getById(2L);
         Long groupId = lessonService.getById(2L).getGroup().getId();
-        doReturn(0L).when(scheduleRepository).conflictForGroupInSchedule(
+        doReturn(false).when(scheduleOccupancyService).isGroupOccupied(
                 expectedSchedule.getSemester().getId(),
                 expectedSchedule.getDayOfWeek(),
                 expectedSchedule.getEvenOdd(),
@@ -251,12 +271,14 @@ public class ScheduleServiceTest {
         assertNotNull(oldSchedule);
         assertEquals(expectedSchedule, oldSchedule);
         verify(lessonService, times(2)).getById(2L);
-        verify(scheduleRepository, times(1)).conflictForGroupInSchedule(
+        verify(scheduleOccupancyService, times(1)).isGroupOccupied(
                 expectedSchedule.getSemester().getId(),
                 expectedSchedule.getDayOfWeek(),
                 expectedSchedule.getEvenOdd(),
                 expectedSchedule.getPeriod().getId(), groupId);
         verify(scheduleRepository, times(1)).update(expectedSchedule);
+        verify(scheduleOccupancyService, times(1)).addSchedule(new ScheduleSlotDTO(expectedSchedule.getId(), semester.getId(),
+                expectedSchedule.getDayOfWeek(), expectedSchedule.getEvenOdd(), period.getId(), group.getId(), teacher.getId(), room.getId()));
     }
 
     @Test(expected = ScheduleConflictException.class)
@@ -309,7 +331,7 @@ public class ScheduleServiceTest {
 
         doReturn(lesson).when(lessonService).getById(2L);
         Long groupId = lessonService.getById(2L).getGroup().getId();
-        doReturn(1L).when(scheduleRepository).conflictForGroupInSchedule(
+        doReturn(true).when(scheduleOccupancyService).isGroupOccupied(
                 expectedSchedule.getSemester().getId(),
                 expectedSchedule.getDayOfWeek(),
                 expectedSchedule.getEvenOdd(),
@@ -319,7 +341,7 @@ public class ScheduleServiceTest {
         assertNotNull(oldSchedule);
         assertEquals(expectedSchedule, oldSchedule);
         verify(lessonService, times(2)).getById(2L);
-        verify(scheduleRepository, times(1)).conflictForGroupInSchedule(
+        verify(scheduleOccupancyService, times(1)).isGroupOccupied(
                 expectedSchedule.getSemester().getId(),
                 expectedSchedule.getDayOfWeek(),
                 expectedSchedule.getEvenOdd(),
@@ -454,12 +476,14 @@ public class ScheduleServiceTest {
         expectedDTO.setRooms(allRooms);
         expectedDTO.setClassSuitsToTeacher(true);
 
-        doReturn(lesson).when(lessonService).getById(anyLong());
-        Long groupId = lessonService.getById(1L).getGroup().getId();
-        doReturn(0L).when(scheduleRepository).conflictForGroupInSchedule(semesterId, dayOfWeek, evenOdd, classId, groupId);
-        Long teacherId = lessonService.getById(1L).getTeacher().getId();
-        doReturn(true).when(teacherWishesService).isClassSuits(teacherId, dayOfWeek, evenOdd, classId);
-        doReturn(0L).when(scheduleRepository).conflictForTeacherInSchedule(semesterId, dayOfWeek, evenOdd, classId, teacherId);
+        Wishes[] teacherWishes = {new Wishes().withDayOfWeek(DayOfWeek.MONDAY).withEvenOdd(EvenOdd.EVEN)
+                .withWishes(Collections.singletonList(new Wish().withClassName("2 para").withStatus(WishStatuses.BAD)))};
+        doReturn(new LessonScheduleInfoDTO(lesson, "1 para")).when(lessonService).getLessonScheduleInfo(lessonId, classId);
+        doReturn(TeacherWishMask.of(teacherWishes, getPeriodsOfOneAndTwoPara())).when(teacherWishesService).getWishMask(teacher.getId());
+        Long groupId = group.getId();
+        doReturn(false).when(scheduleOccupancyService).isGroupOccupied(semesterId, dayOfWeek, evenOdd, classId, groupId);
+        Long teacherId = teacher.getId();
+        doReturn(false).when(scheduleOccupancyService).isTeacherOccupied(semesterId, dayOfWeek, evenOdd, classId, teacherId);
         doReturn(allRooms).when(roomService).getAllRoomsForCreatingSchedule(semesterId, dayOfWeek, evenOdd, classId);
 
         CreateScheduleInfoDTO actualDTO = scheduleService.getInfoForCreatingSchedule(semesterId, dayOfWeek, evenOdd, classId, lessonId);
@@ -468,9 +492,30 @@ public class ScheduleServiceTest {
         assertEquals(expectedDTO.getRooms().size(), actualDTO.getRooms().size());
         assertEquals(expectedDTO.getRooms().get(0), actualDTO.getRooms().get(0));
         assertEquals(expectedDTO.getRooms().get(1), actualDTO.getRooms().get(1));
-        verify(lessonService, times(5)).getById(anyLong());
-        verify(scheduleRepository, times(1)).conflictForGroupInSchedule(semesterId, dayOfWeek, evenOdd, classId, groupId);
-        verify(scheduleRepository, times(1)).conflictForTeacherInSchedule(semesterId, dayOfWeek, evenOdd, classId, teacherId);
+        verify(lessonService, times(1)).getLessonScheduleInfo(lessonId, classId);
+        verify(lessonService, never()).getById(anyLong());
+        verify(scheduleOccupancyService, times(1)).isGroupOccupied(semesterId, dayOfWeek, evenOdd, classId, groupId);
+        verify(scheduleOccupancyService, times(1)).isTeacherOccupied(semesterId, dayOfWeek, evenOdd, classId, teacherId);
+    }
+
+    @Test
+    public void getInfoForCreatingScheduleReportsClassOnBadWishOnlyForTheSameEvenOdd() {
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        Group group = new Group();
+        group.setId(1L);
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setTeacher(teacher);
+        lesson.setGroup(group);
+        Wishes[] teacherWishes = {new Wishes().withDayOfWeek(DayOfWeek.MONDAY).withEvenOdd(EvenOdd.EVEN)
+                .withWishes(Collections.singletonList(new Wish().withClassName("1 para").withStatus(WishStatuses.BAD)))};
+        doReturn(new LessonScheduleInfoDTO(lesson, "1 para")).when(lessonService).getLessonScheduleInfo(1L, 1L);
+        doReturn(TeacherWishMask.of(teacherWishes, getPeriodsOfOneAndTwoPara())).when(teacherWishesService).getWishMask(1L);
+
+        assertFalse(scheduleService.getInfoForCreatingSchedule(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L).isClassSuitsToTeacher());
+        assertTrue(scheduleService.getInfoForCreatingSchedule(1L, DayOfWeek.MONDAY, EvenOdd.ODD, 1L, 1L).isClassSuitsToTeacher());
+        assertTrue(scheduleService.getInfoForCreatingSchedule(1L, DayOfWeek.MONDAY, EvenOdd.WEEKLY, 1L, 1L).isClassSuitsToTeacher());
     }
 
     @Test(expected = ScheduleConflictException.class)
@@ -485,13 +530,11 @@ public class ScheduleServiceTest {
         lesson.setId(1L);
         lesson.setGroup(group);
 
-        doReturn(lesson).when(lessonService).getById(anyLong());
-        Long groupId = lessonService.getById(1L).getGroup().getId();
-        doReturn(1L).when(scheduleRepository).conflictForGroupInSchedule(semesterId, dayOfWeek, evenOdd, classId, groupId);
+        doReturn(new LessonScheduleInfoDTO(lesson, "1 para")).when(lessonService).getLessonScheduleInfo(1L, classId);
+        Long groupId = group.getId();
+        doReturn(true).when(scheduleOccupancyService).isGroupOccupied(semesterId, dayOfWeek, evenOdd, classId, groupId);
 
-        scheduleService.getInfoForCreatingSchedule(semesterId, dayOfWeek, evenOdd, classId, groupId);
-        verify(lessonService, times(1)).getById(anyLong());
-        verify(scheduleRepository, times(1)).conflictForGroupInSchedule(semesterId, dayOfWeek, evenOdd, classId, groupId);
+        scheduleService.getInfoForCreatingSchedule(semesterId, dayOfWeek, evenOdd, classId, 1L);
     }
 
     @Test
@@ -626,25 +669,21 @@ public class ScheduleServiceTest {
         List<ScheduleForGroupDTO> scheduleForGroupDTOList = new ArrayList<>();
         scheduleForGroupDTOList.add(scheduleForGroupDTO);
 
-        when(scheduleRepository.countSchedulesForGroupInSemester(semester.getId(), group.getId())).thenReturn(1L);
+        GroupScheduleItemDTO firstEvenItem = createGroupScheduleItem(group.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN, firstClasses, biology, laboratory);
+        GroupScheduleItemDTO firstOddItem = createGroupScheduleItem(group.getId(), DayOfWeek.MONDAY, EvenOdd.ODD, firstClasses, astronomy, practical);
+        GroupScheduleItemDTO secondEvenItem = createGroupScheduleItem(group.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN, secondClasses, biology, laboratory);
+        GroupScheduleItemDTO secondOddItem = createGroupScheduleItem(group.getId(), DayOfWeek.MONDAY, EvenOdd.ODD, secondClasses, astronomy, practical);
+        List<GroupScheduleItemDTO> items = Arrays.asList(firstEvenItem, firstOddItem, secondEvenItem, secondOddItem);
+
+        when(scheduleRepository.getScheduleItemsForGroupBySemester(semester.getId(), group.getId())).thenReturn(items);
         when(groupService.getById(1L)).thenReturn(group);
-        when(scheduleRepository.getDaysWhenGroupHasClassesBySemester(semester.getId(), group.getId())).thenReturn(dayOfWeekList);
-        when(scheduleRepository.periodsForGroupByDayBySemester(semester.getId(), group.getId(), DayOfWeek.MONDAY)).thenReturn(periodList);
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), group.getId(), firstClasses.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(Optional.of(biology));
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), group.getId(), firstClasses.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(Optional.of(astronomy));
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), group.getId(), secondClasses.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(Optional.of(biology));
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), group.getId(), secondClasses.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(Optional.of(astronomy));
-        when(scheduleRepository.getRoomForLesson(semester.getId(), firstClasses.getId(), biology.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(laboratory);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), firstClasses.getId(), astronomy.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(practical);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), secondClasses.getId(), biology.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(laboratory);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), secondClasses.getId(), astronomy.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(practical);
         when(groupMapper.groupToGroupDTO(group)).thenReturn(groupDTO);
         when(periodMapper.convertToDto(firstClasses)).thenReturn(firstPeriodDTO);
         when(periodMapper.convertToDto(secondClasses)).thenReturn(secondPeriodDTO);
-        when(lessonsInScheduleMapper.lessonToLessonsInScheduleDTO(biology)).thenReturn(firstLesson);
-        when(lessonsInScheduleMapper.lessonToLessonsInScheduleDTO(astronomy)).thenReturn(secondLesson);
-        when(roomForScheduleMapper.roomToRoomForScheduleDTO(laboratory)).thenReturn(laboratoryDTO);
-        when(roomForScheduleMapper.roomToRoomForScheduleDTO(practical)).thenReturn(practicalDTO);
+        when(lessonsInScheduleMapper.groupScheduleItemToLessonsInScheduleDTO(firstEvenItem)).thenReturn(firstLesson);
+        when(lessonsInScheduleMapper.groupScheduleItemToLessonsInScheduleDTO(firstOddItem)).thenReturn(secondLesson);
+        when(lessonsInScheduleMapper.groupScheduleItemToLessonsInScheduleDTO(secondEvenItem)).thenReturn(firstLesson);
+        when(lessonsInScheduleMapper.groupScheduleItemToLessonsInScheduleDTO(secondOddItem)).thenReturn(secondLesson);
 
         List<ScheduleForGroupDTO> forGroupDTOList = scheduleService.getFullScheduleForGroup(semester.getId(), group.getId());
         assertNotNull(forGroupDTOList);
@@ -787,24 +826,21 @@ public class ScheduleServiceTest {
         List<ScheduleForGroupDTO> scheduleForGroupDTOList = new ArrayList<>();
         scheduleForGroupDTOList.add(scheduleForGroupDTO);
 
+        GroupScheduleItemDTO firstEvenItem = createGroupScheduleItem(groupInList.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN, firstClasses, biology, laboratory);
+        GroupScheduleItemDTO firstOddItem = createGroupScheduleItem(groupInList.getId(), DayOfWeek.MONDAY, EvenOdd.ODD, firstClasses, astronomy, practical);
+        GroupScheduleItemDTO secondEvenItem = createGroupScheduleItem(groupInList.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN, secondClasses, biology, laboratory);
+        GroupScheduleItemDTO secondOddItem = createGroupScheduleItem(groupInList.getId(), DayOfWeek.MONDAY, EvenOdd.ODD, secondClasses, astronomy, practical);
+        List<GroupScheduleItemDTO> items = Arrays.asList(firstEvenItem, firstOddItem, secondEvenItem, secondOddItem);
+
         when(scheduleRepository.uniqueGroupsInScheduleBySemester(semester.getId())).thenReturn(groupList);
-        when(scheduleRepository.getDaysWhenGroupHasClassesBySemester(semester.getId(), groupInList.getId())).thenReturn(dayOfWeekList);
-        when(scheduleRepository.periodsForGroupByDayBySemester(semester.getId(), groupInList.getId(), DayOfWeek.MONDAY)).thenReturn(periodList);
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), groupInList.getId(), firstClasses.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(Optional.of(biology));
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), groupInList.getId(), firstClasses.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(Optional.of(astronomy));
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), groupInList.getId(), secondClasses.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(Optional.of(biology));
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), groupInList.getId(), secondClasses.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(Optional.of(astronomy));
-        when(scheduleRepository.getRoomForLesson(semester.getId(), firstClasses.getId(), biology.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(laboratory);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), firstClasses.getId(), astronomy.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(practical);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), secondClasses.getId(), biology.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(laboratory);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), secondClasses.getId(), astronomy.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(practical);
+        when(scheduleRepository.getScheduleItemsForGroupsBySemester(semester.getId())).thenReturn(items);
         when(groupMapper.groupToGroupDTO(groupInList)).thenReturn(groupDTO);
         when(periodMapper.convertToDto(firstClasses)).thenReturn(firstPeriodDTO);
         when(periodMapper.convertToDto(secondClasses)).thenReturn(secondPeriodDTO);
-        when(lessonsInScheduleMapper.lessonToLessonsInScheduleDTO(biology)).thenReturn(firstLesson);
-        when(lessonsInScheduleMapper.lessonToLessonsInScheduleDTO(astronomy)).thenReturn(secondLesson);
-        when(roomForScheduleMapper.roomToRoomForScheduleDTO(laboratory)).thenReturn(laboratoryDTO);
-        when(roomForScheduleMapper.roomToRoomForScheduleDTO(practical)).thenReturn(practicalDTO);
+        when(lessonsInScheduleMapper.groupScheduleItemToLessonsInScheduleDTO(firstEvenItem)).thenReturn(firstLesson);
+        when(lessonsInScheduleMapper.groupScheduleItemToLessonsInScheduleDTO(firstOddItem)).thenReturn(secondLesson);
+        when(lessonsInScheduleMapper.groupScheduleItemToLessonsInScheduleDTO(secondEvenItem)).thenReturn(firstLesson);
+        when(lessonsInScheduleMapper.groupScheduleItemToLessonsInScheduleDTO(secondOddItem)).thenReturn(secondLesson);
 
         List<ScheduleForGroupDTO> forGroupDTOList = scheduleService.getFullScheduleForGroup(semester.getId(), group.getId());
         assertNotNull(forGroupDTOList);
@@ -961,16 +997,14 @@ public class ScheduleServiceTest {
         scheduleFullDTO.setSchedule(scheduleForGroupDTOList);
         scheduleFullDTO.setSemester(semesterDTO);
 
+        List<Schedule> schedules = new ArrayList<>();
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.EVEN, firstClasses, biology, laboratory));
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.ODD, firstClasses, astronomy, practical));
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.EVEN, secondClasses, biology, laboratory));
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.ODD, secondClasses, astronomy, practical));
+
         when(semesterService.getById(semester.getId())).thenReturn(semester);
-        when(scheduleRepository.uniqueGroupsInScheduleBySemester(semester.getId())).thenReturn(groupList);
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), group.getId(), firstClasses.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(Optional.of(biology));
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), group.getId(), firstClasses.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(Optional.of(astronomy));
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), group.getId(), secondClasses.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(Optional.of(biology));
-        when(scheduleRepository.lessonForGroupByDayBySemesterByPeriodByWeek(semester.getId(), group.getId(), secondClasses.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(Optional.of(astronomy));
-        when(scheduleRepository.getRoomForLesson(semester.getId(), firstClasses.getId(), biology.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(laboratory);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), firstClasses.getId(), astronomy.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(practical);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), secondClasses.getId(), biology.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(laboratory);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), secondClasses.getId(), astronomy.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(practical);
+        when(scheduleRepository.getSchedulesWithRelationsBySemester(semester.getId())).thenReturn(schedules);
         when(groupMapper.groupToGroupDTO(group)).thenReturn(groupDTO);
         when(periodMapper.convertToDto(firstClasses)).thenReturn(firstPeriodDTO);
         when(periodMapper.convertToDto(secondClasses)).thenReturn(secondPeriodDTO);
@@ -1130,17 +1164,14 @@ public class ScheduleServiceTest {
 
         when(teacherService.getById(teacher.getId())).thenReturn(teacher);
         when(teacherMapper.teacherToTeacherDTO(teacher)).thenReturn(teacherDTO);
-        when(scheduleRepository.getDaysWhenTeacherHasClassesBySemester(semester.getId(), teacher.getId())).thenReturn(dayOfWeekList);
-        when(scheduleRepository.periodsForTeacherBySemesterByDayByWeek(semester.getId(), teacher.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(evenPeriodList);
-        when(scheduleRepository.periodsForTeacherBySemesterByDayByWeek(semester.getId(), teacher.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(oddPeriodList);
+        List<Schedule> schedules = new ArrayList<>();
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.EVEN, firstClasses, biology, laboratory));
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.ODD, secondClasses, astronomy, practical));
+        when(scheduleRepository.getAllSchedulesByTeacherIdAndSemesterId(teacher.getId(), semester.getId())).thenReturn(schedules);
         when(periodMapper.convertToDto(firstClasses)).thenReturn(firstPeriodDTO);
         when(periodMapper.convertToDto(secondClasses)).thenReturn(secondPeriodDTO);
-        when(scheduleRepository.lessonsForTeacherBySemesterByDayByPeriodByWeek(semester.getId(), teacher.getId(), firstClasses.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(evenLessons);
-        when(scheduleRepository.lessonsForTeacherBySemesterByDayByPeriodByWeek(semester.getId(), teacher.getId(), secondClasses.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(oddLessons);
         when(lessonForTeacherScheduleMapper.lessonToLessonForTeacherScheduleDTO(biology)).thenReturn(evenLessonForTeacher);
         when(lessonForTeacherScheduleMapper.lessonToLessonForTeacherScheduleDTO(astronomy)).thenReturn(oddLessonForTeacher);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), firstClasses.getId(), biology.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(laboratory);
-        when(scheduleRepository.getRoomForLesson(semester.getId(), secondClasses.getId(), astronomy.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(practical);
 
         ScheduleForTeacherDTO result = scheduleService.getScheduleForTeacher(semester.getId(), teacher.getId());
         assertNotNull(result);
@@ -1275,19 +1306,363 @@ public class ScheduleServiceTest {
         List<ScheduleForRoomDTO> scheduleForRoomDTOS = new ArrayList<>();
         scheduleForRoomDTOS.add(laboratoryDTO);
 
-        when(roomService.getRoomsWithSchedule(semester.getId())).thenReturn(roomList);
-//        when(scheduleRepository.getDaysWhenRoomHasClassesBySemester(semester.getId(), laboratory.getId())).thenReturn(dayOfWeekList);
-        when(scheduleRepository.getPeriodsForRoomBySemesterByDayOfWeek(semester.getId(), laboratory.getId(), DayOfWeek.MONDAY)).thenReturn(periodList);
-        when(scheduleRepository.lessonForRoomByDayBySemesterByPeriodByWeek(semester.getId(), laboratory.getId(), firstClasses.getId(), DayOfWeek.MONDAY, EvenOdd.EVEN)).thenReturn(evenLessons);
-        when(scheduleRepository.lessonForRoomByDayBySemesterByPeriodByWeek(semester.getId(), laboratory.getId(), secondClasses.getId(), DayOfWeek.MONDAY, EvenOdd.ODD)).thenReturn(oddLessons);
+        List<Schedule> schedules = new ArrayList<>();
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.EVEN, firstClasses, biology, laboratory));
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.ODD, secondClasses, astronomy, laboratory));
+
+        when(scheduleRepository.getSchedulesWithRelationsBySemester(semester.getId())).thenReturn(schedules);
         when(lessonsInScheduleMapper.lessonToLessonsInRoomScheduleDTO(biology)).thenReturn(evenLessonsInRoom);
         when(lessonsInScheduleMapper.lessonToLessonsInRoomScheduleDTO(astronomy)).thenReturn(oddLessonsInRoom);
 
-        List<ScheduleForRoomDTO> result = scheduleService.getScheduleForRooms(semester.getId());
+        List<ScheduleForRoomDTO> result = scheduleService.getScheduleForRooms(semester.getId(), false);
         assertNotNull(result);
         assertEquals(scheduleForRoomDTOS.get(0).getRoomId(), result.get(0).getRoomId());
         assertEquals(scheduleForRoomDTOS.get(0).getRoomName(), result.get(0).getRoomName());
         assertEquals(scheduleForRoomDTOS.get(0).getRoomType(), result.get(0).getRoomType());
         assertEquals(scheduleForRoomDTOS.get(0).getSchedules().get(0), result.get(0).getSchedules().get(0));
+        assertEquals(DayOfWeek.values().length, result.get(0).getSchedules().size());
+
+        List<ScheduleForRoomDTO> resultWithoutEmptyDays = scheduleService.getScheduleForRooms(semester.getId(), true);
+        assertEquals(scheduleForRoomDTOS.get(0).getSchedules(), resultWithoutEmptyDays.get(0).getSchedules());
+    }
+
+    @Test
+    public void saveAllSkipsSchedulesWithConflictsInsideList() {
+        Semester semester = new Semester();
+        semester.setId(1L);
+        Period period = new Period();
+        period.setId(1L);
+        Room room = new Room();
+        room.setId(1L);
+        Group group = new Group();
+        group.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setGroup(group);
+        lesson.setTeacher(teacher);
+        Lesson lessonRef = new Lesson();
+        lessonRef.setId(1L);
+        Lesson missingLesson = new Lesson();
+        missingLesson.setId(2L);
+
+        List<Schedule> schedules = new ArrayList<>();
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.WEEKLY, period, lessonRef, room));
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.ODD, period, lessonRef, room));
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.EVEN, period, missingLesson, room));
+
+        when(lessonService.getLessonsByIds(new HashSet<>(Arrays.asList(1L, 2L)))).thenReturn(Collections.singletonList(lesson));
+        when(periodService.getAll()).thenReturn(Collections.singletonList(period));
+        when(roomService.getAll()).thenReturn(Collections.singletonList(room));
+        when(semesterService.getAllIds()).thenReturn(Collections.singletonList(semester.getId()));
+        doAnswer(invocation -> {
+            List<Schedule> saved = invocation.getArgument(0);
+            saved.get(0).setId(10L);
+            return null;
+        }).when(scheduleRepository).saveAllInBatch(anyList());
+
+        List<ScheduleBulkResultDTO> results = scheduleService.saveAll(schedules);
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSaved());
+        assertEquals(Long.valueOf(10L), results.get(0).getId());
+        assertFalse(results.get(1).isSaved());
+        assertNull(results.get(1).getId());
+        assertFalse(results.get(2).isSaved());
+        verify(scheduleRepository, times(1)).saveAllInBatch(Collections.singletonList(schedules.get(0)));
+        verify(scheduleOccupancyService, times(1)).addSchedule(any(ScheduleSlotDTO.class));
+        verify(scheduleCacheService, times(1)).invalidate(1L);
+    }
+
+    @Test
+    public void validateReturnsConflictsWithSavedAndOtherCheckedSchedulesAndWishViolations() {
+        Semester semester = new Semester();
+        semester.setId(1L);
+        Period period = new Period();
+        period.setId(1L);
+        period.setName("1 para");
+        Room firstRoom = new Room();
+        firstRoom.setId(1L);
+        Room secondRoom = new Room();
+        secondRoom.setId(2L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        Group firstGroup = new Group();
+        firstGroup.setId(1L);
+        Group secondGroup = new Group();
+        secondGroup.setId(2L);
+        Lesson firstLesson = new Lesson();
+        firstLesson.setId(1L);
+        firstLesson.setGroup(firstGroup);
+        firstLesson.setTeacher(teacher);
+        Lesson secondLesson = new Lesson();
+        secondLesson.setId(2L);
+        secondLesson.setGroup(secondGroup);
+        secondLesson.setTeacher(teacher);
+        TeacherWishes teacherWishes = new TeacherWishes();
+        teacherWishes.setTeacher(teacher);
+        teacherWishes.setTeacherWishesList(new Wishes[]{new Wishes().withDayOfWeek(DayOfWeek.MONDAY).withEvenOdd(EvenOdd.WEEKLY)
+                .withWishes(Collections.singletonList(new Wish().withClassName("1 para").withStatus(WishStatuses.BAD)))});
+
+        List<Schedule> schedules = new ArrayList<>();
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.WEEKLY, period, firstLesson, firstRoom));
+        schedules.add(createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.ODD, period, secondLesson, secondRoom));
+
+        when(lessonService.getLessonsByIds(new HashSet<>(Arrays.asList(1L, 2L)))).thenReturn(Arrays.asList(firstLesson, secondLesson));
+        when(periodService.getAll()).thenReturn(Collections.singletonList(period));
+        when(roomService.getAll()).thenReturn(Arrays.asList(firstRoom, secondRoom));
+        when(semesterService.getAllIds()).thenReturn(Collections.singletonList(semester.getId()));
+        when(teacherWishesService.getWishMasks(Collections.singleton(1L))).thenReturn(Collections.singletonMap(1L,
+                TeacherWishMask.of(teacherWishes.getTeacherWishesList(), Collections.singletonList(period))));
+        when(scheduleRepository.getScheduleSlotsBySemester(1L)).thenReturn(Collections.singletonList(
+                new ScheduleSlotDTO(7L, 1L, DayOfWeek.MONDAY, EvenOdd.ODD, 1L, 3L, 3L, 1L)));
+
+        List<ScheduleValidationIssueDTO> issues = scheduleService.validate(schedules);
+        assertEquals(4, issues.size());
+        assertTrue(issues.contains(new ScheduleValidationIssueDTO(0, ScheduleIssueType.ROOM_CONFLICT, 7L, null, "Room is already occupied at this time")));
+        assertTrue(issues.contains(new ScheduleValidationIssueDTO(0, ScheduleIssueType.TEACHER_CONFLICT, null, 1, "Teacher already has schedule at this time")));
+        assertTrue(issues.contains(new ScheduleValidationIssueDTO(0, ScheduleIssueType.WISH_VIOLATION, null, null, "Class doesn't suit to teacher wishes")));
+        assertTrue(issues.contains(new ScheduleValidationIssueDTO(1, ScheduleIssueType.TEACHER_CONFLICT, null, 0, "Teacher already has schedule at this time")));
+        verify(scheduleRepository, never()).saveAllInBatch(anyList());
+    }
+
+    @Test
+    public void updateAllSwapsSchedulesThatTakePlacesOfEachOther() {
+        Semester semester = new Semester();
+        semester.setId(1L);
+        Period firstPeriod = new Period();
+        firstPeriod.setId(1L);
+        firstPeriod.setName("1 para");
+        Period secondPeriod = new Period();
+        secondPeriod.setId(2L);
+        secondPeriod.setName("2 para");
+        Room room = new Room();
+        room.setId(1L);
+        Group group = new Group();
+        group.setId(1L);
+        Teacher firstTeacher = new Teacher();
+        firstTeacher.setId(1L);
+        Teacher secondTeacher = new Teacher();
+        secondTeacher.setId(2L);
+        Lesson firstLesson = new Lesson();
+        firstLesson.setId(1L);
+        firstLesson.setGroup(group);
+        firstLesson.setTeacher(firstTeacher);
+        Lesson secondLesson = new Lesson();
+        secondLesson.setId(2L);
+        secondLesson.setGroup(group);
+        secondLesson.setTeacher(secondTeacher);
+
+        Schedule firstSchedule = createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.WEEKLY, secondPeriod, firstLesson, room);
+        firstSchedule.setId(7L);
+        Schedule secondSchedule = createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.WEEKLY, firstPeriod, secondLesson, room);
+        secondSchedule.setId(8L);
+
+        when(lessonService.getLessonsByIds(new HashSet<>(Arrays.asList(1L, 2L)))).thenReturn(Arrays.asList(firstLesson, secondLesson));
+        when(periodService.getAll()).thenReturn(Arrays.asList(firstPeriod, secondPeriod));
+        when(roomService.getAll()).thenReturn(Collections.singletonList(room));
+        when(semesterService.getAllIds()).thenReturn(Collections.singletonList(semester.getId()));
+        when(scheduleRepository.getScheduleSlotsBySemester(1L)).thenReturn(Arrays.asList(
+                new ScheduleSlotDTO(7L, 1L, DayOfWeek.MONDAY, EvenOdd.WEEKLY, 1L, 1L, 1L, 1L),
+                new ScheduleSlotDTO(8L, 1L, DayOfWeek.MONDAY, EvenOdd.WEEKLY, 2L, 1L, 2L, 1L)));
+        when(scheduleRepository.update(any(Schedule.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Schedule> updatedSchedules = scheduleService.updateAll(Arrays.asList(firstSchedule, secondSchedule));
+        assertEquals(Arrays.asList(firstSchedule, secondSchedule), updatedSchedules);
+        verify(scheduleRepository, times(2)).update(any(Schedule.class));
+        verify(scheduleOccupancyService, times(2)).addSchedule(any(ScheduleSlotDTO.class));
+        verify(scheduleCacheService).invalidate(1L);
+    }
+
+    @Test(expected = ScheduleConflictException.class)
+    public void updateAllThrowsScheduleConflictExceptionIfScheduleConflictsWithSavedOne() {
+        Semester semester = new Semester();
+        semester.setId(1L);
+        Period period = new Period();
+        period.setId(1L);
+        period.setName("1 para");
+        Room room = new Room();
+        room.setId(1L);
+        Group group = new Group();
+        group.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setGroup(group);
+        lesson.setTeacher(teacher);
+        Schedule schedule = createSchedule(semester, DayOfWeek.MONDAY, EvenOdd.WEEKLY, period, lesson, room);
+        schedule.setId(7L);
+
+        when(lessonService.getLessonsByIds(Collections.singleton(1L))).thenReturn(Collections.singletonList(lesson));
+        when(periodService.getAll()).thenReturn(Collections.singletonList(period));
+        when(roomService.getAll()).thenReturn(Collections.singletonList(room));
+        when(semesterService.getAllIds()).thenReturn(Collections.singletonList(semester.getId()));
+        when(scheduleRepository.getScheduleSlotsBySemester(1L)).thenReturn(Collections.singletonList(
+                new ScheduleSlotDTO(8L, 1L, DayOfWeek.MONDAY, EvenOdd.ODD, 1L, 2L, 2L, 1L)));
+
+        scheduleService.updateAll(Collections.singletonList(schedule));
+    }
+
+    @Test
+    public void getLessonAvailabilityForEveryCellOfSemester() {
+        Period firstPeriod = new Period();
+        firstPeriod.setId(1L);
+        firstPeriod.setName("1 para");
+        firstPeriod.setStartTime(LocalTime.of(8, 0));
+        Period secondPeriod = new Period();
+        secondPeriod.setId(2L);
+        secondPeriod.setName("2 para");
+        secondPeriod.setStartTime(LocalTime.of(9, 40));
+        Semester semester = new Semester();
+        semester.setId(1L);
+        semester.setDaysOfWeek(new HashSet<>(Arrays.asList(DayOfWeek.TUESDAY, DayOfWeek.MONDAY)));
+        semester.setPeriods(new HashSet<>(Arrays.asList(secondPeriod, firstPeriod)));
+        RoomType roomType = new RoomType();
+        roomType.setId(1L);
+        Room firstRoom = new Room();
+        firstRoom.setId(1L);
+        firstRoom.setType(roomType);
+        Room secondRoom = new Room();
+        secondRoom.setId(2L);
+        secondRoom.setType(roomType);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        Group group = new Group();
+        group.setId(1L);
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setGroup(group);
+        lesson.setTeacher(teacher);
+        TeacherWishes teacherWishes = new TeacherWishes();
+        teacherWishes.setTeacher(teacher);
+        teacherWishes.setTeacherWishesList(new Wishes[]{new Wishes().withDayOfWeek(DayOfWeek.MONDAY).withEvenOdd(EvenOdd.WEEKLY)
+                .withWishes(Collections.singletonList(new Wish().withClassName("2 para").withStatus(WishStatuses.BAD)))});
+        //group is busy on monday first period of even week, first room on tuesday second period of both weeks
+        BitSet groupBits = new BitSet();
+        groupBits.set(0);
+        BitSet roomBits = new BitSet();
+        roomBits.set((7 + 1) * 2, (7 + 1) * 2 + 2);
+        Map<Long, BitSet> rooms = new HashMap<>();
+        rooms.put(1L, roomBits);
+        rooms.put(2L, new BitSet());
+
+        when(semesterService.getById(1L)).thenReturn(semester);
+        when(lessonService.getLessonsByIds(Collections.singleton(1L))).thenReturn(Collections.singletonList(lesson));
+        when(roomService.getAll()).thenReturn(Arrays.asList(firstRoom, secondRoom));
+        when(scheduleOccupancyService.getOccupancyGrid(1L, Arrays.asList(1L, 2L), 1L, 1L, Arrays.asList(1L, 2L)))
+                .thenReturn(new OccupancyGridDTO(groupBits, new BitSet(), rooms));
+        when(teacherWishesService.getWishMask(1L)).thenReturn(TeacherWishMask.of(teacherWishes.getTeacherWishesList(), semester.getPeriods()));
+
+        LessonAvailabilityDTO availability = scheduleService.getLessonAvailability(1L, 1L);
+        List<ScheduleCellAvailabilityDTO> cells = availability.getCells();
+        assertEquals(2 * 2 * EvenOdd.values().length, cells.size());
+        ScheduleCellAvailabilityDTO mondayFirstEven = cells.get(0);
+        assertEquals(DayOfWeek.MONDAY, mondayFirstEven.getDayOfWeek());
+        assertEquals(Long.valueOf(1L), mondayFirstEven.getPeriodId());
+        assertEquals(EvenOdd.values()[0], mondayFirstEven.getEvenOdd());
+        for (ScheduleCellAvailabilityDTO cell : cells) {
+            boolean groupBusy = cell.getDayOfWeek() == DayOfWeek.MONDAY && cell.getPeriodId() == 1L && cell.getEvenOdd() != EvenOdd.ODD;
+            assertEquals(!groupBusy, cell.isGroupAvailable());
+            assertTrue(cell.isTeacherAvailable());
+            boolean roomBusy = cell.getDayOfWeek() == DayOfWeek.TUESDAY && cell.getPeriodId() == 2L;
+            assertEquals(roomBusy ? 1 : 2, cell.getFreeRooms());
+            assertEquals(Integer.valueOf(roomBusy ? 1 : 2), cell.getFreeRoomsByType().get(1L));
+            boolean badWish = cell.getDayOfWeek() == DayOfWeek.MONDAY && cell.getPeriodId() == 2L && cell.getEvenOdd() == EvenOdd.WEEKLY;
+            assertEquals(badWish ? WishStatuses.BAD : null, cell.getWishStatus());
+        }
+    }
+
+    @Test
+    public void copyScheduleMovesMissingDaysAndPeriodsToUnusedOnesOfTargetSemester() {
+        Period firstPeriod = new Period();
+        firstPeriod.setId(1L);
+        firstPeriod.setStartTime(LocalTime.of(8, 0));
+        Period secondPeriod = new Period();
+        secondPeriod.setId(2L);
+        secondPeriod.setStartTime(LocalTime.of(9, 40));
+        Period thirdPeriod = new Period();
+        thirdPeriod.setId(3L);
+        thirdPeriod.setStartTime(LocalTime.of(11, 20));
+        Semester fromSemester = new Semester();
+        fromSemester.setId(1L);
+        fromSemester.setDaysOfWeek(new HashSet<>(Arrays.asList(DayOfWeek.MONDAY, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)));
+        fromSemester.setPeriods(new HashSet<>(Arrays.asList(firstPeriod, secondPeriod)));
+        Semester toSemester = new Semester();
+        toSemester.setId(2L);
+        toSemester.setDaysOfWeek(new HashSet<>(Arrays.asList(DayOfWeek.MONDAY, DayOfWeek.TUESDAY)));
+        toSemester.setPeriods(new HashSet<>(Arrays.asList(secondPeriod, thirdPeriod)));
+        Map<DayOfWeek, DayOfWeek> days = new HashMap<>();
+        days.put(DayOfWeek.MONDAY, DayOfWeek.MONDAY);
+        days.put(DayOfWeek.SATURDAY, DayOfWeek.TUESDAY);
+        Map<Long, Long> periods = new HashMap<>();
+        periods.put(1L, 3L);
+        periods.put(2L, 2L);
+
+        when(semesterService.getById(1L)).thenReturn(fromSemester);
+        when(semesterService.getById(2L)).thenReturn(toSemester);
+        when(scheduleRepository.countConflictsOfCopiedSchedules(1L, 2L, days, periods)).thenReturn(0L);
+        when(scheduleRepository.copySchedules(1L, 2L, days, periods)).thenReturn(20);
+
+        ScheduleCopyResultDTO result = scheduleService.copySchedule(1L, 2L);
+        assertEquals(20, result.getCopied());
+        assertEquals(days, result.getDays());
+        assertEquals(periods, result.getPeriods());
+        assertEquals(Collections.singletonList(DayOfWeek.SUNDAY), result.getSkippedDays());
+        assertTrue(result.getSkippedPeriodIds().isEmpty());
+        verify(scheduleOccupancyService).invalidate(2L);
+        verify(scheduleCacheService).invalidate(2L);
+    }
+
+    @Test(expected = ScheduleConflictException.class)
+    public void copyScheduleThrowsScheduleConflictExceptionIfCopiedSchedulesHaveConflicts() {
+        Period period = new Period();
+        period.setId(1L);
+        period.setStartTime(LocalTime.of(8, 0));
+        Semester fromSemester = new Semester();
+        fromSemester.setId(1L);
+        fromSemester.setDaysOfWeek(Collections.singleton(DayOfWeek.MONDAY));
+        fromSemester.setPeriods(Collections.singleton(period));
+        Semester toSemester = new Semester();
+        toSemester.setId(2L);
+        toSemester.setDaysOfWeek(Collections.singleton(DayOfWeek.MONDAY));
+        toSemester.setPeriods(Collections.singleton(period));
+
+        when(semesterService.getById(1L)).thenReturn(fromSemester);
+        when(semesterService.getById(2L)).thenReturn(toSemester);
+        when(scheduleRepository.countConflictsOfCopiedSchedules(1L, 2L, Collections.singletonMap(DayOfWeek.MONDAY, DayOfWeek.MONDAY),
+                Collections.singletonMap(1L, 1L))).thenReturn(1L);
+
+        try {
+            scheduleService.copySchedule(1L, 2L);
+        } finally {
+            verify(scheduleRepository, never()).copySchedules(any(), any(), any(), any());
+        }
+    }
+
+    private Schedule createSchedule(Semester semester, DayOfWeek dayOfWeek, EvenOdd evenOdd, Period period, Lesson lesson, Room room) {
+        Schedule schedule = new Schedule();
+        schedule.setSemester(semester);
+        schedule.setDayOfWeek(dayOfWeek);
+        schedule.setEvenOdd(evenOdd);
+        schedule.setPeriod(period);
+        schedule.setLesson(lesson);
+        schedule.setRoom(room);
+        return schedule;
+    }
+
+    private GroupScheduleItemDTO createGroupScheduleItem(Long groupId, DayOfWeek dayOfWeek, EvenOdd evenOdd, Period period, Lesson lesson, Room room) {
+        return new GroupScheduleItemDTO(groupId, dayOfWeek, evenOdd, period, lesson.getTeacherForSite(),
+                lesson.getSubjectForSite(), lesson.getLessonType(), room.getId(), room.getName());
+    }
+
+    private List<Period> getPeriodsOfOneAndTwoPara() {
+        Period firstPeriod = new Period();
+        firstPeriod.setId(1L);
+        firstPeriod.setName("1 para");
+        Period secondPeriod = new Period();
+        secondPeriod.setId(2L);
+        secondPeriod.setName("2 para");
+        return Arrays.asList(firstPeriod, secondPeriod);
     }
 }
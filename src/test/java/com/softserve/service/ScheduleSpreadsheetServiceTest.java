@@ -0,0 +1,115 @@
+package com.softserve.service;
+
+import com.softserve.dto.ScheduleExportRowDTO;
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.LessonType;
+import com.softserve.repository.ScheduleRepository;
+import com.softserve.service.impl.ScheduleSpreadsheetServiceImpl;
+import com.softserve.util.CsvTableWriter;
+import com.softserve.util.XlsxTableWriter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@Category(UnitTestCategory.class)
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduleSpreadsheetServiceTest {
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @InjectMocks
+    private ScheduleSpreadsheetServiceImpl scheduleSpreadsheetService;
+
+    private List<ScheduleExportRowDTO> rows;
+
+    @Before
+    public void setUp() {
+        ScheduleExportRowDTO row = new ScheduleExportRowDTO(1L, "1 semester", 2020, DayOfWeek.MONDAY, EvenOdd.ODD,
+                "1 para", LocalTime.of(8, 0), LocalTime.of(9, 20), "111", "Surname", "Name", "Patronymic",
+                "Math, \"advanced\" & <more>", LessonType.LECTURE, "101");
+        rows = new ArrayList<>(Collections.singletonList(row));
+        doAnswer(invocation -> {
+            Consumer<ScheduleExportRowDTO> action = invocation.getArgument(1);
+            rows.forEach(action);
+            return null;
+        }).when(scheduleRepository).scrollScheduleExportRows(eq(1L), any());
+    }
+
+    @Test
+    public void writeHeaderAndQuotedRowsAsCsv() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        scheduleSpreadsheetService.writeSchedules(1L, new CsvTableWriter(outputStream));
+
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("\uFEFFId,Semester,Year,"));
+        assertEquals("1,1 semester,2020,MONDAY,ODD,1 para,08:00,09:20,111,Surname,Name,Patronymic," +
+                "\"Math, \"\"advanced\"\" & <more>\",LECTURE,101", lines[1]);
+    }
+
+    @Test
+    public void writeTextThatLooksLikeFormulaAsQuotedTextInCsv() throws IOException {
+        rows.add(new ScheduleExportRowDTO(2L, "=1+1", 2020, DayOfWeek.TUESDAY, EvenOdd.EVEN,
+                "2 para", LocalTime.of(9, 30), LocalTime.of(10, 50), "+222", "-Surname", "@Name", "Patronymic",
+                "=HYPERLINK(\"http://example.com\")", LessonType.LABORATORY, "-101"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        scheduleSpreadsheetService.writeSchedules(1L, new CsvTableWriter(outputStream));
+
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("2,\"'=1+1\",2020,TUESDAY,EVEN,2 para,09:30,10:50,\"'+222\",\"'-Surname\",\"'@Name\",Patronymic," +
+                "\"'=HYPERLINK(\"\"http://example.com\"\")\",LABORATORY,\"'-101\"", lines[2]);
+    }
+
+    @Test
+    public void writeWorkbookWithSheetAsLastEntryAsXlsx() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        scheduleSpreadsheetService.writeSchedules(1L, new XlsxTableWriter(outputStream, "Schedules"));
+
+        List<String> entries = new ArrayList<>();
+        String sheet = null;
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                entries.add(entry.getName());
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int read = zipInputStream.read(buffer); read > 0; read = zipInputStream.read(buffer)) {
+                    content.write(buffer, 0, read);
+                }
+                sheet = new String(content.toByteArray(), StandardCharsets.UTF_8);
+            }
+        }
+        assertEquals(Arrays.asList("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml"), entries);
+        assertTrue(sheet.endsWith("</sheetData></worksheet>"));
+        assertTrue(sheet.contains("<row r=\"2\"><c><v>1</v></c>"));
+        assertTrue(sheet.contains("Math, &quot;advanced&quot; &amp; &lt;more&gt;"));
+    }
+}
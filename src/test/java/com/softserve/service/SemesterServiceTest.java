@@ -14,6 +14,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -31,6 +32,9 @@ public class SemesterServiceTest {
     @Mock
     private SemesterRepository semesterRepository;
 
+    @Mock
+    private ScheduleCacheService scheduleCacheService;
+
     @InjectMocks
     private SemesterServiceImpl semesterService;
 
@@ -326,4 +330,13 @@ public class SemesterServiceTest {
 
         semesterService.getCurrentSemester();
     }
+
+    @Test
+    public void getIdsOfAllSemestersWithoutLoadingSemesters() {
+        when(semesterRepository.getAllIds()).thenReturn(Arrays.asList(1L, 2L));
+
+        assertEquals(Arrays.asList(1L, 2L), semesterService.getAllIds());
+        verify(semesterRepository, times(1)).getAllIds();
+        verify(semesterRepository, never()).getAll();
+    }
 }
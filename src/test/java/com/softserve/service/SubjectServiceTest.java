@@ -27,6 +27,9 @@ public class SubjectServiceTest {
     @Mock
     SubjectRepository subjectRepository;
 
+    @Mock
+    ScheduleCacheService scheduleCacheService;
+
     @InjectMocks
     SubjectServiceImpl subjectService;
 
@@ -43,6 +43,9 @@ public class TeacherServiceTest {
     @Mock
     TeacherWishesService teacherWishesService;
 
+    @Mock
+    ScheduleCacheService scheduleCacheService;
+
     @InjectMocks
     TeacherServiceImpl teacherService;
 
@@ -1,5 +1,7 @@
 package com.softserve.service;
 
+import com.softserve.dto.WishValidationResultDTO;
+import com.softserve.entity.Period;
 import com.softserve.entity.Teacher;
 import com.softserve.entity.TeacherWishes;
 import com.softserve.entity.Wish;
@@ -20,11 +22,12 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.time.DayOfWeek;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +38,9 @@ public class TeacherWishesServiceTest {
     @Mock
     private TeacherWishesRepository teacherWishesRepository;
 
+    @Mock
+    private PeriodService periodService;
+
     @InjectMocks
     private TeacherWishesServiceImpl teacherWishesService;
 
@@ -269,4 +275,72 @@ public class TeacherWishesServiceTest {
         assertEquals(result, teacherWishes);
         verify(teacherWishesRepository, times(1)).update(teacherWishes);
     }
+
+    @Test
+    public void isClassSuitsReadsWishesOnceUntilTheyAreUpdated() {
+        Period period = new Period();
+        period.setId(1L);
+        period.setName("1 para");
+        Wish wish = new Wish();
+        wish.setClassName("1 para");
+        wish.setStatus(WishStatuses.BAD);
+        Wishes wishes = new Wishes();
+        wishes.setDayOfWeek(DayOfWeek.MONDAY);
+        wishes.setEvenOdd(EvenOdd.EVEN);
+        wishes.setWishes(Collections.singletonList(wish));
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        TeacherWishes teacherWishes = new TeacherWishes();
+        teacherWishes.setId(1L);
+        teacherWishes.setTeacher(teacher);
+        teacherWishes.setTeacherWishesList(new Wishes[]{wishes});
+
+        when(periodService.getAll()).thenReturn(Collections.singletonList(period));
+        when(teacherWishesRepository.getWishesByTeacherIds(Collections.singletonList(1L))).thenReturn(Collections.singletonList(teacherWishes));
+        when(teacherWishesRepository.update(teacherWishes)).thenReturn(teacherWishes);
+
+        assertFalse(teacherWishesService.isClassSuits(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L));
+        assertTrue(teacherWishesService.isClassSuits(1L, DayOfWeek.MONDAY, EvenOdd.ODD, 1L));
+        assertTrue(teacherWishesService.isClassSuits(1L, DayOfWeek.TUESDAY, EvenOdd.EVEN, 1L));
+        verify(teacherWishesRepository, times(1)).getWishesByTeacherIds(Collections.singletonList(1L));
+
+        wish.setStatus(WishStatuses.GOOD);
+        teacherWishesService.update(teacherWishes);
+        assertTrue(teacherWishesService.isClassSuits(1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L));
+        verify(teacherWishesRepository, times(2)).getWishesByTeacherIds(Collections.singletonList(1L));
+    }
+
+    @Test
+    public void validateAllReturnsResultForEveryTeacherInTheSameOrder() {
+        Wish wish = new Wish();
+        wish.setClassName("1 para");
+        wish.setStatus(WishStatuses.GOOD);
+        Wishes wishes = new Wishes();
+        wishes.setDayOfWeek(DayOfWeek.MONDAY);
+        wishes.setEvenOdd(EvenOdd.EVEN);
+        wishes.setWishes(Collections.singletonList(wish));
+        Wishes duplicatedClasses = new Wishes();
+        duplicatedClasses.setDayOfWeek(DayOfWeek.MONDAY);
+        duplicatedClasses.setEvenOdd(EvenOdd.EVEN);
+        duplicatedClasses.setWishes(Arrays.asList(wish, wish));
+        Teacher firstTeacher = new Teacher();
+        firstTeacher.setId(1L);
+        Teacher secondTeacher = new Teacher();
+        secondTeacher.setId(2L);
+        TeacherWishes firstWishes = new TeacherWishes();
+        firstWishes.setTeacher(firstTeacher);
+        firstWishes.setTeacherWishesList(new Wishes[]{wishes});
+        TeacherWishes secondWishes = new TeacherWishes();
+        secondWishes.setTeacher(secondTeacher);
+        secondWishes.setTeacherWishesList(new Wishes[]{duplicatedClasses});
+
+        List<WishValidationResultDTO> results = teacherWishesService.validateAll(Arrays.asList(firstWishes, secondWishes));
+        assertEquals(2, results.size());
+        assertEquals(Long.valueOf(1L), results.get(0).getTeacherId());
+        assertTrue(results.get(0).isValid());
+        assertEquals(Long.valueOf(2L), results.get(1).getTeacherId());
+        assertFalse(results.get(1).isValid());
+        assertEquals("classes is not unique", results.get(1).getMessage());
+        verifyNoInteractions(teacherWishesRepository);
+    }
 }
@@ -0,0 +1,107 @@
+package com.softserve.service;
+
+import com.softserve.dto.ScheduleSlotDTO;
+import com.softserve.dto.TeacherWishComplianceDTO;
+import com.softserve.dto.WishComplianceReportDTO;
+import com.softserve.entity.Period;
+import com.softserve.entity.Wish;
+import com.softserve.entity.Wishes;
+import com.softserve.entity.enums.EvenOdd;
+import com.softserve.entity.enums.WishStatuses;
+import com.softserve.repository.ScheduleRepository;
+import com.softserve.service.impl.WishComplianceServiceImpl;
+import com.softserve.util.TeacherWishMask;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.DayOfWeek;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@Category(UnitTestCategory.class)
+@RunWith(MockitoJUnitRunner.class)
+public class WishComplianceServiceTest {
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @Mock
+    private SemesterService semesterService;
+
+    @Mock
+    private TeacherWishesService teacherWishesService;
+
+    @Mock
+    private ScheduleCacheService scheduleCacheService;
+
+    @InjectMocks
+    private WishComplianceServiceImpl wishComplianceService;
+
+    @Test
+    public void getReportCountsClassesOnBadWishesAndKeepsItUntilScheduleChanges() {
+        Period period = new Period();
+        period.setId(1L);
+        period.setName("1 para");
+        Wishes wishes = new Wishes().withDayOfWeek(DayOfWeek.MONDAY).withEvenOdd(EvenOdd.EVEN)
+                .withWishes(Collections.singletonList(new Wish().withClassName("1 para").withStatus(WishStatuses.BAD)));
+        Map<Long, TeacherWishMask> wishMasks = new HashMap<>();
+        wishMasks.put(1L, TeacherWishMask.of(new Wishes[]{wishes}, Collections.singletonList(period)));
+
+        when(scheduleCacheService.getVersion(1L)).thenReturn(1L, 1L, 2L);
+        when(teacherWishesService.getWishesVersion()).thenReturn(5L);
+        when(scheduleRepository.getScheduleSlotsBySemester(1L)).thenReturn(Arrays.asList(
+                new ScheduleSlotDTO(10L, 1L, DayOfWeek.MONDAY, EvenOdd.EVEN, 1L, 1L, 1L, 1L),
+                new ScheduleSlotDTO(11L, 1L, DayOfWeek.MONDAY, EvenOdd.ODD, 1L, 2L, 1L, 2L),
+                new ScheduleSlotDTO(12L, 1L, DayOfWeek.MONDAY, EvenOdd.WEEKLY, 1L, 3L, 2L, 3L)));
+        when(teacherWishesService.getWishMasks(new HashSet<>(Arrays.asList(1L, 2L)))).thenReturn(wishMasks);
+
+        WishComplianceReportDTO report = wishComplianceService.getReport(1L);
+        assertEquals(3, report.getClasses());
+        assertEquals(1, report.getViolations());
+        assertEquals(1, report.getTeachersWithViolations());
+        TeacherWishComplianceDTO teacher = report.getTeachers().get(0);
+        assertEquals(Long.valueOf(1L), teacher.getTeacherId());
+        assertEquals(2, teacher.getClasses());
+        assertEquals(1, teacher.getViolations());
+        assertEquals(Long.valueOf(10L), teacher.getViolatedClasses().get(0).getScheduleId());
+        assertEquals(0, report.getTeachers().get(1).getViolations());
+
+        assertSame(report, wishComplianceService.getReport(1L));
+        assertNotSame(report, wishComplianceService.getReport(1L));
+        verify(scheduleRepository, times(2)).getScheduleSlotsBySemester(1L);
+    }
+
+    @Test
+    public void getReportCountsOnlyClassesOfTheSameEvenOddAsBadWish() {
+        Period period = new Period();
+        period.setId(1L);
+        period.setName("1 para");
+        Wishes evenWishes = new Wishes().withDayOfWeek(DayOfWeek.MONDAY).withEvenOdd(EvenOdd.EVEN)
+                .withWishes(Collections.singletonList(new Wish().withClassName("1 para").withStatus(WishStatuses.BAD)));
+        Wishes weeklyWishes = new Wishes().withDayOfWeek(DayOfWeek.TUESDAY).withEvenOdd(EvenOdd.WEEKLY)
+                .withWishes(Collections.singletonList(new Wish().withClassName("1 para").withStatus(WishStatuses.BAD)));
+        Map<Long, TeacherWishMask> wishMasks = new HashMap<>();
+        wishMasks.put(1L, TeacherWishMask.of(new Wishes[]{evenWishes, weeklyWishes}, Collections.singletonList(period)));
+
+        when(scheduleCacheService.getVersion(1L)).thenReturn(1L);
+        when(teacherWishesService.getWishesVersion()).thenReturn(5L);
+        when(scheduleRepository.getScheduleSlotsBySemester(1L)).thenReturn(Arrays.asList(
+                new ScheduleSlotDTO(10L, 1L, DayOfWeek.MONDAY, EvenOdd.WEEKLY, 1L, 1L, 1L, 1L),
+                new ScheduleSlotDTO(11L, 1L, DayOfWeek.MONDAY, EvenOdd.ODD, 1L, 2L, 1L, 1L),
+                new ScheduleSlotDTO(12L, 1L, DayOfWeek.TUESDAY, EvenOdd.EVEN, 1L, 1L, 1L, 1L),
+                new ScheduleSlotDTO(13L, 1L, DayOfWeek.TUESDAY, EvenOdd.ODD, 1L, 2L, 1L, 1L),
+                new ScheduleSlotDTO(14L, 1L, DayOfWeek.TUESDAY, EvenOdd.WEEKLY, 1L, 3L, 1L, 1L)));
+        when(teacherWishesService.getWishMasks(Collections.singleton(1L))).thenReturn(wishMasks);
+
+        WishComplianceReportDTO report = wishComplianceService.getReport(1L);
+        assertEquals(5, report.getClasses());
+        assertEquals(1, report.getViolations());
+        assertEquals(Long.valueOf(14L), report.getTeachers().get(0).getViolatedClasses().get(0).getScheduleId());
+    }
+}